@@ -1,14 +1,29 @@
 package com.isaac.ecommerce_test_framework;
 
 import com.codeborne.selenide.Configuration;
-import com.codeborne.selenide.Selenide;
 import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.analytics.AnalyticsIngestionPipeline;
+import com.isaac.ecommerce_test_framework.driver.BrowserSessionPool;
+import com.isaac.ecommerce_test_framework.driver.ResourceBlocker;
+import com.isaac.ecommerce_test_framework.scheduling.FailFastGuard;
+import com.isaac.ecommerce_test_framework.scheduling.QuarantineLane;
+import com.isaac.ecommerce_test_framework.session.AuthenticatedAs;
+import com.isaac.ecommerce_test_framework.session.CartState;
+import com.isaac.ecommerce_test_framework.session.SessionFixtureManager;
+import com.isaac.ecommerce_test_framework.session.StateFixture;
+import com.isaac.ecommerce_test_framework.utils.PageReadinessEngine;
 import com.isaac.ecommerce_test_framework.utils.RetryAnalyzer;
 import com.isaac.ecommerce_test_framework.utils.TestUtilities;
 import io.qameta.allure.Step;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Method;
 
 import static com.codeborne.selenide.Selenide.open;
 
@@ -16,13 +31,21 @@ import static com.codeborne.selenide.Selenide.open;
  * Enhanced base test class for all SauceDemo tests
  * Features improved configuration management, retry mechanism, and comprehensive utilities
  */
-@Listeners({com.isaac.ecommerce_test_framework.listeners.TestListener.class})
+@Listeners({com.isaac.ecommerce_test_framework.listeners.TestListener.class,
+            com.isaac.ecommerce_test_framework.listeners.SuiteLifecycleListener.class,
+            com.isaac.ecommerce_test_framework.scheduling.DurationAwareScheduler.class})
 public class BaseTest {
 
     protected ConfigManager config = ConfigManager.getInstance();
+    protected BrowserSessionPool sessionPool = BrowserSessionPool.getInstance();
 
     @BeforeMethod
-    public void setUp() {
+    public void setUp(Method method, ITestContext context) {
+        // Skip without starting a browser once the fail-fast limit is reached (the quarantine lane always runs)
+        if (!QuarantineLane.isLaneSuite(context.getSuite())) {
+            FailFastGuard.getInstance().checkNotAborted(method.getName());
+        }
+
         // Configure Selenide using ConfigManager
         Configuration.browser = config.getBrowser();
         Configuration.browserSize = config.getBrowserSize();
@@ -37,21 +60,51 @@ public class BaseTest {
             Configuration.remote = config.getRemoteUrl();
         }
 
+        // Reuse the pooled browser of this worker thread when available
+        sessionPool.acquire();
+        PageReadinessEngine.getInstance().resetCurrentTestWaits();
+
+        // Block resource classes nothing in this test looks at
+        Test testAnnotation = method.getAnnotation(Test.class);
+        ResourceBlocker.getInstance().applyProfile(this.getClass().getSimpleName(),
+            testAnnotation != null ? testAnnotation.groups() : new String[0]);
+
         // Log test setup information
         TestUtilities.logInfo("Test setup completed with browser: " + config.getBrowser() +
-                            ", headless: " + config.isHeadless());
+                            ", headless: " + config.isHeadless() +
+                            ", traffic: " + config.getTrafficMode());
 
         // Open the application
         navigateToHomePage();
+
+        // Restore the authenticated session and application state the test asked for
+        AuthenticatedAs authenticatedAs = getAuthenticatedAs(method);
+        CartState cartState = method.getAnnotation(CartState.class);
+        if (cartState != null) {
+            if (authenticatedAs == null) {
+                throw new IllegalStateException("@CartState requires @AuthenticatedAs on " + method.getName());
+            }
+            StateFixture.forUser(authenticatedAs.value())
+                .withCartItems(cartState.items())
+                .at(cartState.page())
+                .apply();
+        } else if (authenticatedAs != null) {
+            SessionFixtureManager.getInstance().restore(authenticatedAs.value());
+        }
     }
 
     @AfterMethod
-    public void tearDown() {
+    public void tearDown(ITestResult result) {
         // Log performance metrics
         TestUtilities.logPerformanceMetrics(this.getClass().getSimpleName());
 
-        // Close browser
-        Selenide.closeWebDriver();
+        // Record requests and bytes saved by network blocking
+        String fullTestName = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+        long[] savings = ResourceBlocker.getInstance().finishTest(fullTestName);
+        AnalyticsIngestionPipeline.getInstance().submitNetworkSavings(fullTestName, savings[0], savings[1]);
+
+        // Return browser to the pool (closed when recycled)
+        sessionPool.release(result.getStatus() == ITestResult.FAILURE);
     }
 
     @Step("Navigate to application homepage")
@@ -62,6 +115,19 @@ public class BaseTest {
         TestUtilities.waitForPageLoad();
     }
 
+    /**
+     * Whether a method is a browser test of this framework
+     * The @Listeners above apply to the whole suite, so the framework's own unit tests reach them as well
+     */
+    public static boolean isBaseTest(ITestNGMethod method) {
+        return BaseTest.class.isAssignableFrom(method.getRealClass());
+    }
+
+    private AuthenticatedAs getAuthenticatedAs(Method method) {
+        AuthenticatedAs annotation = method.getAnnotation(AuthenticatedAs.class);
+        return annotation != null ? annotation : method.getDeclaringClass().getAnnotation(AuthenticatedAs.class);
+    }
+
     // Utility methods for common test operations
     protected void loginWithUser(String username, String password) {
         TestUtilities.logStep("Logging in with user: " + username);
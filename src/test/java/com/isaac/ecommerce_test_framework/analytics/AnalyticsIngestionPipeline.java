@@ -0,0 +1,202 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.flakiness.FlakinessAnalyzer;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous analytics ingestion
+ * Test threads enqueue immutable TestResultEvents, network savings and full @Step buffers in O(1); a single consumer
+ * thread records them in TestExecutionAnalytics and FlakinessAnalyzer, so analytics work and file I/O stay off the
+ * TestNG worker threads
+ * When the bounded queue is full the analytics.queue.backpressure policy applies: block the test thread or drop the event
+ * Readers see history up to the last processed event; only persistence at the end of a test run calls drain() first
+ */
+public class AnalyticsIngestionPipeline {
+
+    // Queue entry: work recorded by the consumer, or a drain marker when latch is set
+    private static class Envelope {
+        private final Runnable work;
+        private final String subject;
+        private final CountDownLatch latch;
+        private final long enqueuedAt;
+
+        private Envelope(Runnable work, String subject, CountDownLatch latch) {
+            this.work = work;
+            this.subject = subject;
+            this.latch = latch;
+            this.enqueuedAt = System.nanoTime();
+        }
+    }
+
+    private static AnalyticsIngestionPipeline instance;
+    private final ConfigManager config;
+    private final TestExecutionAnalytics analytics;
+    private final FlakinessAnalyzer flakinessAnalyzer;
+    private final BlockingQueue<Envelope> queue;
+    private final boolean dropWhenFull;
+    private final Thread consumer;
+
+    // Pipeline metrics; producer-side counters are striped since every test thread updates them
+    private final LongAdder enqueued = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blockedNanos = new LongAdder();
+    private final LongAccumulator maxDepth = new LongAccumulator(Math::max, 0);
+    private final AtomicLong processed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong totalLagNanos = new AtomicLong();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    private AnalyticsIngestionPipeline() {
+        this.config = ConfigManager.getInstance();
+        this.analytics = TestExecutionAnalytics.getInstance();
+        this.flakinessAnalyzer = FlakinessAnalyzer.getInstance();
+        this.queue = new ArrayBlockingQueue<>(config.getAnalyticsQueueCapacity());
+        this.dropWhenFull = "drop".equals(config.getAnalyticsQueueBackpressure());
+        this.consumer = new Thread(this::consume, "analytics-ingestion");
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    public static synchronized AnalyticsIngestionPipeline getInstance() {
+        if (instance == null) {
+            instance = new AnalyticsIngestionPipeline();
+        }
+        return instance;
+    }
+
+    /**
+     * Enqueue a result for asynchronous recording
+     */
+    public void submit(TestResultEvent event) {
+        enqueue(new Envelope(() -> {
+            analytics.recordTestResult(event);
+            flakinessAnalyzer.analyzeTestResult(event);
+        }, event.testName, null));
+    }
+
+    /**
+     * Enqueue the requests and bytes network blocking saved for a test
+     */
+    public void submitNetworkSavings(String testName, long blockedRequests, long blockedBytes) {
+        if (blockedRequests == 0) {
+            return;
+        }
+        enqueue(new Envelope(() -> analytics.recordNetworkSavings(testName, blockedRequests, blockedBytes),
+            testName, null));
+    }
+
+    /**
+     * Buffer a @Step duration and the time it ran on the calling thread; a full buffer is merged by the consumer
+     */
+    public void submitStepDuration(String stepName, long duration, long time) {
+        TestExecutionAnalytics.StepBatch batch = analytics.bufferStepDuration(stepName, duration, time);
+        if (batch != null) {
+            enqueue(new Envelope(() -> analytics.mergeStepBatch(batch), "step durations", null));
+        }
+    }
+
+    private void enqueue(Envelope envelope) {
+        if (!queue.offer(envelope)) {
+            if (dropWhenFull) {
+                dropped.increment();
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                queue.put(envelope);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                dropped.increment();
+                return;
+            } finally {
+                blockedNanos.add(System.nanoTime() - start);
+            }
+        }
+        enqueued.increment();
+        maxDepth.accumulate(queue.size());
+    }
+
+    /**
+     * Wait until every event enqueued so far has been recorded
+     * Returns false when analytics.queue.drain.timeout.ms elapsed first
+     */
+    public boolean drain() {
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            // Markers are never dropped: the consumer is always making progress, so this wait is bounded
+            queue.put(new Envelope(null, null, latch));
+            if (latch.await(config.getAnalyticsQueueDrainTimeoutMs(), TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            System.out.println("Warning: Analytics queue not drained in time, " + queue.size() + " events pending");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private void consume() {
+        while (true) {
+            Envelope envelope;
+            try {
+                envelope = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if (envelope.latch != null) {
+                envelope.latch.countDown();
+                continue;
+            }
+
+            try {
+                envelope.work.run();
+            } catch (Exception e) {
+                failed.incrementAndGet();
+                System.err.println("Warning: Failed to record analytics for " + envelope.subject + ": " + e.getMessage());
+            }
+
+            long lag = System.nanoTime() - envelope.enqueuedAt;
+            totalLagNanos.addAndGet(lag);
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+            processed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Current number of queued events
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    /**
+     * Average time in ms between enqueueing and recording an event
+     */
+    public double getAverageLagMs() {
+        long count = processed.get();
+        return count == 0 ? 0.0 : totalLagNanos.get() / 1_000_000.0 / count;
+    }
+
+    public double getMaxLagMs() {
+        return maxLagNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * Get a printable summary of the pipeline metrics
+     */
+    public String getMetricsSummary() {
+        return String.format("Analytics ingestion - enqueued: %d, processed: %d, dropped: %d, failed: %d, " +
+                "queue depth: %d (max %d of %d), lag: avg %.1f ms / max %.1f ms, producers blocked: %d ms",
+            enqueued.sum(), processed.get(), dropped.sum(), failed.get(), getQueueDepth(), maxDepth.get(),
+            config.getAnalyticsQueueCapacity(), getAverageLagMs(), getMaxLagMs(), blockedNanos.sum() / 1_000_000);
+    }
+}
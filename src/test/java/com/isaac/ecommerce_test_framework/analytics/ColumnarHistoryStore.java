@@ -0,0 +1,660 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics.TestExecutionRecord;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Long-term execution history in memory-mapped columnar files
+ * History is partitioned by day (history/yyyy-MM-dd/part-*.col, UTC); every save writes a new immutable part file,
+ * so forks never write to the same file. A part file holds its rows sorted by end time:
+ * <pre>
+ * header      int magic, int version, int rows, long minEndTime, long maxEndTime
+ * dictionaries test names, categories, environments, browsers: int count, then [int length][UTF-8 bytes] each
+ * columns     int[rows] test id, short[rows] category/environment/browser ids (-1 = none),
+ *             byte[rows] status, int[rows] duration ms, varint[rows] end time delta to the previous row
+ * </pre>
+ * Scans read the mapped columns in place through a reused HistoryRow, so no record objects are created.
+ * A HistoryQuery skips every part file whose dictionaries lack the queried test, category, environment or browser
+ * and compares the remaining rows by dictionary id.
+ * Error messages and priorities are not kept in the long-term history
+ * Days with many small part files are compacted into one; files are unmapped before they are deleted,
+ * since Windows refuses to delete a file that is still mapped
+ */
+public class ColumnarHistoryStore {
+
+    private static final int MAGIC = 0x54454831;
+    private static final int VERSION = 1;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    // Part files a day may collect before it is compacted
+    static final int COMPACT_MIN_PARTS = 8;
+    private static final String COMPACT_LOCK_FILE = ".compact.lock";
+    private static final String RETIRED_SUFFIX = ".old";
+
+    // sun.misc.Unsafe.invokeCleaner, the only way to unmap a buffer before it is collected; null when unavailable
+    private static final Object UNSAFE;
+    private static final Method UNMAPPER;
+
+    static {
+        Object unsafe = null;
+        Method unmapper = null;
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            unsafe = field.get(null);
+            unmapper = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            System.out.println("Warning: Mapped history files cannot be unmapped explicitly: " + e.getMessage());
+        }
+        UNSAFE = unsafe;
+        UNMAPPER = unmapper;
+    }
+
+    // Callback receiving scanned rows; the row is reused and only valid during the call
+    public interface RowVisitor {
+        void visit(HistoryRow row);
+    }
+
+    /**
+     * Cursor over the rows of a part file
+     */
+    public static final class HistoryRow {
+        private PartFile part;
+        private int row;
+        private long endTime;
+
+        public String testName() {
+            return part.tests[part.buffer.getInt(part.testIdOffset + row * 4)];
+        }
+
+        public String category() {
+            return lookup(part.categories, part.categoryIdOffset);
+        }
+
+        public String environment() {
+            return lookup(part.environments, part.environmentIdOffset);
+        }
+
+        public String browser() {
+            return lookup(part.browsers, part.browserIdOffset);
+        }
+
+        public int status() {
+            return part.buffer.get(part.statusOffset + row);
+        }
+
+        public long durationMillis() {
+            return part.buffer.getInt(part.durationOffset + row * 4);
+        }
+
+        public long endTime() {
+            return endTime;
+        }
+
+        public long startTime() {
+            return endTime - durationMillis();
+        }
+
+        private String lookup(String[] dictionary, int columnOffset) {
+            short id = part.buffer.getShort(columnOffset + row * 2);
+            return id < 0 ? null : dictionary[id];
+        }
+    }
+
+    // A mapped part file with its decoded dictionaries
+    private static final class PartFile {
+        private final MappedByteBuffer buffer;
+        private final int rows;
+        private final long minEndTime;
+        private final long maxEndTime;
+        private final String[] tests;
+        private final Map<String, Integer> testIds;
+        private final String[] categories;
+        private final String[] environments;
+        private final String[] browsers;
+        private final int testIdOffset;
+        private final int categoryIdOffset;
+        private final int environmentIdOffset;
+        private final int browserIdOffset;
+        private final int statusOffset;
+        private final int durationOffset;
+        private final int endTimeOffset;
+
+        private PartFile(Path file) throws IOException {
+            try (FileChannel channel = FileChannel.open(file)) {
+                // The mapping stays valid after the channel is closed
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IOException("Not a columnar history file: " + file);
+            }
+            rows = buffer.getInt();
+            minEndTime = buffer.getLong();
+            maxEndTime = buffer.getLong();
+            tests = readDictionary(buffer);
+            categories = readDictionary(buffer);
+            environments = readDictionary(buffer);
+            browsers = readDictionary(buffer);
+            testIds = new HashMap<>();
+            for (int i = 0; i < tests.length; i++) {
+                testIds.put(tests[i], i);
+            }
+            testIdOffset = buffer.position();
+            categoryIdOffset = testIdOffset + rows * 4;
+            environmentIdOffset = categoryIdOffset + rows * 2;
+            browserIdOffset = environmentIdOffset + rows * 2;
+            statusOffset = browserIdOffset + rows * 2;
+            durationOffset = statusOffset + rows;
+            endTimeOffset = durationOffset + rows * 4;
+        }
+    }
+
+    private final Path historyPath;
+    private final Map<Path, PartFile> mappedParts = new ConcurrentHashMap<>();
+    // Scans read mapped buffers under the read lock; buffers are only unmapped under the write lock
+    private final ReadWriteLock mappingLock = new ReentrantReadWriteLock();
+
+    public ColumnarHistoryStore(Path historyPath) {
+        this.historyPath = historyPath;
+    }
+
+    public Path getHistoryPath() {
+        return historyPath;
+    }
+
+    /**
+     * Write records as new part files, one per day they finished on
+     */
+    public void append(Collection<TestExecutionRecord> records) throws IOException {
+        Map<LocalDate, List<TestExecutionRecord>> byDay = new TreeMap<>();
+        for (TestExecutionRecord record : records) {
+            byDay.computeIfAbsent(dayOf(record.endTime), k -> new ArrayList<>()).add(record);
+        }
+        String partName = "part-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        for (Map.Entry<LocalDate, List<TestExecutionRecord>> day : byDay.entrySet()) {
+            Path partitionPath = historyPath.resolve(day.getKey().toString());
+            Files.createDirectories(partitionPath);
+            Path temporaryFile = partitionPath.resolve(partName + ".tmp");
+            Files.write(temporaryFile, encode(day.getValue()));
+            Files.move(temporaryFile, partitionPath.resolve(partName + ".col"), StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Visit every row that finished in [from, to); partitions and part files outside the range are skipped
+     * Returns the number of visited rows
+     */
+    public long scan(long from, long to, RowVisitor visitor) throws IOException {
+        return scan(null, from, to, visitor);
+    }
+
+    /**
+     * Visit the rows of one test that finished in [from, to); part files without the test are skipped
+     */
+    public long scanTest(String testName, long from, long to, RowVisitor visitor) throws IOException {
+        return scan(Objects.requireNonNull(testName), from, to, visitor);
+    }
+
+    private long scan(String testName, long from, long to, RowVisitor visitor) throws IOException {
+        long visited = 0;
+        HistoryRow row = new HistoryRow();
+        mappingLock.readLock().lock();
+        try {
+            for (Path file : listParts(from, to)) {
+                PartFile part = map(file);
+                if (part == null || part.maxEndTime < from || part.minEndTime >= to) {
+                    continue;
+                }
+                int testId = -1;
+                if (testName != null) {
+                    Integer id = part.testIds.get(testName);
+                    if (id == null) {
+                        continue;
+                    }
+                    testId = id;
+                }
+                visited += scanPart(part, testId, from, to, row, visitor);
+            }
+        } finally {
+            mappingLock.readLock().unlock();
+        }
+        return visited;
+    }
+
+    /**
+     * Visit the rows matching a query; part files that cannot contain a match are skipped without reading their rows
+     * Returns the number of visited rows
+     */
+    public long query(HistoryQuery query, RowVisitor visitor) throws IOException {
+        long[] visited = new long[1];
+        HistoryRow row = new HistoryRow();
+        mappingLock.readLock().lock();
+        try {
+            for (Path file : listParts(query.from, query.to)) {
+                PartFile part = map(file);
+                if (part == null || part.maxEndTime < query.from || part.minEndTime >= query.to) {
+                    continue;
+                }
+                int testId = query.testName == null ? -1 : part.testIds.getOrDefault(query.testName, -2);
+                int categoryId = dictionaryId(part.categories, query.category);
+                int environmentId = dictionaryId(part.environments, query.environment);
+                int browserId = dictionaryId(part.browsers, query.browser);
+                if (testId == -2 || categoryId == -2 || environmentId == -2 || browserId == -2) {
+                    continue;
+                }
+                scanPart(part, testId, query.from, query.to, row, matching -> {
+                    if (matches(matching, query.status, categoryId, environmentId, browserId)) {
+                        visitor.visit(matching);
+                        visited[0]++;
+                    }
+                });
+            }
+        } finally {
+            mappingLock.readLock().unlock();
+        }
+        return visited[0];
+    }
+
+    /**
+     * Id of a queried value in a part dictionary: -1 when not queried, -2 when the part does not contain it
+     */
+    private static int dictionaryId(String[] dictionary, String value) {
+        if (value == null) {
+            return -1;
+        }
+        for (int i = 0; i < dictionary.length; i++) {
+            if (dictionary[i].equals(value)) {
+                return i;
+            }
+        }
+        return -2;
+    }
+
+    // Compares status and dictionary ids (negative when not queried), without decoding any string
+    private static boolean matches(HistoryRow row, Integer status, int categoryId, int environmentId, int browserId) {
+        PartFile part = row.part;
+        return (status == null || row.status() == status)
+            && (categoryId < 0 || part.buffer.getShort(part.categoryIdOffset + row.row * 2) == categoryId)
+            && (environmentId < 0 || part.buffer.getShort(part.environmentIdOffset + row.row * 2) == environmentId)
+            && (browserId < 0 || part.buffer.getShort(part.browserIdOffset + row.row * 2) == browserId);
+    }
+
+    private long scanPart(PartFile part, int testId, long from, long to, HistoryRow row, RowVisitor visitor) {
+        long visited = 0;
+        ByteBuffer buffer = part.buffer;
+        int position = part.endTimeOffset;
+        long endTime = part.minEndTime;
+        row.part = part;
+        for (int i = 0; i < part.rows; i++) {
+            // Decode the end time delta (unsigned LEB128 varint)
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get(position++);
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            endTime += delta;
+            if (endTime >= to) {
+                // Rows are sorted by end time
+                break;
+            }
+            if (endTime < from || (testId >= 0 && buffer.getInt(part.testIdOffset + i * 4) != testId)) {
+                continue;
+            }
+            row.row = i;
+            row.endTime = endTime;
+            visitor.visit(row);
+            visited++;
+        }
+        return visited;
+    }
+
+    /**
+     * Delete the partitions of days before today minus retentionDays; returns the number of deleted partitions
+     */
+    public int applyRetention(int retentionDays) throws IOException {
+        LocalDate oldestKept = LocalDate.now(ZoneOffset.UTC).minusDays(retentionDays);
+        int deleted = 0;
+        for (Map.Entry<LocalDate, Path> partition : listPartitions().entrySet()) {
+            if (partition.getKey().isBefore(oldestKept)) {
+                deleteRecursively(partition.getValue());
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * Rewrite every day holding at least COMPACT_MIN_PARTS part files (one per save) as a single part file
+     * Only one JVM compacts at a time, the others skip; returns the number of compacted days
+     */
+    public int compact() throws IOException {
+        if (!Files.isDirectory(historyPath)) {
+            return 0;
+        }
+        // FileLocks are held per JVM, so threads of the same JVM are serialized first
+        synchronized (ColumnarHistoryStore.class) {
+            try (FileChannel channel = FileChannel.open(historyPath.resolve(COMPACT_LOCK_FILE),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.tryLock()) {
+                if (lock == null) {
+                    return 0;
+                }
+                int compacted = 0;
+                for (Path partition : listPartitions().values()) {
+                    deleteRetiredParts(partition);
+                    List<Path> parts = listDayParts(partition);
+                    if (parts.size() >= COMPACT_MIN_PARTS && compactPartition(partition, parts)) {
+                        compacted++;
+                    }
+                }
+                return compacted;
+            } catch (OverlappingFileLockException e) {
+                // Compacting through another instance of this JVM
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Replace the given part files of a day by one; false when they were left as they are
+     */
+    private boolean compactPartition(Path partition, List<Path> parts) throws IOException {
+        List<TestExecutionRecord> records = new ArrayList<>();
+        List<Path> compactedParts = new ArrayList<>();
+        HistoryRow row = new HistoryRow();
+        mappingLock.readLock().lock();
+        try {
+            for (Path file : parts) {
+                PartFile part = map(file);
+                if (part == null) {
+                    // Unreadable files stay where they are
+                    continue;
+                }
+                scanPart(part, -1, Long.MIN_VALUE, Long.MAX_VALUE, row, visited -> records.add(new TestExecutionRecord(
+                    visited.testName(), visited.status(), visited.startTime(), visited.endTime(), null,
+                    visited.category(), null, visited.environment(), visited.browser())));
+                compactedParts.add(file);
+            }
+        } finally {
+            mappingLock.readLock().unlock();
+        }
+        if (compactedParts.size() < 2) {
+            return false;
+        }
+
+        String partName = "part-" + System.currentTimeMillis() + "-" + UUID.randomUUID().toString().substring(0, 8);
+        Path temporaryFile = partition.resolve(partName + ".tmp");
+        Files.write(temporaryFile, encode(records));
+
+        // Retire the old files before publishing the new one, so no scan ever counts a row twice; a file that
+        // cannot be renamed (mapped by another process on Windows) rolls the compaction back
+        List<Path> retired = new ArrayList<>();
+        mappingLock.writeLock().lock();
+        try {
+            for (Path file : compactedParts) {
+                unmap(file);
+                Path retiredFile = file.resolveSibling(file.getFileName() + RETIRED_SUFFIX);
+                try {
+                    Files.move(file, retiredFile, StandardCopyOption.ATOMIC_MOVE);
+                    retired.add(retiredFile);
+                } catch (IOException e) {
+                    for (Path restored : retired) {
+                        String name = restored.getFileName().toString();
+                        Files.move(restored, restored.resolveSibling(name.substring(0, name.length() - RETIRED_SUFFIX.length())),
+                            StandardCopyOption.ATOMIC_MOVE);
+                    }
+                    Files.deleteIfExists(temporaryFile);
+                    System.out.println("Warning: Could not compact history partition " + partition + ": " + e.getMessage());
+                    return false;
+                }
+            }
+            Files.move(temporaryFile, partition.resolve(partName + ".col"), StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            mappingLock.writeLock().unlock();
+        }
+        deleteRetiredParts(partition);
+        return true;
+    }
+
+    /**
+     * Delete part files left over by compactions; those still open elsewhere are retried on the next compaction
+     */
+    private void deleteRetiredParts(Path partition) throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(partition, "part-*.col" + RETIRED_SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    // Still mapped by another process
+                }
+            }
+        }
+    }
+
+    /**
+     * Delete the whole history
+     */
+    public void clear() throws IOException {
+        for (Path partition : listPartitions().values()) {
+            deleteRecursively(partition);
+        }
+    }
+
+    /**
+     * Number of daily partitions on disk
+     */
+    public int getPartitionCount() throws IOException {
+        return listPartitions().size();
+    }
+
+    private byte[] encode(List<TestExecutionRecord> records) throws IOException {
+        records.sort(Comparator.comparingLong(record -> record.endTime));
+        Map<String, Integer> tests = new LinkedHashMap<>();
+        Map<String, Integer> categories = new LinkedHashMap<>();
+        Map<String, Integer> environments = new LinkedHashMap<>();
+        Map<String, Integer> browsers = new LinkedHashMap<>();
+        for (TestExecutionRecord record : records) {
+            tests.putIfAbsent(record.testName, tests.size());
+            putIfPresent(categories, record.category);
+            putIfPresent(environments, record.environment);
+            putIfPresent(browsers, record.browser);
+        }
+
+        int rows = records.size();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + rows * 20);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(rows);
+        out.writeLong(records.get(0).endTime);
+        out.writeLong(records.get(rows - 1).endTime);
+        writeDictionary(out, tests.keySet());
+        writeDictionary(out, categories.keySet());
+        writeDictionary(out, environments.keySet());
+        writeDictionary(out, browsers.keySet());
+
+        for (TestExecutionRecord record : records) {
+            out.writeInt(tests.get(record.testName));
+        }
+        for (TestExecutionRecord record : records) {
+            out.writeShort(record.category == null ? -1 : categories.get(record.category));
+        }
+        for (TestExecutionRecord record : records) {
+            out.writeShort(record.environment == null ? -1 : environments.get(record.environment));
+        }
+        for (TestExecutionRecord record : records) {
+            out.writeShort(record.browser == null ? -1 : browsers.get(record.browser));
+        }
+        for (TestExecutionRecord record : records) {
+            out.writeByte(record.status);
+        }
+        for (TestExecutionRecord record : records) {
+            out.writeInt((int) Math.min(Math.max(record.endTime - record.startTime, 0), Integer.MAX_VALUE));
+        }
+        long previous = records.get(0).endTime;
+        for (TestExecutionRecord record : records) {
+            long delta = record.endTime - previous;
+            previous = record.endTime;
+            while ((delta & ~0x7FL) != 0) {
+                out.writeByte((int) (delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            out.writeByte((int) delta);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private void putIfPresent(Map<String, Integer> dictionary, String value) {
+        if (value != null) {
+            if (dictionary.size() >= Short.MAX_VALUE && !dictionary.containsKey(value)) {
+                throw new IllegalStateException("Too many distinct values for a columnar history dictionary");
+            }
+            dictionary.putIfAbsent(value, dictionary.size());
+        }
+    }
+
+    private void writeDictionary(DataOutputStream out, Collection<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+    }
+
+    private static String[] readDictionary(ByteBuffer buffer) {
+        String[] values = new String[buffer.getInt()];
+        for (int i = 0; i < values.length; i++) {
+            byte[] utf8 = new byte[buffer.getInt()];
+            buffer.get(utf8);
+            values[i] = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    /**
+     * Mapped part file, or null when it cannot be read; part files are immutable so mappings are cached
+     */
+    private PartFile map(Path file) {
+        PartFile part = mappedParts.get(file);
+        if (part == null) {
+            try {
+                part = new PartFile(file);
+                mappedParts.put(file, part);
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Warning: Skipping unreadable history file " + file + ": " + e.getMessage());
+            }
+        }
+        return part;
+    }
+
+    /**
+     * Part files of the partitions overlapping [from, to), oldest day first and in write order within a day
+     */
+    private List<Path> listParts(long from, long to) throws IOException {
+        LocalDate firstDay = from == Long.MIN_VALUE ? LocalDate.MIN : dayOf(from);
+        LocalDate lastDay = to == Long.MAX_VALUE ? LocalDate.MAX : dayOf(to - 1);
+        List<Path> parts = new ArrayList<>();
+        for (Map.Entry<LocalDate, Path> partition : listPartitions().entrySet()) {
+            if (partition.getKey().isBefore(firstDay) || partition.getKey().isAfter(lastDay)) {
+                continue;
+            }
+            parts.addAll(listDayParts(partition.getValue()));
+        }
+        return parts;
+    }
+
+    private List<Path> listDayParts(Path partition) throws IOException {
+        List<Path> dayParts = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(partition, "part-*.col")) {
+            files.forEach(dayParts::add);
+        }
+        dayParts.sort(Comparator.comparing(ColumnarHistoryStore::partTimestamp).thenComparing(Comparator.naturalOrder()));
+        return dayParts;
+    }
+
+    private static long partTimestamp(Path file) {
+        String[] name = file.getFileName().toString().split("-");
+        try {
+            return Long.parseLong(name[1]);
+        } catch (RuntimeException e) {
+            return 0;
+        }
+    }
+
+    private NavigableMap<LocalDate, Path> listPartitions() throws IOException {
+        NavigableMap<LocalDate, Path> partitions = new TreeMap<>();
+        if (!Files.isDirectory(historyPath)) {
+            return partitions;
+        }
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(historyPath, Files::isDirectory)) {
+            for (Path directory : directories) {
+                try {
+                    partitions.put(LocalDate.parse(directory.getFileName().toString()), directory);
+                } catch (DateTimeParseException e) {
+                    // Not a partition
+                }
+            }
+        }
+        return partitions;
+    }
+
+    private void deleteRecursively(Path path) throws IOException {
+        mappingLock.writeLock().lock();
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path file : paths.sorted(Comparator.reverseOrder()).toList()) {
+                unmap(file);
+                Files.deleteIfExists(file);
+            }
+        } finally {
+            mappingLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drop the cached mapping of a file and release it right away instead of when it is garbage collected
+     * Call while holding the write lock, so no scan is reading the buffer
+     */
+    private void unmap(Path file) {
+        PartFile part = mappedParts.remove(file);
+        if (part != null && UNMAPPER != null) {
+            try {
+                UNMAPPER.invoke(UNSAFE, part.buffer);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Released by the garbage collector instead
+            }
+        }
+    }
+
+    private static LocalDate dayOf(long epochMillis) {
+        return LocalDate.ofEpochDay(Math.floorDiv(epochMillis, DAY_MILLIS));
+    }
+}
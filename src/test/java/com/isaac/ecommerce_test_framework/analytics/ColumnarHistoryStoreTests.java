@@ -0,0 +1,256 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics.TestExecutionRecord;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Round-trip tests of ColumnarHistoryStore
+ * Scans and queries must return exactly the rows that were appended, also after compaction and retention
+ * Every test writes to its own throwaway directory
+ */
+public class ColumnarHistoryStoreTests {
+
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final String[] TESTS = {
+        "com.example.CartTests.addToCart", "com.example.LoginTests.validLogin", "com.example.CheckoutTests.checkout"};
+    private static final String[] CATEGORIES = {"Shopping Cart", "Authentication", null};
+    private static final String[] ENVIRONMENTS = {"local", "staging", null};
+    private static final String[] BROWSERS = {"chrome", "firefox", null};
+
+    private Path historyPath;
+    private ColumnarHistoryStore store;
+    private final Random random = new Random(11);
+
+    @BeforeMethod
+    public void setUp() throws IOException {
+        Path target = Files.createDirectories(Paths.get("target"));
+        historyPath = Files.createTempDirectory(target, "columnar-history");
+        store = new ColumnarHistoryStore(historyPath);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() throws IOException {
+        store.clear();
+        try (Stream<Path> paths = Files.walk(historyPath)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test(description = "Scans return exactly the rows appended across several days")
+    public void scanReturnsAppendedRows() throws IOException {
+        long firstDay = startOfDay(3);
+        List<TestExecutionRecord> records = new ArrayList<>();
+        for (int batch = 0; batch < 3; batch++) {
+            List<TestExecutionRecord> saved = randomRecords(200, firstDay, 3 * DAY_MILLIS);
+            store.append(saved);
+            records.addAll(saved);
+        }
+        Assert.assertEquals(store.getPartitionCount(), 3, "One partition per day");
+
+        Assert.assertEquals(scan(Long.MIN_VALUE, Long.MAX_VALUE), describe(records, null, Long.MIN_VALUE, Long.MAX_VALUE));
+
+        // A range starting and ending inside a day, so partitions and part files are partially read
+        long from = firstDay + DAY_MILLIS / 2;
+        long to = firstDay + 2 * DAY_MILLIS + DAY_MILLIS / 3;
+        Assert.assertEquals(scan(from, to), describe(records, null, from, to));
+
+        for (String testName : TESTS) {
+            Assert.assertEquals(scanTest(testName, from, to), describe(records, testName, from, to),
+                "Rows of " + testName);
+        }
+        Assert.assertTrue(scanTest("com.example.MissingTests.never", Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test(description = "Queries return exactly the matching rows, also when whole part files are skipped")
+    public void queryMatchesFilter() throws IOException {
+        long firstDay = startOfDay(3);
+        List<TestExecutionRecord> records = new ArrayList<>();
+        for (int batch = 0; batch < 4; batch++) {
+            List<TestExecutionRecord> saved = randomRecords(150, firstDay, 3 * DAY_MILLIS);
+            store.append(saved);
+            records.addAll(saved);
+        }
+        // A part file without the queried category and environment, which queries for them skip
+        List<TestExecutionRecord> other = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            other.add(record(TESTS[1], ITestResult.FAILURE, firstDay + i * 1000L, 100, "Authentication", "production", "edge"));
+        }
+        store.append(other);
+        records.addAll(other);
+
+        List<HistoryQuery> queries = List.of(
+            HistoryQuery.create(),
+            HistoryQuery.create().category("Shopping Cart").status(ITestResult.FAILURE).environment("staging"),
+            HistoryQuery.create().test(TESTS[1]).browser("edge"),
+            HistoryQuery.create().environment("production").status(ITestResult.FAILURE),
+            HistoryQuery.create().category("Missing Category"),
+            HistoryQuery.create().status(ITestResult.SKIP).between(firstDay + DAY_MILLIS, firstDay + 2 * DAY_MILLIS));
+        for (HistoryQuery query : queries) {
+            List<String> expected = new ArrayList<>();
+            for (TestExecutionRecord record : records) {
+                if (query.matches(record)) {
+                    expected.add(describe(record.testName, record.status, record.startTime, record.endTime,
+                        record.category, record.environment, record.browser));
+                }
+            }
+            Collections.sort(expected);
+
+            List<String> rows = new ArrayList<>();
+            long visited = store.query(query, row -> rows.add(describe(row)));
+            Collections.sort(rows);
+            Assert.assertEquals(visited, rows.size(), "Query should count every visited row");
+            Assert.assertEquals(rows, expected, "Query should match the filtered records");
+        }
+    }
+
+    @Test(description = "End time deltas of every varint length and repeated end times round-trip")
+    public void endTimeDeltasRoundTrip() throws IOException {
+        long day = startOfDay(1);
+        List<TestExecutionRecord> records = new ArrayList<>();
+        long endTime = day;
+        // Deltas of 0 (same millisecond) and of 1 to 4 varint bytes
+        for (long delta : new long[] {0, 0, 1, 127, 128, 16_383, 16_384, 2_097_151, 2_097_152, 0, 40_000_000}) {
+            endTime += delta;
+            records.add(record(TESTS[0], ITestResult.SUCCESS, endTime, 250, null, null, null));
+        }
+        store.append(records);
+
+        Assert.assertEquals(scan(Long.MIN_VALUE, Long.MAX_VALUE), describe(records, null, Long.MIN_VALUE, Long.MAX_VALUE));
+    }
+
+    @Test(description = "A day with COMPACT_MIN_PARTS part files is compacted into one without duplicates")
+    public void compactionKeepsEveryRowOnce() throws IOException {
+        long day = startOfDay(1);
+        List<TestExecutionRecord> records = new ArrayList<>();
+        for (int part = 0; part < ColumnarHistoryStore.COMPACT_MIN_PARTS; part++) {
+            List<TestExecutionRecord> saved = randomRecords(50, day, DAY_MILLIS);
+            store.append(saved);
+            records.addAll(saved);
+        }
+        // A day below the threshold is left alone
+        List<TestExecutionRecord> small = randomRecords(50, startOfDay(2), DAY_MILLIS);
+        store.append(small);
+        records.addAll(small);
+
+        List<String> expected = describe(records, null, Long.MIN_VALUE, Long.MAX_VALUE);
+        Assert.assertEquals(scan(Long.MIN_VALUE, Long.MAX_VALUE), expected);
+
+        Assert.assertEquals(store.compact(), 1, "Only the day with enough part files should be compacted");
+        Assert.assertEquals(partFiles(day), 1, "The compacted day should hold a single part file");
+        Assert.assertEquals(scan(Long.MIN_VALUE, Long.MAX_VALUE), expected, "Compaction should neither lose nor repeat rows");
+        Assert.assertEquals(scanTest(TESTS[1], Long.MIN_VALUE, Long.MAX_VALUE),
+            describe(records, TESTS[1], Long.MIN_VALUE, Long.MAX_VALUE));
+
+        Assert.assertEquals(store.compact(), 0, "A compacted day should not be compacted again");
+        Assert.assertEquals(scan(Long.MIN_VALUE, Long.MAX_VALUE), expected);
+    }
+
+    @Test(description = "Retention deletes the partitions older than the retention period")
+    public void retentionDeletesOldPartitions() throws IOException {
+        List<TestExecutionRecord> old = randomRecords(30, startOfDay(100), DAY_MILLIS);
+        List<TestExecutionRecord> recent = randomRecords(30, startOfDay(10), DAY_MILLIS);
+        store.append(old);
+        store.append(recent);
+        // Mapped before deletion, so the deleted files must also be unmapped
+        Assert.assertEquals(scan(Long.MIN_VALUE, Long.MAX_VALUE).size(), 60);
+
+        Assert.assertEquals(store.applyRetention(30), 1, "Only the 100 day old partition should be deleted");
+        Assert.assertEquals(store.getPartitionCount(), 1);
+        Assert.assertEquals(scan(Long.MIN_VALUE, Long.MAX_VALUE), describe(recent, null, Long.MIN_VALUE, Long.MAX_VALUE));
+        Assert.assertEquals(store.applyRetention(30), 0);
+    }
+
+    private List<TestExecutionRecord> randomRecords(int count, long from, long span) {
+        List<TestExecutionRecord> records = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int roll = random.nextInt(10);
+            int status = roll < 7 ? ITestResult.SUCCESS : roll < 9 ? ITestResult.FAILURE : ITestResult.SKIP;
+            records.add(record(TESTS[random.nextInt(TESTS.length)], status, from + (long) (random.nextDouble() * span),
+                random.nextInt(5_000), CATEGORIES[random.nextInt(CATEGORIES.length)],
+                ENVIRONMENTS[random.nextInt(ENVIRONMENTS.length)], BROWSERS[random.nextInt(BROWSERS.length)]));
+        }
+        return records;
+    }
+
+    private static TestExecutionRecord record(String testName, int status, long endTime, long duration,
+                                              String category, String environment, String browser) {
+        // Error messages and priorities are not kept in the long-term history
+        return new TestExecutionRecord(testName, status, endTime - duration, endTime, null, category, null,
+            environment, browser);
+    }
+
+    /**
+     * Rows of the given test (or all when null) that finished in [from, to), sorted for comparison
+     */
+    private static List<String> describe(List<TestExecutionRecord> records, String testName, long from, long to) {
+        List<String> rows = new ArrayList<>();
+        for (TestExecutionRecord record : records) {
+            if ((testName == null || testName.equals(record.testName)) && record.endTime >= from && record.endTime < to) {
+                rows.add(describe(record.testName, record.status, record.startTime, record.endTime,
+                    record.category, record.environment, record.browser));
+            }
+        }
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private static String describe(String testName, int status, long startTime, long endTime,
+                                   String category, String environment, String browser) {
+        return testName + "|" + status + "|" + startTime + "|" + endTime + "|" + category + "|" + environment + "|" + browser;
+    }
+
+    private List<String> scan(long from, long to) throws IOException {
+        List<String> rows = new ArrayList<>();
+        long visited = store.scan(from, to, row -> rows.add(describe(row)));
+        Assert.assertEquals(visited, rows.size(), "Scan should count every visited row");
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private List<String> scanTest(String testName, long from, long to) throws IOException {
+        List<String> rows = new ArrayList<>();
+        long visited = store.scanTest(testName, from, to, row -> rows.add(describe(row)));
+        Assert.assertEquals(visited, rows.size(), "Scan should count every visited row");
+        Collections.sort(rows);
+        return rows;
+    }
+
+    private static String describe(ColumnarHistoryStore.HistoryRow row) {
+        return describe(row.testName(), row.status(), row.startTime(), row.endTime(),
+            row.category(), row.environment(), row.browser());
+    }
+
+    private int partFiles(long day) throws IOException {
+        Path partition = historyPath.resolve(LocalDate.ofEpochDay(Math.floorDiv(day, DAY_MILLIS)).toString());
+        int parts = 0;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(partition, "part-*.col")) {
+            for (Path ignored : files) {
+                parts++;
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Start (UTC) of the day the given number of days before today
+     */
+    private static long startOfDay(int daysAgo) {
+        return LocalDate.now(ZoneOffset.UTC).minusDays(daysAgo).toEpochDay() * DAY_MILLIS;
+    }
+}
@@ -0,0 +1,149 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Online changepoint detection on a duration series (Page-Hinkley test for an increase of the mean)
+ * Each sample adds its relative deviation from the baseline mean minus a tolerance to a cumulative sum;
+ * the series is flagged when the sum rises more than the threshold above its minimum. The run after the
+ * minimum is where the slowdown started. A flag only becomes a regression when the samples since that run are
+ * significantly slower than the baseline (Welch t-test) by at least the minimum slowdown; the new level then
+ * becomes the baseline, so a later slowdown is detected again. Once the recent durations are back below that
+ * minimum slowdown over the old level, the detector starts a new baseline and the regression is cleared.
+ * State is O(1) and persisted with the metrics
+ */
+public class DurationChangeDetector {
+
+    // Samples before the series is tested at all
+    private static final int MIN_BASELINE_SAMPLES = 5;
+    // Samples after the changepoint before a regression is confirmed
+    private static final int MIN_REGRESSED_SAMPLES = 3;
+    // Welch t statistic required for a significant slowdown (about p < 0.01, one-sided)
+    private static final double MIN_T_STATISTIC = 3.0;
+
+    // A confirmed slowdown; runs are execution numbers of the test or step, times are 0 when unknown
+    public static class Regression {
+        public long startRun;
+        public long startTime;
+        public long detectedRun;
+        public long detectedAt;
+        public double baselineMean;
+        public double regressedMean;
+        public double tStatistic;
+
+        /**
+         * Slowdown relative to the baseline (0.5 = 50% slower)
+         */
+        @JsonIgnore
+        public double getSlowdown() {
+            return baselineMean == 0 ? 0.0 : regressedMean / baselineMean - 1.0;
+        }
+    }
+
+    public long samples;
+    public StreamingStatistics baseline = new StreamingStatistics();
+    // Samples since the candidate changepoint
+    public StreamingStatistics candidate = new StreamingStatistics();
+    public double cumulativeSum;
+    public double minimumSum;
+    public long candidateRun;
+    public long candidateTime;
+    public Regression lastRegression;
+
+    /**
+     * Add a duration; run is the sequence number of the sample, time when it was taken (0 if unknown)
+     * Returns the regression confirmed by this sample, or null
+     */
+    public Regression add(double duration, long run, long time, double tolerance, double threshold, double minSlowdown) {
+        samples++;
+        if (baseline.count < MIN_BASELINE_SAMPLES) {
+            baseline.add(duration);
+            return null;
+        }
+
+        double scale = Math.max(baseline.mean, 1.0);
+        cumulativeSum += (duration - baseline.mean) / scale - tolerance;
+        if (cumulativeSum <= minimumSum) {
+            // No shift in progress: the sample and the previous candidate samples belong to the baseline
+            minimumSum = cumulativeSum;
+            baseline.merge(candidate);
+            baseline.add(duration);
+            candidate = new StreamingStatistics();
+            if (lastRegression != null && baseline.ewma < lastRegression.baselineMean * (1.0 + minSlowdown)) {
+                // Recovered: the regressed samples no longer describe the test
+                rebaseline(duration);
+            }
+            return null;
+        }
+
+        if (candidate.count == 0) {
+            candidateRun = run;
+            candidateTime = time;
+        }
+        candidate.add(duration);
+        if (cumulativeSum - minimumSum <= threshold || candidate.count < MIN_REGRESSED_SAMPLES) {
+            return null;
+        }
+
+        double tStatistic = welchT(baseline, candidate);
+        if (tStatistic < MIN_T_STATISTIC || candidate.mean < baseline.mean * (1.0 + minSlowdown)) {
+            return null;
+        }
+
+        Regression regression = new Regression();
+        regression.startRun = candidateRun;
+        regression.startTime = candidateTime;
+        regression.detectedRun = run;
+        regression.detectedAt = time;
+        regression.baselineMean = baseline.mean;
+        regression.regressedMean = candidate.mean;
+        regression.tStatistic = tStatistic;
+        lastRegression = regression;
+
+        // The slower level is the new normal
+        baseline = candidate;
+        candidate = new StreamingStatistics();
+        cumulativeSum = 0;
+        minimumSum = 0;
+        return regression;
+    }
+
+    /**
+     * Start a new baseline from the given sample and forget the last regression
+     */
+    private void rebaseline(double duration) {
+        baseline = new StreamingStatistics();
+        baseline.add(duration);
+        cumulativeSum = 0;
+        minimumSum = 0;
+        lastRegression = null;
+    }
+
+    /**
+     * Welch t statistic of the increase of b's mean over a's
+     */
+    static double welchT(StreamingStatistics a, StreamingStatistics b) {
+        double standardError = Math.sqrt(a.getSampleVariance() / a.count + b.getSampleVariance() / b.count);
+        double difference = b.mean - a.mean;
+        if (standardError == 0) {
+            return difference > 0 ? Double.POSITIVE_INFINITY : 0.0;
+        }
+        return difference / standardError;
+    }
+
+    /**
+     * Deep copy, used when metrics are published to concurrent readers
+     */
+    public DurationChangeDetector copy() {
+        DurationChangeDetector copy = new DurationChangeDetector();
+        copy.samples = samples;
+        copy.baseline.merge(baseline);
+        copy.candidate.merge(candidate);
+        copy.cumulativeSum = cumulativeSum;
+        copy.minimumSum = minimumSum;
+        copy.candidateRun = candidateRun;
+        copy.candidateTime = candidateTime;
+        copy.lastRegression = lastRegression;
+        return copy;
+    }
+}
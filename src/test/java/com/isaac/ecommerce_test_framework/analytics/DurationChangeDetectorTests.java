@@ -0,0 +1,111 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests of DurationChangeDetector on synthetic duration series with +/-2% noise
+ * Uses the default settings: 5% tolerance, threshold 3.0, 20% minimum slowdown
+ */
+public class DurationChangeDetectorTests {
+
+    private static final double TOLERANCE = 0.05;
+    private static final double THRESHOLD = 3.0;
+    private static final double MIN_SLOWDOWN = 0.2;
+
+    private final Random random = new Random(23);
+    private DurationChangeDetector detector;
+    private long run;
+
+    @Test(description = "A flat noisy series is never flagged")
+    public void flatSeriesIsNeverFlagged() {
+        detector = new DurationChangeDetector();
+        Assert.assertNull(addSamples(500, 1000), "A flat series should not regress");
+        Assert.assertNull(detector.lastRegression);
+    }
+
+    @Test(description = "A step increase is flagged, starting at the first slow run")
+    public void stepIncreaseIsFlagged() {
+        detector = new DurationChangeDetector();
+        Assert.assertNull(addSamples(20, 1000));
+
+        DurationChangeDetector.Regression regression = addSamples(20, 1500);
+        Assert.assertNotNull(regression, "A 50% slowdown should be flagged");
+        Assert.assertEquals(regression.startRun, 21, "The slowdown started with the first slow run");
+        Assert.assertEquals(regression.startTime, 21 * 1000L);
+        Assert.assertTrue(regression.detectedRun >= 23 && regression.detectedRun <= 30,
+            "Detected after a few slow runs, not " + regression.detectedRun);
+        Assert.assertEquals(regression.baselineMean, 1000, 20);
+        Assert.assertEquals(regression.regressedMean, 1500, 30);
+        Assert.assertEquals(regression.getSlowdown(), 0.5, 0.05);
+        Assert.assertSame(detector.lastRegression, regression);
+    }
+
+    @Test(description = "A shift smaller than the minimum slowdown is ignored")
+    public void smallShiftIsIgnored() {
+        detector = new DurationChangeDetector();
+        Assert.assertNull(addSamples(20, 1000));
+        Assert.assertNull(addSamples(200, 1150), "A 15% slowdown is below the 20% minimum");
+        Assert.assertNull(detector.lastRegression);
+    }
+
+    @Test(description = "A regression is cleared once the durations are back to the old level")
+    public void regressionClearedAfterRecovery() {
+        detector = new DurationChangeDetector();
+        addSamples(20, 1000);
+        Assert.assertNotNull(addSamples(20, 1500));
+
+        Assert.assertNull(addSamples(20, 1000), "Recovering is not a regression");
+        Assert.assertNull(detector.lastRegression, "The regression should be cleared after recovery");
+    }
+
+    @Test(description = "A second slowdown is detected after re-baselining on the slower level")
+    public void secondSlowdownAfterRegressionIsDetected() {
+        detector = new DurationChangeDetector();
+        addSamples(20, 1000);
+        DurationChangeDetector.Regression first = addSamples(20, 1500);
+        Assert.assertNotNull(first);
+        Assert.assertNull(addSamples(20, 1500), "The slower level is the new baseline");
+
+        long secondStart = run + 1;
+        DurationChangeDetector.Regression second = addSamples(20, 2200);
+        Assert.assertNotNull(second, "A further slowdown should be flagged");
+        Assert.assertEquals(second.startRun, secondStart);
+        Assert.assertEquals(second.baselineMean, 1500, 30);
+        Assert.assertEquals(second.regressedMean, 2200, 45);
+    }
+
+    @Test(description = "A slowdown after a recovery is detected against the recovered level")
+    public void slowdownAfterRecoveryIsDetected() {
+        detector = new DurationChangeDetector();
+        addSamples(20, 1000);
+        Assert.assertNotNull(addSamples(20, 1500));
+        addSamples(30, 1000);
+        Assert.assertNull(detector.lastRegression);
+
+        long slowStart = run + 1;
+        DurationChangeDetector.Regression regression = addSamples(20, 1600);
+        Assert.assertNotNull(regression, "A new slowdown after recovery should be flagged");
+        Assert.assertEquals(regression.startRun, slowStart);
+        Assert.assertEquals(regression.baselineMean, 1000, 20);
+    }
+
+    /**
+     * Add samples around a level; returns the first regression they confirmed, or null
+     */
+    private DurationChangeDetector.Regression addSamples(int count, double level) {
+        DurationChangeDetector.Regression first = null;
+        for (int i = 0; i < count; i++) {
+            run++;
+            double duration = level * (1 + (random.nextDouble() * 2 - 1) * 0.02);
+            DurationChangeDetector.Regression regression = detector.add(duration, run, run * 1000L,
+                TOLERANCE, THRESHOLD, MIN_SLOWDOWN);
+            if (first == null) {
+                first = regression;
+            }
+        }
+        return first;
+    }
+}
@@ -0,0 +1,306 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics.TestExecutionRecord;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only binary log of analytics events
+ * Records are length-prefixed and checksummed ([int length][payload][int crc32]) and written through a FileChannel.
+ * Logs are split into generations (events-N.log): a snapshot of generation N contains every event of the
+ * logs before N, so startup loads the snapshot and replays only logs N and later
+ */
+public class ExecutionEventLog {
+
+    private static final byte TEST_RESULT = 1;
+    private static final byte NETWORK_SAVINGS = 2;
+    private static final byte STEP_DURATION = 3;
+
+    // Callback receiving replayed events
+    public interface EventHandler {
+        void onTestResult(TestExecutionRecord record);
+
+        void onNetworkSavings(String testName, long blockedRequests, long blockedBytes);
+
+        // time is 0 for records written before step timestamps were logged
+        void onStepDuration(String stepName, long duration, long time);
+    }
+
+    private final Path directory;
+    private FileChannel channel;
+    private int generation;
+
+    public ExecutionEventLog(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Replay every log from the snapshot generation on and open the newest one for appending
+     * Returns the number of replayed events
+     */
+    public synchronized long open(int snapshotGeneration, EventHandler handler) throws IOException {
+        Files.createDirectories(directory);
+        long replayed = replay(directory, snapshotGeneration, Integer.MAX_VALUE, handler);
+        generation = Math.max(snapshotGeneration, getLatestGeneration(directory));
+        channel = FileChannel.open(logFile(generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        return replayed;
+    }
+
+    public synchronized void appendTestResult(TestExecutionRecord record) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(TEST_RESULT);
+        out.writeUTF(record.testName);
+        out.writeInt(record.status);
+        out.writeLong(record.startTime);
+        out.writeLong(record.endTime);
+        writeNullableUTF(out, record.errorMessage);
+        writeNullableUTF(out, record.category);
+        writeNullableUTF(out, record.priority);
+        writeNullableUTF(out, record.environment);
+        writeNullableUTF(out, record.browser);
+        append(bytes.toByteArray());
+    }
+
+    public synchronized void appendNetworkSavings(String testName, long blockedRequests, long blockedBytes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(NETWORK_SAVINGS);
+        out.writeUTF(testName);
+        out.writeLong(blockedRequests);
+        out.writeLong(blockedBytes);
+        append(bytes.toByteArray());
+    }
+
+    public synchronized void appendStepDuration(String stepName, long duration, long time) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(STEP_DURATION);
+        out.writeUTF(stepName);
+        out.writeLong(duration);
+        out.writeLong(time);
+        append(bytes.toByteArray());
+    }
+
+    private void append(byte[] payload) throws IOException {
+        if (channel == null) {
+            throw new IOException("Event log is not open");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(payload.length + 8);
+        buffer.putInt(payload.length).put(payload).putInt((int) crc.getValue()).flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Force appended records to disk
+     */
+    public synchronized void flush() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+        }
+    }
+
+    /**
+     * Start a new log generation and return it; a snapshot taken now belongs to that generation
+     */
+    public synchronized int rollover() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+        generation++;
+        channel = FileChannel.open(logFile(generation), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND);
+        return generation;
+    }
+
+    /**
+     * Replay the logs of a directory with a generation in [fromGeneration, toGeneration)
+     * Returns the number of replayed events
+     */
+    public static long replay(Path directory, int fromGeneration, int toGeneration, EventHandler handler) throws IOException {
+        long replayed = 0;
+        for (int logGeneration : listGenerations(directory)) {
+            if (logGeneration >= fromGeneration && logGeneration < toGeneration) {
+                replayed += replay(logFile(directory, logGeneration), handler);
+            }
+        }
+        return replayed;
+    }
+
+    /**
+     * Highest log generation in a directory, -1 when there is none
+     */
+    public static int getLatestGeneration(Path directory) throws IOException {
+        List<Integer> generations = listGenerations(directory);
+        return generations.isEmpty() ? -1 : generations.get(generations.size() - 1);
+    }
+
+    /**
+     * Delete the logs a snapshot of the given generation has made obsolete
+     */
+    public void deleteBefore(int snapshotGeneration) throws IOException {
+        deleteBefore(directory, snapshotGeneration);
+    }
+
+    public static void deleteBefore(Path directory, int snapshotGeneration) throws IOException {
+        for (int logGeneration : listGenerations(directory)) {
+            if (logGeneration < snapshotGeneration) {
+                Files.deleteIfExists(logFile(directory, logGeneration));
+            }
+        }
+    }
+
+    /**
+     * Size in bytes of the log currently appended to
+     */
+    public synchronized long size() throws IOException {
+        return channel != null ? channel.size() : 0;
+    }
+
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    /**
+     * Replay one log file; a torn or corrupt tail (e.g. after a crash) is truncated
+     */
+    private static long replay(Path file, EventHandler handler) throws IOException {
+        long replayed = 0;
+        try (FileChannel readChannel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            long validEnd = 0;
+            ByteBuffer header = ByteBuffer.allocate(4);
+            while (true) {
+                header.clear();
+                if (readFully(readChannel, header) < 4) {
+                    break;
+                }
+                int length = header.flip().getInt();
+                if (length <= 0 || validEnd + 8 + length > readChannel.size()) {
+                    break;
+                }
+                ByteBuffer record = ByteBuffer.allocate(length + 4);
+                if (readFully(readChannel, record) < length + 4) {
+                    break;
+                }
+                record.flip();
+                byte[] payload = new byte[length];
+                record.get(payload);
+                CRC32 crc = new CRC32();
+                crc.update(payload);
+                if (record.getInt() != (int) crc.getValue()) {
+                    break;
+                }
+                dispatch(payload, handler);
+                replayed++;
+                validEnd = readChannel.position();
+            }
+            if (validEnd < readChannel.size()) {
+                System.out.println("Warning: Truncating corrupt tail of " + file.getFileName() + " at byte " + validEnd);
+                readChannel.truncate(validEnd);
+            }
+        }
+        return replayed;
+    }
+
+    private static int readFully(FileChannel readChannel, ByteBuffer buffer) throws IOException {
+        int total = 0;
+        while (buffer.hasRemaining()) {
+            int read = readChannel.read(buffer);
+            if (read < 0) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static void dispatch(byte[] payload, EventHandler handler) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        switch (type) {
+            case TEST_RESULT:
+                String testName = in.readUTF();
+                int status = in.readInt();
+                long startTime = in.readLong();
+                long endTime = in.readLong();
+                String errorMessage = readNullableUTF(in);
+                String category = readNullableUTF(in);
+                String priority = readNullableUTF(in);
+                // Environment and browser were added later; older records end before them
+                String environment = in.available() > 0 ? readNullableUTF(in) : null;
+                String browser = in.available() > 0 ? readNullableUTF(in) : null;
+                handler.onTestResult(new TestExecutionRecord(testName, status, startTime, endTime,
+                    errorMessage, category, priority, environment, browser));
+                break;
+            case NETWORK_SAVINGS:
+                handler.onNetworkSavings(in.readUTF(), in.readLong(), in.readLong());
+                break;
+            case STEP_DURATION:
+                String stepName = in.readUTF();
+                long duration = in.readLong();
+                // The step timestamp was added later; older records end before it
+                handler.onStepDuration(stepName, duration, in.available() > 0 ? in.readLong() : 0);
+                break;
+            default:
+                // Unknown record type from a newer version - skip it
+                break;
+        }
+    }
+
+    private void writeNullableUTF(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            // writeUTF is limited to 64KB; error messages can be longer
+            out.writeUTF(value.length() > 8192 ? value.substring(0, 8192) : value);
+        }
+    }
+
+    private static String readNullableUTF(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static List<Integer> listGenerations(Path directory) throws IOException {
+        List<Integer> generations = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return generations;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "events-*.log")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    generations.add(Integer.parseInt(name.substring("events-".length(), name.length() - ".log".length())));
+                } catch (NumberFormatException e) {
+                    // Not one of ours
+                }
+            }
+        }
+        generations.sort(Integer::compare);
+        return generations;
+    }
+
+    private Path logFile(int logGeneration) {
+        return logFile(directory, logGeneration);
+    }
+
+    private static Path logFile(Path directory, int logGeneration) {
+        return directory.resolve("events-" + logGeneration + ".log");
+    }
+}
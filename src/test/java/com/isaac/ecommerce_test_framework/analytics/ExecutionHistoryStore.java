@@ -0,0 +1,218 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics.TestExecutionRecord;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Indexed, append-only store of execution records
+ * Every record gets a unique sequential id and is indexed by test, category, status, environment, browser and
+ * hour bucket; a query walks the most selective matching index and checks the other criteria on the record,
+ * so it never scans the whole history. A single writer appends while readers query without locking
+ */
+public class ExecutionHistoryStore {
+
+    private static final int CHUNK_BITS = 14;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final long BUCKET_MILLIS = 60 * 60 * 1000L;
+
+    // Append-only list of record ids in insertion order; readers see a consistent prefix
+    private static final class IdList {
+        private static final IdList EMPTY = new IdList();
+
+        private volatile int[] ids = new int[4];
+        private volatile int size;
+
+        private void add(int id) {
+            int[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+                ids = current;
+            }
+            current[size] = id;
+            size = size + 1;
+        }
+    }
+
+    private volatile TestExecutionRecord[][] chunks = new TestExecutionRecord[16][];
+    private volatile int size;
+
+    private final Map<String, IdList> byTest = new ConcurrentHashMap<>();
+    private final Map<String, IdList> byCategory = new ConcurrentHashMap<>();
+    private final Map<Integer, IdList> byStatus = new ConcurrentHashMap<>();
+    private final Map<String, IdList> byEnvironment = new ConcurrentHashMap<>();
+    private final Map<String, IdList> byBrowser = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, IdList> byTimeBucket = new ConcurrentSkipListMap<>();
+
+    /**
+     * Append a record and return its id
+     */
+    public synchronized int add(TestExecutionRecord record) {
+        int id = size;
+        TestExecutionRecord[][] current = chunks;
+        int chunk = id >>> CHUNK_BITS;
+        if (chunk == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        if (current[chunk] == null) {
+            current[chunk] = new TestExecutionRecord[CHUNK_SIZE];
+        }
+        current[chunk][id & (CHUNK_SIZE - 1)] = record;
+        chunks = current;
+
+        index(byTest, record.testName, id);
+        index(byCategory, record.category, id);
+        index(byStatus, record.status, id);
+        index(byEnvironment, record.environment, id);
+        index(byBrowser, record.browser, id);
+        index(byTimeBucket, Math.floorDiv(record.endTime, BUCKET_MILLIS), id);
+
+        // Publishing the new size makes the record and its index entries visible to readers
+        size = id + 1;
+        return id;
+    }
+
+    private <K> void index(Map<K, IdList> index, K key, int id) {
+        if (key != null) {
+            index.computeIfAbsent(key, k -> new IdList()).add(id);
+        }
+    }
+
+    public TestExecutionRecord get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("No execution record " + id);
+        }
+        return chunks[id >>> CHUNK_BITS][id & (CHUNK_SIZE - 1)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Records matching the query, in insertion order
+     */
+    public List<TestExecutionRecord> query(HistoryQuery query) {
+        List<TestExecutionRecord> results = new ArrayList<>();
+        forEachMatch(query, results::add);
+        return results;
+    }
+
+    public int count(HistoryQuery query) {
+        int[] count = new int[1];
+        forEachMatch(query, record -> count[0]++);
+        return count[0];
+    }
+
+    /**
+     * Number of records the query examines: the size of the index it is driven by
+     */
+    public int candidateCount(HistoryQuery query) {
+        IdList posting = smallestPosting(query);
+        if (drivenByPosting(query, posting)) {
+            return Math.min(posting.size, size);
+        }
+        return query.hasTimeRange() ? timeRangeCount(query) : size;
+    }
+
+    /**
+     * Whether the smallest posting list is more selective than the time range of the query
+     */
+    private boolean drivenByPosting(HistoryQuery query, IdList posting) {
+        return posting != null && (!query.hasTimeRange() || posting.size <= timeRangeCount(query));
+    }
+
+    private void forEachMatch(HistoryQuery query, Consumer<TestExecutionRecord> action) {
+        int limit = size;
+        IdList posting = smallestPosting(query);
+
+        if (drivenByPosting(query, posting)) {
+            int count = posting.size;
+            int[] ids = posting.ids;
+            for (int i = 0; i < count && ids[i] < limit; i++) {
+                TestExecutionRecord record = get(ids[i]);
+                if (query.matches(record)) {
+                    action.accept(record);
+                }
+            }
+        } else if (query.hasTimeRange()) {
+            // Buckets are time ordered but ids are not: collect and sort to keep insertion order
+            int[] candidates = new int[timeRangeCount(query)];
+            int found = 0;
+            for (IdList bucket : timeBuckets(query).values()) {
+                int count = bucket.size;
+                int[] ids = bucket.ids;
+                for (int i = 0; i < count && found < candidates.length; i++) {
+                    if (ids[i] < limit) {
+                        candidates[found++] = ids[i];
+                    }
+                }
+            }
+            Arrays.sort(candidates, 0, found);
+            for (int i = 0; i < found; i++) {
+                TestExecutionRecord record = get(candidates[i]);
+                if (query.matches(record)) {
+                    action.accept(record);
+                }
+            }
+        } else {
+            for (int id = 0; id < limit; id++) {
+                TestExecutionRecord record = get(id);
+                if (query.matches(record)) {
+                    action.accept(record);
+                }
+            }
+        }
+    }
+
+    /**
+     * Smallest posting list among the criteria of the query (an empty one when a criterion has no match),
+     * or null when the query has no indexed criterion besides the time range
+     */
+    private IdList smallestPosting(HistoryQuery query) {
+        IdList smallest = null;
+        smallest = smaller(smallest, query.testName, byTest);
+        smallest = smaller(smallest, query.category, byCategory);
+        smallest = smaller(smallest, query.status, byStatus);
+        smallest = smaller(smallest, query.environment, byEnvironment);
+        smallest = smaller(smallest, query.browser, byBrowser);
+        return smallest;
+    }
+
+    private <K> IdList smaller(IdList smallest, K key, Map<K, IdList> index) {
+        if (key == null) {
+            return smallest;
+        }
+        IdList posting = index.getOrDefault(key, IdList.EMPTY);
+        return smallest == null || posting.size < smallest.size ? posting : smallest;
+    }
+
+    private NavigableMap<Long, IdList> timeBuckets(HistoryQuery query) {
+        long fromBucket = query.from == Long.MIN_VALUE ? Long.MIN_VALUE : Math.floorDiv(query.from, BUCKET_MILLIS);
+        long toBucket = query.to == Long.MAX_VALUE ? Long.MAX_VALUE : Math.floorDiv(query.to - 1, BUCKET_MILLIS);
+        return fromBucket > toBucket ? Collections.emptyNavigableMap()
+            : byTimeBucket.subMap(fromBucket, true, toBucket, true);
+    }
+
+    private int timeRangeCount(HistoryQuery query) {
+        long count = 0;
+        for (IdList bucket : timeBuckets(query).values()) {
+            count += bucket.size;
+        }
+        return (int) Math.min(count, size);
+    }
+
+    public synchronized void clear() {
+        size = 0;
+        chunks = new TestExecutionRecord[16][];
+        byTest.clear();
+        byCategory.clear();
+        byStatus.clear();
+        byEnvironment.clear();
+        byBrowser.clear();
+        byTimeBucket.clear();
+    }
+}
@@ -0,0 +1,114 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics.TestExecutionRecord;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Benchmark of ExecutionHistoryStore over one million synthetic records
+ * Indexed queries must return exactly what a full scan returns while examining a fraction of the history
+ * The benchmark is in the "benchmark" group, which mvn test excludes unless asked for (see README)
+ */
+public class ExecutionHistoryStoreTests {
+
+    public static final String BENCHMARK = "benchmark";
+
+    private static final int RECORDS = 1_000_000;
+    private static final int TEST_NAMES = 400;
+    private static final long DAY_MILLIS = 24L * 60 * 60 * 1000;
+    private static final String[] PREFIXES = {"login", "search", "cart", "checkout", "product", "other"};
+    private static final String[] ENVIRONMENTS = {"local", "staging", "production"};
+    private static final String[] BROWSERS = {"chrome", "firefox", "edge"};
+
+    private ExecutionHistoryStore store;
+    private List<TestExecutionRecord> records;
+
+    @BeforeClass(groups = BENCHMARK)
+    public void setUp() {
+        Random random = new Random(42);
+        long now = System.currentTimeMillis();
+        store = new ExecutionHistoryStore();
+        records = new ArrayList<>(RECORDS);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < RECORDS; i++) {
+            int test = random.nextInt(TEST_NAMES);
+            String testName = "com.example.SyntheticTests." + PREFIXES[test % PREFIXES.length] + "Test" + test;
+            int roll = random.nextInt(100);
+            int status = roll < 85 ? ITestResult.SUCCESS : roll < 95 ? ITestResult.FAILURE : ITestResult.SKIP;
+            // 90 days of history, recorded out of order as merged forks would
+            long endTime = now - (long) (random.nextDouble() * 90 * DAY_MILLIS);
+            TestExecutionRecord record = new TestExecutionRecord(testName, status, endTime - 500, endTime,
+                status == ITestResult.FAILURE ? "boom" : null, TestExecutionAnalytics.categorize(testName), "Medium",
+                ENVIRONMENTS[random.nextInt(ENVIRONMENTS.length)], BROWSERS[random.nextInt(BROWSERS.length)]);
+            records.add(record);
+            store.add(record);
+        }
+        System.out.println("Indexed " + RECORDS + " records in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    @Test(groups = BENCHMARK, description = "Failures of checkout tests on staging in the last 7 days")
+    public void checkoutFailuresOnStagingLastWeek() {
+        HistoryQuery query = HistoryQuery.create()
+            .category("Checkout Process")
+            .status(ITestResult.FAILURE)
+            .environment("staging")
+            .lastDays(7);
+        assertMatchesFullScan(query);
+        Assert.assertTrue(store.candidateCount(query) < RECORDS / 10,
+            "Query should be driven by an index, examined " + store.candidateCount(query));
+    }
+
+    @Test(groups = BENCHMARK, description = "History of one test on one browser")
+    public void singleTestOnBrowser() {
+        HistoryQuery query = HistoryQuery.create()
+            .test("com.example.SyntheticTests.cartTest2")
+            .browser("firefox");
+        assertMatchesFullScan(query);
+        Assert.assertTrue(store.candidateCount(query) < RECORDS / 100,
+            "Query should be driven by the test index, examined " + store.candidateCount(query));
+    }
+
+    @Test(groups = BENCHMARK, description = "Everything that finished in the last day")
+    public void lastDay() {
+        HistoryQuery query = HistoryQuery.create().lastDays(1);
+        assertMatchesFullScan(query);
+        Assert.assertTrue(store.candidateCount(query) < RECORDS / 20,
+            "Query should be driven by the time buckets, examined " + store.candidateCount(query));
+    }
+
+    @Test(description = "Results of the same test in the same millisecond are all kept")
+    public void sameMillisecondIsNotOverwritten() {
+        ExecutionHistoryStore history = new ExecutionHistoryStore();
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 3; i++) {
+            history.add(new TestExecutionRecord("com.example.CartTests.addToCart", ITestResult.SUCCESS, now, now,
+                null, "Shopping Cart", "Medium", "local", "chrome"));
+        }
+        Assert.assertEquals(history.size(), 3);
+        Assert.assertEquals(history.count(HistoryQuery.create().test("com.example.CartTests.addToCart")), 3);
+    }
+
+    private void assertMatchesFullScan(HistoryQuery query) {
+        List<TestExecutionRecord> expected = new ArrayList<>();
+        for (TestExecutionRecord record : records) {
+            if (query.matches(record)) {
+                expected.add(record);
+            }
+        }
+
+        List<TestExecutionRecord> actual = store.query(query);
+        Assert.assertEquals(store.count(query), actual.size(), "Count should match the query");
+        Assert.assertFalse(expected.isEmpty(), "Synthetic data should match the query");
+        Assert.assertEquals(actual.size(), expected.size(), "Indexed query should match the full scan");
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertSame(actual.get(i), expected.get(i), "Results should be in insertion order");
+        }
+    }
+}
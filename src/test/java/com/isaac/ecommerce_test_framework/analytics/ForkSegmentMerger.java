@@ -0,0 +1,260 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics.AnalyticsSnapshot;
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics.LatencySketchStore;
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics.TestMetrics;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Merges the analytics of several JVMs (surefire forks) into one history
+ * Each fork appends to its own segment (segments/fork-N-id/events-*.log) while holding the segment's owner lock;
+ * segments are folded into analytics-snapshot.json under a cross-JVM merge lock and the snapshot is replaced by
+ * atomic rename. The snapshot remembers up to which log generation each segment was merged, so a crash between
+ * writing the snapshot and deleting the segment never counts an event twice
+ */
+public class ForkSegmentMerger {
+
+    public static final String SNAPSHOT_FILE = "analytics-snapshot.json";
+    private static final String SEGMENTS_DIR = "segments";
+    private static final String SEGMENT_ID_FILE = "segment.id";
+    private static final String OWNER_LOCK_FILE = ".owner.lock";
+    private static final String MERGE_LOCK_FILE = ".merge.lock";
+
+    // Work done while holding the merge lock
+    public interface MergeAction<T> {
+        T run() throws IOException;
+    }
+
+    // Owner locks of the segments written by this JVM; the channels must stay open to keep the locks
+    private static final Map<Path, FileChannel> ownedSegments = new ConcurrentHashMap<>();
+
+    private final Path analyticsPath;
+    private final ObjectMapper objectMapper;
+
+    public ForkSegmentMerger(Path analyticsPath) {
+        this.analyticsPath = analyticsPath;
+        this.objectMapper = new ObjectMapper();
+    }
+
+    /**
+     * Directory of the segment a fork writes to
+     */
+    public Path getSegmentPath(String forkNumber, String segmentId) {
+        return analyticsPath.resolve(SEGMENTS_DIR).resolve("fork-" + forkNumber + "-" + segmentId);
+    }
+
+    /**
+     * Run an action while holding the merge lock shared by all JVMs writing to this directory
+     */
+    public <T> T withMergeLock(MergeAction<T> action) throws IOException {
+        Files.createDirectories(analyticsPath);
+        // FileLocks are held per JVM, so threads of the same JVM are serialized first
+        synchronized (ForkSegmentMerger.class) {
+            try (FileChannel channel = FileChannel.open(analyticsPath.resolve(MERGE_LOCK_FILE),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                return action.run();
+            }
+        }
+    }
+
+    /**
+     * Create a segment and take its owner lock; call while holding the merge lock
+     */
+    public void createSegment(Path segmentPath, String segmentId) throws IOException {
+        Files.createDirectories(segmentPath);
+        FileChannel channel = FileChannel.open(segmentPath.resolve(OWNER_LOCK_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (channel.tryLock() == null) {
+            channel.close();
+            throw new IOException("Segment " + segmentPath + " is owned by another process");
+        }
+        ownedSegments.put(segmentPath.toAbsolutePath().normalize(), channel);
+        Files.writeString(segmentPath.resolve(SEGMENT_ID_FILE), segmentId);
+    }
+
+    /**
+     * Fold the event logs of a segment with a generation in [fromGeneration, toGeneration) into a snapshot
+     */
+    public AnalyticsSnapshot fold(AnalyticsSnapshot snapshot, Path logDirectory, int fromGeneration, int toGeneration)
+            throws IOException {
+        TestExecutionAnalytics merged = TestExecutionAnalytics.forMerge(snapshot);
+        ExecutionEventLog.replay(logDirectory, fromGeneration, toGeneration, merged.replayHandler());
+        AnalyticsSnapshot result = merged.toSnapshot();
+        result.generation = snapshot.generation;
+        result.mergedSegments.putAll(snapshot.mergedSegments);
+        return result;
+    }
+
+    /**
+     * Fold every segment whose owner has exited (finished or crashed fork) into the snapshot and delete it
+     * With includeRootLogs the logs of a single-JVM run in the analytics directory itself are folded as well
+     * Call while holding the merge lock; returns the resulting snapshot
+     */
+    public AnalyticsSnapshot mergeFinishedSegments(boolean includeRootLogs) throws IOException {
+        AnalyticsSnapshot snapshot = readSnapshot();
+        boolean changed = false;
+
+        int latestRootGeneration = ExecutionEventLog.getLatestGeneration(analyticsPath);
+        if (includeRootLogs && latestRootGeneration >= snapshot.generation) {
+            snapshot = fold(snapshot, analyticsPath, snapshot.generation, latestRootGeneration + 1);
+            snapshot.generation = latestRootGeneration + 1;
+            changed = true;
+        }
+
+        Set<String> existingSegments = new HashSet<>();
+        Map<Path, FileChannel> finishedSegments = new LinkedHashMap<>();
+        boolean saved = false;
+        try {
+            for (Path segmentPath : listSegments()) {
+                String segmentId = readSegmentId(segmentPath);
+                if (segmentId != null) {
+                    existingSegments.add(segmentId);
+                }
+                FileChannel ownerLock = tryOwnerLock(segmentPath);
+                if (ownerLock == null) {
+                    continue;
+                }
+                finishedSegments.put(segmentPath, ownerLock);
+                if (segmentId == null) {
+                    // Crashed before the segment was set up, nothing was recorded
+                    continue;
+                }
+                int latestGeneration = ExecutionEventLog.getLatestGeneration(segmentPath);
+                int fromGeneration = snapshot.mergedSegments.getOrDefault(segmentId, 0);
+                if (latestGeneration >= fromGeneration) {
+                    snapshot = fold(snapshot, segmentPath, fromGeneration, latestGeneration + 1);
+                    snapshot.mergedSegments.put(segmentId, latestGeneration + 1);
+                    changed = true;
+                }
+            }
+
+            // Merge positions are only needed while their segment directory still exists
+            changed |= snapshot.mergedSegments.keySet().retainAll(existingSegments);
+            if (changed) {
+                writeSnapshot(snapshot);
+                if (includeRootLogs) {
+                    ExecutionEventLog.deleteBefore(analyticsPath, snapshot.generation);
+                }
+            }
+            saved = true;
+            if (!finishedSegments.isEmpty()) {
+                System.out.println("Analytics: merged " + finishedSegments.size() + " finished fork segments");
+            }
+        } finally {
+            for (Map.Entry<Path, FileChannel> segment : finishedSegments.entrySet()) {
+                segment.getValue().close();
+                // Without a written snapshot the segment is the only copy of its results; the next merge retries it
+                if (saved) {
+                    deleteRecursively(segment.getKey());
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Read the merged snapshot, migrating the files written before the event log existed; empty when there is none
+     */
+    public AnalyticsSnapshot readSnapshot() throws IOException {
+        File snapshotFile = analyticsPath.resolve(SNAPSHOT_FILE).toFile();
+        if (snapshotFile.exists()) {
+            return objectMapper.readValue(snapshotFile, AnalyticsSnapshot.class);
+        }
+
+        AnalyticsSnapshot snapshot = new AnalyticsSnapshot();
+        File metricsFile = analyticsPath.resolve("test-metrics.json").toFile();
+        if (metricsFile.exists()) {
+            Map<String, TestMetrics> loadedMetrics = objectMapper.readValue(metricsFile,
+                objectMapper.getTypeFactory().constructMapType(HashMap.class, String.class, TestMetrics.class));
+            snapshot.testMetrics.putAll(loadedMetrics);
+        }
+
+        File sketchesFile = analyticsPath.resolve("latency-sketches.json").toFile();
+        if (sketchesFile.exists()) {
+            LatencySketchStore store = objectMapper.readValue(sketchesFile, LatencySketchStore.class);
+            snapshot.categories.putAll(store.categories);
+            snapshot.steps.putAll(store.steps);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Replace the merged snapshot atomically: write a temporary file and rename it
+     */
+    public void writeSnapshot(AnalyticsSnapshot snapshot) throws IOException {
+        writeSnapshot(objectMapper.writeValueAsBytes(snapshot));
+    }
+
+    public void writeSnapshot(byte[] content) throws IOException {
+        Files.createDirectories(analyticsPath);
+        Path temporaryFile = analyticsPath.resolve(SNAPSHOT_FILE + ".tmp");
+        Files.write(temporaryFile, content);
+        Files.move(temporaryFile, analyticsPath.resolve(SNAPSHOT_FILE),
+            StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        Files.deleteIfExists(analyticsPath.resolve("test-metrics.json"));
+        Files.deleteIfExists(analyticsPath.resolve("latency-sketches.json"));
+    }
+
+    private List<Path> listSegments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        Path segmentsPath = analyticsPath.resolve(SEGMENTS_DIR);
+        if (!Files.isDirectory(segmentsPath)) {
+            return segments;
+        }
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(segmentsPath, Files::isDirectory)) {
+            directories.forEach(segments::add);
+        }
+        segments.sort(Comparator.naturalOrder());
+        return segments;
+    }
+
+    /**
+     * Owner lock of a segment, or null while its fork is still running
+     */
+    private FileChannel tryOwnerLock(Path segmentPath) throws IOException {
+        if (ownedSegments.containsKey(segmentPath.toAbsolutePath().normalize())) {
+            // Written by this JVM; opening and closing another channel on the file would release its lock
+            return null;
+        }
+        FileChannel channel = FileChannel.open(segmentPath.resolve(OWNER_LOCK_FILE),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        try {
+            if (channel.tryLock() != null) {
+                return channel;
+            }
+        } catch (OverlappingFileLockException e) {
+            // Locked elsewhere in this JVM
+        }
+        channel.close();
+        return null;
+    }
+
+    private String readSegmentId(Path segmentPath) throws IOException {
+        Path idFile = segmentPath.resolve(SEGMENT_ID_FILE);
+        return Files.exists(idFile) ? Files.readString(idFile).trim() : null;
+    }
+
+    private void deleteRecursively(Path path) throws IOException {
+        try (Stream<Path> paths = Files.walk(path)) {
+            for (Path file : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+/**
+ * Query over the execution history; unset criteria match everything
+ * Example: failures of checkout tests on staging in the last 7 days
+ * <pre>
+ * HistoryQuery.create().category("Checkout Process").status(ITestResult.FAILURE).environment("staging").lastDays(7)
+ * </pre>
+ */
+public class HistoryQuery {
+
+    String testName;
+    String category;
+    Integer status;
+    String environment;
+    String browser;
+    long from = Long.MIN_VALUE;
+    long to = Long.MAX_VALUE;
+
+    public static HistoryQuery create() {
+        return new HistoryQuery();
+    }
+
+    /**
+     * Fully qualified test name (class name + "." + method name)
+     */
+    public HistoryQuery test(String testName) {
+        this.testName = testName;
+        return this;
+    }
+
+    public HistoryQuery category(String category) {
+        this.category = category;
+        return this;
+    }
+
+    /**
+     * ITestResult status (SUCCESS, FAILURE, SKIP)
+     */
+    public HistoryQuery status(int status) {
+        this.status = status;
+        return this;
+    }
+
+    public HistoryQuery environment(String environment) {
+        this.environment = environment;
+        return this;
+    }
+
+    public HistoryQuery browser(String browser) {
+        this.browser = browser;
+        return this;
+    }
+
+    /**
+     * Results that finished in [from, to) (epoch millis)
+     */
+    public HistoryQuery between(long from, long to) {
+        this.from = from;
+        this.to = to;
+        return this;
+    }
+
+    public HistoryQuery lastDays(int days) {
+        long now = System.currentTimeMillis();
+        return between(now - days * 24L * 60 * 60 * 1000, Long.MAX_VALUE);
+    }
+
+    boolean matches(TestExecutionAnalytics.TestExecutionRecord record) {
+        return (testName == null || testName.equals(record.testName))
+            && (category == null || category.equals(record.category))
+            && (status == null || status == record.status)
+            && (environment == null || environment.equals(record.environment))
+            && (browser == null || browser.equals(record.browser))
+            && record.endTime >= from && record.endTime < to;
+    }
+
+    boolean hasTimeRange() {
+        return from != Long.MIN_VALUE || to != Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,167 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable latency quantile sketch (log-linear histogram in the style of HdrHistogram)
+ * Values below 32 ms are counted exactly; above that each power of two is split into 16 linear buckets,
+ * so any percentile is reported within ~3% of the true value with a few hundred counters at most
+ */
+public class LatencySketch {
+
+    private static final int EXACT_BUCKETS = 32;
+    private static final int SUB_BUCKETS = 16;
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private long[] counts;
+    private long totalCount;
+    private long minValue = Long.MAX_VALUE;
+    private long maxValue;
+
+    public LatencySketch() {
+        this.counts = new long[EXACT_BUCKETS + SUB_BUCKETS];
+    }
+
+    /**
+     * Rebuild a sketch from its compact form: interleaved bucket index / count pairs of the non-empty buckets
+     */
+    @JsonCreator
+    public LatencySketch(@JsonProperty("buckets") long[] buckets,
+                         @JsonProperty("min") long min,
+                         @JsonProperty("max") long max) {
+        this();
+        if (buckets != null) {
+            for (int i = 0; i + 1 < buckets.length; i += 2) {
+                int index = (int) buckets[i];
+                ensureCapacity(index);
+                counts[index] += buckets[i + 1];
+                totalCount += buckets[i + 1];
+            }
+        }
+        if (totalCount > 0) {
+            minValue = min;
+            maxValue = max;
+        }
+    }
+
+    /**
+     * Record a value (negative values are counted as 0)
+     */
+    public synchronized void record(long value) {
+        long clamped = Math.max(value, 0);
+        int index = bucketIndex(clamped);
+        ensureCapacity(index);
+        counts[index]++;
+        totalCount++;
+        minValue = Math.min(minValue, clamped);
+        maxValue = Math.max(maxValue, clamped);
+    }
+
+    /**
+     * Merge another sketch into this one (exact: buckets are aligned across all sketches)
+     */
+    public synchronized void merge(LatencySketch other) {
+        if (other == null) {
+            return;
+        }
+        long[] otherCounts;
+        long otherTotal;
+        long otherMin;
+        long otherMax;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherTotal = other.totalCount;
+            otherMin = other.minValue;
+            otherMax = other.maxValue;
+        }
+        if (otherTotal == 0) {
+            return;
+        }
+        ensureCapacity(otherCounts.length - 1);
+        for (int i = 0; i < otherCounts.length; i++) {
+            counts[i] += otherCounts[i];
+        }
+        totalCount += otherTotal;
+        minValue = Math.min(minValue, otherMin);
+        maxValue = Math.max(maxValue, otherMax);
+    }
+
+    /**
+     * Value at the given percentile (0-100); 0 when the sketch is empty
+     */
+    public synchronized long getValueAtPercentile(double percentile) {
+        if (totalCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(Math.max(percentile, 0.0), 100.0) / 100.0 * totalCount));
+        long seen = 0;
+        for (int index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                // Never report outside the observed range
+                return Math.min(Math.max(representativeValue(index), minValue), maxValue);
+            }
+        }
+        return maxValue;
+    }
+
+    @JsonIgnore
+    public synchronized long getCount() {
+        return totalCount;
+    }
+
+    @JsonProperty("min")
+    public synchronized long getMin() {
+        return totalCount == 0 ? 0 : minValue;
+    }
+
+    @JsonProperty("max")
+    public synchronized long getMax() {
+        return maxValue;
+    }
+
+    /**
+     * Compact form: interleaved bucket index / count pairs of the non-empty buckets
+     */
+    @JsonProperty("buckets")
+    public synchronized long[] getBuckets() {
+        long[] pairs = new long[counts.length * 2];
+        int length = 0;
+        for (int index = 0; index < counts.length; index++) {
+            if (counts[index] > 0) {
+                pairs[length++] = index;
+                pairs[length++] = counts[index];
+            }
+        }
+        return Arrays.copyOf(pairs, length);
+    }
+
+    private void ensureCapacity(int index) {
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length + SUB_BUCKETS));
+        }
+    }
+
+    static int bucketIndex(long value) {
+        if (value < EXACT_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return EXACT_BUCKETS + (shift - 1) * SUB_BUCKETS + (int) ((value >> shift) - SUB_BUCKETS);
+    }
+
+    static long representativeValue(int index) {
+        if (index < EXACT_BUCKETS) {
+            return index;
+        }
+        int offset = index - EXACT_BUCKETS;
+        int shift = offset / SUB_BUCKETS + 1;
+        long lower = (long) (offset % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        long width = 1L << shift;
+        return lower + width / 2;
+    }
+}
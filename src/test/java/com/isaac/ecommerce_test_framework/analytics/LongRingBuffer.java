@@ -0,0 +1,57 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Bounded ring buffer of primitive longs keeping the most recent samples
+ * Serialized as a plain JSON array, oldest sample first
+ */
+public class LongRingBuffer {
+
+    private final long[] samples;
+    private int next;
+    private int size;
+
+    public LongRingBuffer(int capacity) {
+        this.samples = new long[Math.max(capacity, 1)];
+    }
+
+    /**
+     * Add a sample, overwriting the oldest one when full
+     */
+    public void add(long value) {
+        samples[next] = value;
+        next = (next + 1) % samples.length;
+        if (size < samples.length) {
+            size++;
+        }
+    }
+
+    /**
+     * Samples in insertion order, oldest first
+     */
+    @JsonValue
+    public long[] toArray() {
+        long[] result = new long[size];
+        int start = (next - size + samples.length) % samples.length;
+        for (int i = 0; i < size; i++) {
+            result[i] = samples[(start + i) % samples.length];
+        }
+        return result;
+    }
+
+    /**
+     * Most recent sample (0 when empty)
+     */
+    public long getLast() {
+        return size == 0 ? 0 : samples[(next - 1 + samples.length) % samples.length];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return samples.length;
+    }
+}
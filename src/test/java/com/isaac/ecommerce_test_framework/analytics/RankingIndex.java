@@ -0,0 +1,86 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Incrementally maintained ranking of keys by score, highest first
+ * Updates are O(log n); the top K are read in O(K) without locking, so rankings can be queried while a suite runs
+ * Reads are exact once updates stop; during concurrent updates top() is approximate (see top)
+ */
+public class RankingIndex {
+
+    // Inner class for one ranked key; ordered by score descending, then key
+    private static final class Entry implements Comparable<Entry> {
+        private final String key;
+        private final double score;
+
+        private Entry(String key, double score) {
+            this.key = key;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int byScore = Double.compare(other.score, score);
+            return byScore != 0 ? byScore : key.compareTo(other.key);
+        }
+    }
+
+    private final ConcurrentSkipListSet<Entry> ranking = new ConcurrentSkipListSet<>();
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Set the score of a key (writers are expected to be serialized per key)
+     */
+    public void update(String key, double score) {
+        Entry previous = entries.get(key);
+        if (previous != null && previous.score == score) {
+            return;
+        }
+        // The new entry is in the ranking before it becomes current and the old one is only removed after,
+        // so a reader that sees both entries lists the key once (see top)
+        Entry entry = new Entry(key, score);
+        ranking.add(entry);
+        entries.put(key, entry);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+    }
+
+    public void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) {
+            ranking.remove(previous);
+        }
+    }
+
+    /**
+     * The highest ranked keys, at most limit of them
+     */
+    public List<String> top(int limit) {
+        // Each key is listed once, at the first position where its entry was current; an entry that was
+        // replaced is skipped. Approximate under concurrent updates: a key whose score moves above the
+        // iteration point while its old entry is still ahead is missed
+        Set<String> top = new LinkedHashSet<>();
+        for (Entry entry : ranking) {
+            if (top.size() >= limit) {
+                break;
+            }
+            if (entries.get(entry.key) == entry) {
+                top.add(entry.key);
+            }
+        }
+        return new ArrayList<>(top);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public void clear() {
+        ranking.clear();
+        entries.clear();
+    }
+}
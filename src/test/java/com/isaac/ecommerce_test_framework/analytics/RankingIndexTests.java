@@ -0,0 +1,67 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.*;
+
+/**
+ * Tests of RankingIndex against a brute-force ranking (all scores sorted on every query)
+ */
+public class RankingIndexTests {
+
+    private static final int KEYS = 200;
+    private static final int OPERATIONS = 20_000;
+
+    @Test(description = "Top K matches sorting every score after random updates and removals")
+    public void topMatchesBruteForce() {
+        Random random = new Random(17);
+        RankingIndex index = new RankingIndex();
+        Map<String, Double> scores = new HashMap<>();
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            String key = "test" + random.nextInt(KEYS);
+            if (random.nextInt(10) == 0) {
+                index.remove(key);
+                scores.remove(key);
+            } else {
+                // Few distinct scores, so ties are ordered by key
+                double score = random.nextInt(50);
+                index.update(key, score);
+                scores.put(key, score);
+            }
+
+            if (i % 100 == 0) {
+                int limit = 1 + random.nextInt(KEYS + 10);
+                Assert.assertEquals(index.top(limit), bruteForceTop(scores, limit), "Ranking after operation " + i);
+                Assert.assertEquals(index.size(), scores.size());
+            }
+        }
+        Assert.assertEquals(index.top(Integer.MAX_VALUE), bruteForceTop(scores, Integer.MAX_VALUE));
+    }
+
+    @Test(description = "Updating a key to the same score keeps its position")
+    public void unchangedScoreIsNoOp() {
+        RankingIndex index = new RankingIndex();
+        index.update("a", 2);
+        index.update("b", 1);
+        index.update("a", 2);
+        Assert.assertEquals(index.top(10), List.of("a", "b"));
+
+        index.update("b", 3);
+        Assert.assertEquals(index.top(10), List.of("b", "a"));
+        index.clear();
+        Assert.assertEquals(index.top(10), List.of());
+        Assert.assertEquals(index.size(), 0);
+    }
+
+    private static List<String> bruteForceTop(Map<String, Double> scores, int limit) {
+        List<Map.Entry<String, Double>> sorted = new ArrayList<>(scores.entrySet());
+        sorted.sort(Map.Entry.<String, Double>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        List<String> top = new ArrayList<>();
+        for (Map.Entry<String, Double> entry : sorted.subList(0, Math.min(limit, sorted.size()))) {
+            top.add(entry.getKey());
+        }
+        return top;
+    }
+}
@@ -0,0 +1,76 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.*;
+
+/**
+ * Renders HTML reports on a background thread so suite teardown does not wait for them
+ * Reports are written to target/test-analytics/reports; pending reports are finished before the JVM exits
+ */
+public class ReportRenderer {
+
+    // Writes a report into a directory and returns its first page
+    public interface ReportTask {
+        Path render(Path directory) throws IOException;
+    }
+
+    private static final Path REPORTS_PATH = Paths.get("target", "test-analytics", "reports");
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 60;
+
+    private static ReportRenderer instance;
+    private final ExecutorService executor;
+
+    private ReportRenderer() {
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-renderer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> awaitPending(SHUTDOWN_TIMEOUT_SECONDS * 1000),
+            "report-renderer-shutdown"));
+    }
+
+    public static synchronized ReportRenderer getInstance() {
+        if (instance == null) {
+            instance = new ReportRenderer();
+        }
+        return instance;
+    }
+
+    /**
+     * Queue a report; reports are rendered one at a time in submission order
+     */
+    public Future<Path> render(String name, ReportTask task) {
+        return executor.submit(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                Path firstPage = task.render(REPORTS_PATH);
+                System.out.println("Report: " + name + " written to " + firstPage + " in "
+                    + (System.currentTimeMillis() - start) + " ms");
+                return firstPage;
+            } catch (IOException | RuntimeException e) {
+                System.out.println("Warning: Could not render " + name + ": " + e.getMessage());
+                throw e;
+            }
+        });
+    }
+
+    /**
+     * Wait until every queued report is written; returns false on timeout
+     */
+    public boolean awaitPending(long timeoutMillis) {
+        try {
+            return executor.submit(() -> { }).get(timeoutMillis, TimeUnit.MILLISECONDS) == null;
+        } catch (RejectedExecutionException | ExecutionException e) {
+            return true;
+        } catch (TimeoutException e) {
+            System.out.println("Warning: Reports still rendering after " + timeoutMillis + " ms");
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
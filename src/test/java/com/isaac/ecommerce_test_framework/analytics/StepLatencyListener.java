@@ -0,0 +1,19 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+/**
+ * Allure lifecycle listener feeding the duration of every @Step into the step latency sketches
+ * Registered through META-INF/services/io.qameta.allure.listener.LifecycleListener
+ */
+public class StepLatencyListener implements StepLifecycleListener {
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        if (result.getName() != null && result.getStart() != null && result.getStop() != null) {
+            AnalyticsIngestionPipeline.getInstance().submitStepDuration(result.getName(),
+                result.getStop() - result.getStart(), result.getStop());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Streaming HTML report writer
+ * Content is written to the output as it is produced instead of being built in memory. Every report section
+ * is capped at sectionMaxRows table rows; with a page size, table rows are split over name.html, name-page-2.html, ...
+ * with navigation links, each page repeating the header of the table it continues
+ */
+public class StreamingReportWriter implements Closeable {
+
+    private static final String BASE_STYLE = "body{font-family:Arial,sans-serif;margin:20px;}"
+        + "table{border-collapse:collapse;width:100%;margin:10px 0;}"
+        + "th,td{border:1px solid #ddd;padding:8px;text-align:left;}"
+        + "th{background-color:#f2f2f2;}";
+
+    private final Path directory;
+    private final String baseName;
+    private final int pageRows;
+    private final int sectionMaxRows;
+
+    private Writer out;
+    private String title;
+    private String style;
+    private int page = 1;
+    private int pageRowCount;
+    private String[] tableHeaders;
+    private int sectionRows;
+    private int sectionOffered;
+
+    /**
+     * Single page written to a stream (e.g. an attachment)
+     */
+    public StreamingReportWriter(Writer out, int sectionMaxRows) {
+        this.directory = null;
+        this.baseName = null;
+        this.pageRows = Integer.MAX_VALUE;
+        this.sectionMaxRows = sectionMaxRows;
+        this.out = out;
+    }
+
+    /**
+     * Paginated report written to directory/baseName.html, baseName-page-2.html, ...
+     */
+    public StreamingReportWriter(Path directory, String baseName, int pageRows, int sectionMaxRows) throws IOException {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.pageRows = Math.max(pageRows, 1);
+        this.sectionMaxRows = sectionMaxRows;
+        Files.createDirectories(directory);
+        // Pages left over from a longer previous report
+        try (DirectoryStream<Path> stalePages = Files.newDirectoryStream(directory, baseName + "-page-*.html")) {
+            for (Path stalePage : stalePages) {
+                Files.deleteIfExists(stalePage);
+            }
+        }
+        this.out = openPage(1);
+    }
+
+    /**
+     * First page of a paginated report
+     */
+    public static Path firstPage(Path directory, String baseName) {
+        return directory.resolve(baseName + ".html");
+    }
+
+    /**
+     * The top rows of a collection by an order, selected in O(n log limit) without sorting the whole collection
+     */
+    public static <T> List<T> top(Collection<T> values, Comparator<? super T> order, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        PriorityQueue<T> heap = new PriorityQueue<>(Math.min(values.size(), limit) + 1, order.reversed());
+        for (T value : values) {
+            heap.add(value);
+            if (heap.size() > limit) {
+                heap.poll();
+            }
+        }
+        List<T> top = new ArrayList<>(heap);
+        top.sort(order);
+        return top;
+    }
+
+    public int getSectionMaxRows() {
+        return sectionMaxRows;
+    }
+
+    public void begin(String title, String style) throws IOException {
+        this.title = title;
+        this.style = style;
+        writeHead();
+        out.write("<h1>" + escape(title) + "</h1>");
+    }
+
+    public void heading(String text) throws IOException {
+        out.write("<h2>" + escape(text) + "</h2>");
+    }
+
+    public void paragraph(String label, Object value) throws IOException {
+        out.write("<p><strong>" + escape(label) + ":</strong> " + escape(value) + "</p>");
+    }
+
+    public void beginList() throws IOException {
+        out.write("<ul>");
+    }
+
+    public void listItem(String label, Object value) throws IOException {
+        out.write("<li><strong>" + escape(label) + ":</strong> " + escape(value) + "</li>");
+    }
+
+    public void endList() throws IOException {
+        out.write("</ul>");
+    }
+
+    public void beginTable(String... headers) throws IOException {
+        tableHeaders = headers;
+        sectionRows = 0;
+        sectionOffered = 0;
+        writeTableHeader();
+    }
+
+    /**
+     * Write a table row; returns false once the section cap is reached (the row is counted as omitted)
+     */
+    public boolean row(String cssClass, Object... cells) throws IOException {
+        sectionOffered++;
+        if (sectionRows >= sectionMaxRows) {
+            return false;
+        }
+        if (pageRowCount >= pageRows) {
+            nextPage();
+        }
+        out.write(cssClass == null || cssClass.isEmpty() ? "<tr>" : "<tr class='" + escape(cssClass) + "'>");
+        for (Object cell : cells) {
+            out.write("<td>" + escape(cell) + "</td>");
+        }
+        out.write("</tr>");
+        sectionRows++;
+        pageRowCount++;
+        return true;
+    }
+
+    public void endTable() throws IOException {
+        endTable(sectionOffered);
+    }
+
+    /**
+     * Close the table; totalRows is the size of the section when only its top rows were offered
+     */
+    public void endTable(int totalRows) throws IOException {
+        out.write("</table>");
+        if (totalRows > sectionRows) {
+            out.write("<p><em>" + (totalRows - sectionRows) + " more rows not shown (reporting.section.max.rows="
+                + sectionMaxRows + ")</em></p>");
+        }
+        tableHeaders = null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeFooter(false);
+        out.flush();
+        if (directory != null) {
+            out.close();
+        }
+    }
+
+    private void nextPage() throws IOException {
+        if (directory == null) {
+            return;
+        }
+        out.write("</table>");
+        writeFooter(true);
+        out.close();
+        page++;
+        pageRowCount = 0;
+        out = openPage(page);
+        writeHead();
+        out.write("<h1>" + escape(title) + " (page " + page + ")</h1>");
+        out.write("<p><a href='" + pageName(page - 1) + "'>Previous page</a></p>");
+        writeTableHeader();
+    }
+
+    private Writer openPage(int pageNumber) throws IOException {
+        return Files.newBufferedWriter(directory.resolve(pageName(pageNumber)), StandardCharsets.UTF_8);
+    }
+
+    private String pageName(int pageNumber) {
+        return pageNumber == 1 ? baseName + ".html" : baseName + "-page-" + pageNumber + ".html";
+    }
+
+    private void writeHead() throws IOException {
+        out.write("<html><head><title>" + escape(title) + "</title><style>" + BASE_STYLE
+            + (style != null ? style : "") + "</style></head><body>");
+    }
+
+    private void writeTableHeader() throws IOException {
+        if (tableHeaders == null) {
+            return;
+        }
+        out.write("<table><tr>");
+        for (String header : tableHeaders) {
+            out.write("<th>" + escape(header) + "</th>");
+        }
+        out.write("</tr>");
+    }
+
+    private void writeFooter(boolean hasNextPage) throws IOException {
+        if (hasNextPage) {
+            out.write("<p><a href='" + pageName(page + 1) + "'>Next page</a></p>");
+        }
+        out.write("</body></html>");
+    }
+
+    private static String escape(Object value) {
+        String text = String.valueOf(value);
+        StringBuilder escaped = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '\'':
+                    escaped.append("&#39;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+}
@@ -0,0 +1,93 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Online statistics over a stream of samples, updated in O(1) per sample
+ * Mean and variance use Welford's algorithm; two instances can be merged (Chan et al.)
+ * so statistics from forks and runs combine without the raw samples
+ */
+public class StreamingStatistics {
+
+    public static final double DEFAULT_EWMA_ALPHA = 0.2;
+
+    public long count;
+    public double mean;
+    public double m2;
+    public double min = Double.NaN;
+    public double max = Double.NaN;
+    public double ewma = Double.NaN;
+    public double ewmaAlpha = DEFAULT_EWMA_ALPHA;
+
+    /**
+     * Add a sample
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+
+        min = count == 1 ? value : Math.min(min, value);
+        max = count == 1 ? value : Math.max(max, value);
+        ewma = count == 1 ? value : ewmaAlpha * value + (1 - ewmaAlpha) * ewma;
+    }
+
+    /**
+     * Merge another instance into this one
+     * other must hold the later samples: its EWMA is kept as the EWMA of the merged stream
+     */
+    public void merge(StreamingStatistics other) {
+        if (other == null || other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            min = other.min;
+            max = other.max;
+            ewma = other.ewma;
+            ewmaAlpha = other.ewmaAlpha;
+            return;
+        }
+
+        long mergedCount = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / mergedCount;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / mergedCount);
+        count = mergedCount;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        ewma = other.ewma;
+    }
+
+    /**
+     * Population variance (0 with fewer than two samples)
+     */
+    @JsonIgnore
+    public double getVariance() {
+        return count < 2 ? 0.0 : m2 / count;
+    }
+
+    /**
+     * Sample variance (0 with fewer than two samples)
+     */
+    @JsonIgnore
+    public double getSampleVariance() {
+        return count < 2 ? 0.0 : m2 / (count - 1);
+    }
+
+    @JsonIgnore
+    public double getStandardDeviation() {
+        return Math.sqrt(getVariance());
+    }
+
+    /**
+     * Coefficient of variation (standard deviation / mean)
+     */
+    @JsonIgnore
+    public double getCoefficientOfVariation() {
+        return mean == 0 ? 0.0 : getStandardDeviation() / mean;
+    }
+}
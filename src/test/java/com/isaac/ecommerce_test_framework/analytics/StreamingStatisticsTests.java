@@ -0,0 +1,144 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Random;
+
+/**
+ * Unit tests of StreamingStatistics and LongRingBuffer
+ * Streaming results must match the two-pass computation over the same samples
+ */
+public class StreamingStatisticsTests {
+
+    private static final double EPSILON = 1e-9;
+
+    @Test(description = "Mean and variance match the two-pass computation")
+    public void varianceMatchesTwoPass() {
+        double[] samples = randomSamples(1000, 7);
+        StreamingStatistics stats = new StreamingStatistics();
+        for (double sample : samples) {
+            stats.add(sample);
+        }
+
+        double mean = 0;
+        for (double sample : samples) {
+            mean += sample;
+        }
+        mean /= samples.length;
+        double squares = 0;
+        for (double sample : samples) {
+            squares += (sample - mean) * (sample - mean);
+        }
+
+        Assert.assertEquals(stats.count, samples.length);
+        Assert.assertEquals(stats.mean, mean, EPSILON * Math.abs(mean));
+        Assert.assertEquals(stats.getVariance(), squares / samples.length, EPSILON * squares);
+        Assert.assertEquals(stats.getSampleVariance(), squares / (samples.length - 1), EPSILON * squares);
+    }
+
+    @Test(description = "Variance is 0 with fewer than two samples")
+    public void varianceOfSingleSample() {
+        StreamingStatistics stats = new StreamingStatistics();
+        Assert.assertEquals(stats.getVariance(), 0.0);
+        stats.add(42);
+        Assert.assertEquals(stats.getVariance(), 0.0);
+        Assert.assertEquals(stats.getSampleVariance(), 0.0);
+        Assert.assertEquals(stats.min, 42.0);
+        Assert.assertEquals(stats.max, 42.0);
+        Assert.assertEquals(stats.ewma, 42.0);
+    }
+
+    @Test(description = "Merging two halves gives the statistics of the whole stream")
+    public void mergeMatchesSingleStream() {
+        double[] samples = randomSamples(500, 11);
+        StreamingStatistics whole = new StreamingStatistics();
+        StreamingStatistics first = new StreamingStatistics();
+        StreamingStatistics second = new StreamingStatistics();
+        for (int i = 0; i < samples.length; i++) {
+            whole.add(samples[i]);
+            (i < 200 ? first : second).add(samples[i]);
+        }
+
+        first.merge(second);
+
+        Assert.assertEquals(first.count, whole.count);
+        Assert.assertEquals(first.mean, whole.mean, EPSILON * Math.abs(whole.mean));
+        Assert.assertEquals(first.m2, whole.m2, EPSILON * whole.m2);
+        Assert.assertEquals(first.min, whole.min);
+        Assert.assertEquals(first.max, whole.max);
+        Assert.assertEquals(first.ewma, second.ewma);
+    }
+
+    @Test(description = "Merging into an empty instance copies every field, including the EWMA weight")
+    public void mergeIntoEmptyCopiesEwmaAlpha() {
+        StreamingStatistics source = new StreamingStatistics();
+        source.ewmaAlpha = 0.5;
+        source.add(10);
+        source.add(20);
+
+        StreamingStatistics target = new StreamingStatistics();
+        target.merge(source);
+
+        Assert.assertEquals(target.count, 2);
+        Assert.assertEquals(target.mean, 15.0);
+        Assert.assertEquals(target.getVariance(), source.getVariance());
+        Assert.assertEquals(target.ewma, source.ewma);
+        Assert.assertEquals(target.ewmaAlpha, 0.5);
+
+        // Later samples are smoothed with the copied weight
+        target.add(30);
+        source.add(30);
+        Assert.assertEquals(target.ewma, source.ewma);
+    }
+
+    @Test(description = "Merging an empty or missing instance changes nothing")
+    public void mergeEmptyIsNoOp() {
+        StreamingStatistics stats = new StreamingStatistics();
+        stats.add(1);
+        stats.add(3);
+        stats.merge(new StreamingStatistics());
+        stats.merge(null);
+
+        Assert.assertEquals(stats.count, 2);
+        Assert.assertEquals(stats.mean, 2.0);
+        Assert.assertEquals(stats.getVariance(), 1.0);
+    }
+
+    @Test(description = "The ring buffer keeps the most recent samples, oldest first, after wrapping around")
+    public void ringBufferWrapsAround() {
+        LongRingBuffer buffer = new LongRingBuffer(3);
+        Assert.assertEquals(buffer.toArray(), new long[0]);
+        Assert.assertEquals(buffer.getLast(), 0);
+
+        buffer.add(1);
+        buffer.add(2);
+        Assert.assertEquals(buffer.toArray(), new long[] {1, 2});
+
+        for (long value = 3; value <= 7; value++) {
+            buffer.add(value);
+        }
+        Assert.assertEquals(buffer.size(), 3);
+        Assert.assertEquals(buffer.capacity(), 3);
+        Assert.assertEquals(buffer.toArray(), new long[] {5, 6, 7});
+        Assert.assertEquals(buffer.getLast(), 7);
+    }
+
+    @Test(description = "A ring buffer never has less than one slot")
+    public void ringBufferMinimumCapacity() {
+        LongRingBuffer buffer = new LongRingBuffer(0);
+        buffer.add(4);
+        buffer.add(9);
+        Assert.assertEquals(buffer.capacity(), 1);
+        Assert.assertEquals(buffer.toArray(), new long[] {9});
+    }
+
+    private static double[] randomSamples(int count, long seed) {
+        Random random = new Random(seed);
+        double[] samples = new double[count];
+        for (int i = 0; i < count; i++) {
+            samples[i] = 500 + random.nextGaussian() * 120;
+        }
+        return samples;
+    }
+}
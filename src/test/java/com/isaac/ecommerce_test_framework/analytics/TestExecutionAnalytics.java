@@ -1,21 +1,25 @@
 package com.isaac.ecommerce_test_framework.analytics;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.isaac.ecommerce_test_framework.config.ConfigManager;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import org.testng.ITestResult;
 
-import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -32,9 +36,17 @@ public class TestExecutionAnalytics {
         public final String errorMessage;
         public final String category;
         public final String priority;
+        public final String environment;
+        public final String browser;
 
         public TestExecutionRecord(String testName, int status, long startTime, long endTime,
                                  String errorMessage, String category, String priority) {
+            this(testName, status, startTime, endTime, errorMessage, category, priority, null, null);
+        }
+
+        public TestExecutionRecord(String testName, int status, long startTime, long endTime,
+                                 String errorMessage, String category, String priority,
+                                 String environment, String browser) {
             this.testName = testName;
             this.status = status;
             this.startTime = startTime;
@@ -42,6 +54,8 @@ public class TestExecutionAnalytics {
             this.errorMessage = errorMessage;
             this.category = category;
             this.priority = priority;
+            this.environment = environment;
+            this.browser = browser;
         }
     }
 
@@ -55,13 +69,107 @@ public class TestExecutionAnalytics {
         public double averageExecutionTime;
         public long lastExecutionTime;
         public TestStability stability;
-        public final List<Long> executionTimes;
+        public long blockedRequests;
+        public long blockedBytes;
+        public final StreamingStatistics executionStats;
+        public final LongRingBuffer recentExecutionTimes;
+        public final LatencySketch latencySketch;
+        // Changepoint detection on the execution time series
+        public DurationChangeDetector durationTrend = new DurationChangeDetector();
 
-        public TestMetrics(String testName) {
+        @JsonCreator
+        public TestMetrics(@JsonProperty("testName") String testName) {
             this.testName = testName;
-            this.executionTimes = new ArrayList<>();
+            this.executionStats = new StreamingStatistics();
+            this.recentExecutionTimes = new LongRingBuffer(ConfigManager.getInstance().getAnalyticsRecentSamples());
+            this.latencySketch = new LatencySketch();
             this.stability = TestStability.INSUFFICIENT_DATA;
         }
+
+        /**
+         * Record one execution time in O(1)
+         */
+        public void addExecutionTime(long executionTime) {
+            executionStats.add(executionTime);
+            recentExecutionTimes.add(executionTime);
+            latencySketch.record(executionTime);
+            averageExecutionTime = executionStats.mean;
+        }
+
+        /**
+         * Deep copy, used to publish an immutable snapshot for concurrent readers
+         */
+        public TestMetrics copy() {
+            TestMetrics copy = new TestMetrics(testName);
+            copy.totalExecutions = totalExecutions;
+            copy.successCount = successCount;
+            copy.failureCount = failureCount;
+            copy.skipCount = skipCount;
+            copy.successRate = successRate;
+            copy.averageExecutionTime = averageExecutionTime;
+            copy.lastExecutionTime = lastExecutionTime;
+            copy.stability = stability;
+            copy.blockedRequests = blockedRequests;
+            copy.blockedBytes = blockedBytes;
+            copy.executionStats.merge(executionStats);
+            copy.executionStats.ewmaAlpha = executionStats.ewmaAlpha;
+            copy.setRecentExecutionTimes(recentExecutionTimes.toArray());
+            copy.latencySketch.merge(latencySketch);
+            copy.durationTrend = durationTrend.copy();
+            return copy;
+        }
+
+        /**
+         * Execution time at a percentile (0-100)
+         */
+        public long getPercentile(double percentile) {
+            return latencySketch.getValueAtPercentile(percentile);
+        }
+
+        @JsonSetter("latencySketch")
+        private void setLatencySketch(LatencySketch sketch) {
+            latencySketch.merge(sketch);
+        }
+
+        @JsonSetter("executionStats")
+        private void setExecutionStats(StreamingStatistics stats) {
+            executionStats.merge(stats);
+        }
+
+        @JsonSetter("recentExecutionTimes")
+        private void setRecentExecutionTimes(long[] executionTimes) {
+            for (long executionTime : executionTimes) {
+                recentExecutionTimes.add(executionTime);
+            }
+        }
+
+        /**
+         * Read the raw execution time list of the previous metrics format
+         */
+        @JsonSetter("executionTimes")
+        private void setLegacyExecutionTimes(List<Long> executionTimes) {
+            for (long executionTime : executionTimes) {
+                addExecutionTime(executionTime);
+            }
+        }
+    }
+
+    // Persisted latency sketches that are not tied to a single test (previous persistence format)
+    public static class LatencySketchStore {
+        public Map<String, LatencySketch> categories = new HashMap<>();
+        public Map<String, LatencySketch> steps = new HashMap<>();
+    }
+
+    // Snapshot of the analytics state; contains every event of the logs before its generation
+    public static class AnalyticsSnapshot {
+        public int generation;
+        public long createdAt;
+        public Map<String, TestMetrics> testMetrics = new HashMap<>();
+        public Map<String, LatencySketch> categories = new HashMap<>();
+        public Map<String, LatencySketch> steps = new HashMap<>();
+        public Map<String, DurationChangeDetector> stepTrends = new HashMap<>();
+        // Fork segment id -> first log generation of that segment not yet merged into this snapshot
+        public Map<String, Integer> mergedSegments = new HashMap<>();
     }
 
     public enum TestStability {
@@ -83,22 +191,167 @@ public class TestExecutionAnalytics {
         }
     }
 
+    // Row of the Performance Regressions report section
+    private static class RegressionRow {
+        private final String name;
+        private final String type;
+        private final DurationChangeDetector.Regression regression;
+
+        private RegressionRow(String name, String type, DurationChangeDetector.Regression regression) {
+            this.name = name;
+            this.type = type;
+            this.regression = regression;
+        }
+    }
+
+    // Per-thread buffer of @Step durations; a full buffer is handed on as a StepBatch, the rest is merged at suite end
+    private static class StepBuffer {
+        private String[] names = new String[STEP_BUFFER_SIZE];
+        private long[] durations = new long[STEP_BUFFER_SIZE];
+        private long[] times = new long[STEP_BUFFER_SIZE];
+        private int size;
+    }
+
+    /**
+     * Full buffer of @Step durations taken from a thread, merged with mergeStepBatch
+     */
+    public static final class StepBatch {
+        private final String[] names;
+        private final long[] durations;
+        private final long[] times;
+        private final int size;
+
+        private StepBatch(String[] names, long[] durations, long[] times, int size) {
+            this.names = names;
+            this.durations = durations;
+            this.times = times;
+            this.size = size;
+        }
+    }
+
+    private static final Path ANALYTICS_PATH = Paths.get("target", "test-analytics");
+    private static final int STEP_BUFFER_SIZE = 256;
+    // Percentiles with a maintained ranking; other percentiles are ranked on demand
+    private static final double[] INDEXED_PERCENTILES = {50.0, 95.0, 99.0};
+    // Minimum executions before a test is ranked by failure rate
+    private static final int MIN_EXECUTIONS_FOR_FAILURE_RANKING = 3;
+
     private static TestExecutionAnalytics instance;
     private final ObjectMapper objectMapper;
-    private final Map<String, TestExecutionRecord> executionHistory;
+    // Every recorded and replayed execution, indexed for queries
+    private final ExecutionHistoryStore executionHistory;
+    // Executions recorded by this run (the history also holds replayed ones)
+    private final AtomicLong runExecutions = new AtomicLong();
+    // Long-term history on disk and the executions of this run not yet written to it (guarded by stateLock)
+    private final ColumnarHistoryStore longTermHistory;
+    private List<TestExecutionRecord> unpersistedHistory = new ArrayList<>();
+    // Working metrics, only mutated under stateLock
     private final Map<String, TestMetrics> testMetrics;
+    // Immutable copies of the working metrics, replaced after every update so readers never take a lock
+    private final Map<String, TestMetrics> publishedMetrics;
+    private final Map<String, LatencySketch> categorySketches;
+    private final Map<String, LatencySketch> stepSketches;
+    // Changepoint detection per @Step (only mutated under stateLock) and the regressions it currently reports
+    private final Map<String, DurationChangeDetector> stepTrends = new HashMap<>();
+    private final Map<String, DurationChangeDetector.Regression> stepRegressions = new ConcurrentHashMap<>();
+    private final double regressionTolerance;
+    private final double regressionThreshold;
+    private final double regressionMinSlowdown;
+    // Rankings and stability buckets, updated with every published metrics snapshot
+    private final RankingIndex slowestIndex = new RankingIndex();
+    private final RankingIndex mostFailingIndex = new RankingIndex();
+    private final Map<Double, RankingIndex> percentileIndexes = new HashMap<>();
+    private final Map<TestStability, Set<String>> stabilityBuckets = new EnumMap<>(TestStability.class);
+    private final Map<String, TestStability> stabilityOf = new ConcurrentHashMap<>();
     private final ConfigManager config;
 
+    {
+        for (double percentile : INDEXED_PERCENTILES) {
+            percentileIndexes.put(percentile, new RankingIndex());
+        }
+        for (TestStability stability : TestStability.values()) {
+            stabilityBuckets.put(stability, ConcurrentHashMap.newKeySet());
+        }
+    }
+    // Serializes appends to the event log with the in-memory updates, so a snapshot never misses or repeats an event
+    private final Object stateLock = new Object();
+    private final ExecutionEventLog eventLog;
+    private boolean eventLogOpen;
+    private final ForkSegmentMerger merger;
+    // Surefire fork number, null when running in a single JVM
+    private final String forkNumber;
+    private final String segmentId;
+    private final Path segmentPath;
+    private final Map<String, Integer> mergedSegments = new ConcurrentHashMap<>();
+    private final Queue<StepBuffer> stepBuffers = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<StepBuffer> threadStepBuffer = ThreadLocal.withInitial(() -> {
+        StepBuffer buffer = new StepBuffer();
+        stepBuffers.add(buffer);
+        return buffer;
+    });
+
     private TestExecutionAnalytics() {
+        this(ANALYTICS_PATH);
+    }
+
+    /**
+     * Analytics persisted in the given directory (isolated instances are used by the concurrency tests)
+     */
+    TestExecutionAnalytics(Path analyticsPath) {
+        this(analyticsPath, ConfigManager.getInstance().getAnalyticsForkNumber());
+    }
+
+    /**
+     * Analytics persisted in the given directory; with a fork number events go to a per-fork segment
+     */
+    TestExecutionAnalytics(Path analyticsPath, String forkNumber) {
         this.objectMapper = new ObjectMapper();
-        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
-        this.executionHistory = new ConcurrentHashMap<>();
+        this.executionHistory = new ExecutionHistoryStore();
         this.testMetrics = new ConcurrentHashMap<>();
+        this.publishedMetrics = new ConcurrentHashMap<>();
+        this.categorySketches = new ConcurrentHashMap<>();
+        this.stepSketches = new ConcurrentHashMap<>();
         this.config = ConfigManager.getInstance();
+        this.regressionTolerance = config.getRegressionTolerance();
+        this.regressionThreshold = config.getRegressionThreshold();
+        this.regressionMinSlowdown = config.getRegressionMinSlowdown();
+        this.merger = new ForkSegmentMerger(analyticsPath);
+        this.forkNumber = forkNumber;
+        this.segmentId = UUID.randomUUID().toString();
+        this.segmentPath = forkNumber == null ? analyticsPath : merger.getSegmentPath(forkNumber, segmentId);
+        this.eventLog = new ExecutionEventLog(segmentPath);
+        this.longTermHistory = new ColumnarHistoryStore(analyticsPath.resolve("history"));
         loadHistoricalData();
     }
 
-    public static TestExecutionAnalytics getInstance() {
+    /**
+     * In-memory analytics over a snapshot, used to fold fork segments into the merged history
+     */
+    private TestExecutionAnalytics(AnalyticsSnapshot snapshot) {
+        this.objectMapper = new ObjectMapper();
+        this.executionHistory = new ExecutionHistoryStore();
+        this.testMetrics = new ConcurrentHashMap<>(snapshot.testMetrics);
+        this.publishedMetrics = new ConcurrentHashMap<>();
+        this.categorySketches = new ConcurrentHashMap<>(snapshot.categories);
+        this.stepSketches = new ConcurrentHashMap<>(snapshot.steps);
+        loadStepTrends(snapshot.stepTrends);
+        this.config = ConfigManager.getInstance();
+        this.regressionTolerance = config.getRegressionTolerance();
+        this.regressionThreshold = config.getRegressionThreshold();
+        this.regressionMinSlowdown = config.getRegressionMinSlowdown();
+        this.merger = null;
+        this.forkNumber = null;
+        this.segmentId = null;
+        this.segmentPath = null;
+        this.eventLog = null;
+        this.longTermHistory = null;
+    }
+
+    static TestExecutionAnalytics forMerge(AnalyticsSnapshot snapshot) {
+        return new TestExecutionAnalytics(snapshot);
+    }
+
+    public static synchronized TestExecutionAnalytics getInstance() {
         if (instance == null) {
             instance = new TestExecutionAnalytics();
         }
@@ -109,33 +362,40 @@ public class TestExecutionAnalytics {
      * Record test execution result
      */
     public void recordTestResult(ITestResult result) {
-        String testName = getTestName(result);
-        String className = result.getTestClass().getName();
-        String fullTestName = className + "." + testName;
+        recordTestResult(TestResultEvent.from(result));
+    }
+
+    /**
+     * Record a captured test execution result
+     */
+    public void recordTestResult(TestResultEvent event) {
+        String fullTestName = event.testName;
 
         TestExecutionRecord record = new TestExecutionRecord(
             fullTestName,
-            result.getStatus(),
-            result.getStartMillis(),
-            result.getEndMillis(),
-            result.getThrowable() != null ? result.getThrowable().getMessage() : null,
-            getTestCategory(result),
-            getTestPriority(result)
+            event.status,
+            event.startMillis,
+            event.endMillis,
+            event.errorMessage,
+            event.category,
+            event.priority,
+            event.environment,
+            event.browser
         );
 
-        executionHistory.put(fullTestName + "_" + System.currentTimeMillis(), record);
-        updateTestMetrics(fullTestName, record);
-
-        // Save to file periodically
-        if (executionHistory.size() % 10 == 0) {
-            saveHistoricalData();
+        synchronized (stateLock) {
+            appendToLog(() -> eventLog.appendTestResult(record));
+            executionHistory.add(record);
+            unpersistedHistory.add(record);
+            runExecutions.incrementAndGet();
+            publish(updateTestMetrics(fullTestName, record));
         }
     }
 
     /**
      * Update test metrics with new execution data
      */
-    private void updateTestMetrics(String testName, TestExecutionRecord record) {
+    private TestMetrics updateTestMetrics(String testName, TestExecutionRecord record) {
         TestMetrics metrics = testMetrics.computeIfAbsent(testName, k -> new TestMetrics(testName));
 
         metrics.totalExecutions++;
@@ -155,17 +415,172 @@ public class TestExecutionAnalytics {
 
         // Calculate execution time statistics
         long executionTime = record.endTime - record.startTime;
-        metrics.executionTimes.add(executionTime);
-        metrics.averageExecutionTime = metrics.executionTimes.stream()
-            .mapToLong(Long::longValue)
-            .average()
-            .orElse(0.0);
+        metrics.addExecutionTime(executionTime);
+        // Failures and skips end early or time out, so only passing runs describe how long the test takes
+        if (record.status == ITestResult.SUCCESS) {
+            metrics.durationTrend.add(executionTime, metrics.totalExecutions, record.endTime,
+                regressionTolerance, regressionThreshold, regressionMinSlowdown);
+        }
+        categorySketches.computeIfAbsent(record.category, k -> new LatencySketch()).record(executionTime);
 
         // Calculate success rate
         metrics.successRate = (double) metrics.successCount / metrics.totalExecutions * 100.0;
 
         // Determine stability classification
         metrics.stability = calculateStability(metrics);
+        return metrics;
+    }
+
+    private void publish(TestMetrics metrics) {
+        TestMetrics snapshot = metrics.copy();
+        publishedMetrics.put(metrics.testName, snapshot);
+        updateIndexes(snapshot);
+    }
+
+    /**
+     * Move a test to its new place in the rankings and stability buckets
+     */
+    private void updateIndexes(TestMetrics metrics) {
+        String testName = metrics.testName;
+        slowestIndex.update(testName, metrics.averageExecutionTime);
+        percentileIndexes.forEach((percentile, index) -> index.update(testName, metrics.getPercentile(percentile)));
+
+        if (metrics.totalExecutions >= MIN_EXECUTIONS_FOR_FAILURE_RANKING) {
+            mostFailingIndex.update(testName, (double) metrics.failureCount / metrics.totalExecutions);
+        } else {
+            mostFailingIndex.remove(testName);
+        }
+
+        // Add to the new bucket before leaving the old one, so readers always find the test
+        TestStability previous = stabilityOf.put(testName, metrics.stability);
+        stabilityBuckets.get(metrics.stability).add(testName);
+        if (previous != null && previous != metrics.stability) {
+            stabilityBuckets.get(previous).remove(testName);
+        }
+    }
+
+    private void clearIndexes() {
+        slowestIndex.clear();
+        mostFailingIndex.clear();
+        percentileIndexes.values().forEach(RankingIndex::clear);
+        stabilityBuckets.values().forEach(Set::clear);
+        stabilityOf.clear();
+    }
+
+    /**
+     * Record the duration of an Allure @Step, merging a full buffer on the calling thread
+     * Test threads go through AnalyticsIngestionPipeline.submitStepDuration instead
+     */
+    public void recordStepDuration(String stepName, long duration) {
+        StepBatch batch = bufferStepDuration(stepName, duration, System.currentTimeMillis());
+        if (batch != null) {
+            mergeStepBatch(batch);
+        }
+    }
+
+    /**
+     * Buffer the duration of an Allure @Step per thread, so concurrent steps do not contend; time is when it ran
+     * Returns the buffered durations once the buffer is full (the caller passes them to mergeStepBatch), else null
+     */
+    public StepBatch bufferStepDuration(String stepName, long duration, long time) {
+        StepBuffer buffer = threadStepBuffer.get();
+        synchronized (buffer) {
+            buffer.names[buffer.size] = stepName;
+            buffer.durations[buffer.size] = duration;
+            buffer.times[buffer.size] = time;
+            if (++buffer.size < STEP_BUFFER_SIZE) {
+                return null;
+            }
+            StepBatch batch = new StepBatch(buffer.names, buffer.durations, buffer.times, buffer.size);
+            buffer.names = new String[STEP_BUFFER_SIZE];
+            buffer.durations = new long[STEP_BUFFER_SIZE];
+            buffer.times = new long[STEP_BUFFER_SIZE];
+            buffer.size = 0;
+            return batch;
+        }
+    }
+
+    /**
+     * Merge a full step buffer into the step sketches and trends
+     */
+    public void mergeStepBatch(StepBatch batch) {
+        synchronized (stateLock) {
+            for (int i = 0; i < batch.size; i++) {
+                mergeStepDuration(batch.names[i], batch.durations[i], batch.times[i]);
+            }
+        }
+    }
+
+    /**
+     * Merge the step durations buffered by every thread
+     */
+    public void mergeThreadBuffers() {
+        for (StepBuffer buffer : stepBuffers) {
+            flushStepBuffer(buffer);
+        }
+    }
+
+    private void flushStepBuffer(StepBuffer buffer) {
+        synchronized (stateLock) {
+            synchronized (buffer) {
+                for (int i = 0; i < buffer.size; i++) {
+                    mergeStepDuration(buffer.names[i], buffer.durations[i], buffer.times[i]);
+                    buffer.names[i] = null;
+                }
+                buffer.size = 0;
+            }
+        }
+    }
+
+    // Call while holding stateLock
+    private void mergeStepDuration(String stepName, long duration, long time) {
+        appendToLog(() -> eventLog.appendStepDuration(stepName, duration, time));
+        updateStepDuration(stepName, duration, time);
+    }
+
+    private void updateStepDuration(String stepName, long duration, long time) {
+        LatencySketch sketch = stepSketches.computeIfAbsent(stepName, k -> new LatencySketch());
+        sketch.record(duration);
+        DurationChangeDetector trend = stepTrends.computeIfAbsent(stepName, k -> new DurationChangeDetector());
+        trend.add(duration, sketch.getCount(), time, regressionTolerance, regressionThreshold, regressionMinSlowdown);
+        // Mirror the detector, which forgets its regression once the step recovers
+        if (trend.lastRegression != null) {
+            stepRegressions.put(stepName, trend.lastRegression);
+        } else {
+            stepRegressions.remove(stepName);
+        }
+    }
+
+    private void loadStepTrends(Map<String, DurationChangeDetector> trends) {
+        stepTrends.putAll(trends);
+        trends.forEach((stepName, trend) -> {
+            if (trend.lastRegression != null) {
+                stepRegressions.put(stepName, trend.lastRegression);
+            } else {
+                stepRegressions.remove(stepName);
+            }
+        });
+    }
+
+    /**
+     * Record requests and bytes saved by network blocking for a test
+     * Test threads go through AnalyticsIngestionPipeline.submitNetworkSavings instead
+     */
+    public void recordNetworkSavings(String testName, long blockedRequests, long blockedBytes) {
+        if (blockedRequests == 0) {
+            return;
+        }
+        synchronized (stateLock) {
+            appendToLog(() -> eventLog.appendNetworkSavings(testName, blockedRequests, blockedBytes));
+            publish(updateNetworkSavings(testName, blockedRequests, blockedBytes));
+        }
+    }
+
+    private TestMetrics updateNetworkSavings(String testName, long blockedRequests, long blockedBytes) {
+        TestMetrics metrics = testMetrics.computeIfAbsent(testName, k -> new TestMetrics(testName));
+        metrics.blockedRequests += blockedRequests;
+        metrics.blockedBytes += blockedBytes;
+        return metrics;
     }
 
     /**
@@ -190,72 +605,162 @@ public class TestExecutionAnalytics {
     }
 
     /**
-     * Generate execution summary report
+     * Generate execution summary report (one page, every section capped at reporting.section.max.rows)
      */
     @Attachment(value = "Test Execution Summary", type = "text/html")
     public String generateExecutionSummary() {
-        StringBuilder html = new StringBuilder();
-        html.append("<html><head><title>Test Execution Summary</title>");
-        html.append("<style>body{font-family:Arial,sans-serif;margin:20px;}");
-        html.append("table{border-collapse:collapse;width:100%;}");
-        html.append("th,td{border:1px solid #ddd;padding:8px;text-align:left;}");
-        html.append("th{background-color:#f2f2f2;}");
-        html.append(".stable{background-color:#d4edda;}.unstable{background-color:#f8d7da;}");
-        html.append(".flaky{background-color:#fff3cd;}</style></head><body>");
-
-        html.append("<h1>Test Execution Analytics Summary</h1>");
-        html.append("<p><strong>Generated:</strong> ").append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append("</p>");
-        html.append("<p><strong>Total Tests:</strong> ").append(testMetrics.size()).append("</p>");
-        html.append("<p><strong>Total Executions:</strong> ").append(executionHistory.size()).append("</p>");
-
-        // Summary statistics
-        long totalExecutions = testMetrics.values().stream().mapToLong(m -> m.totalExecutions).sum();
-        long totalSuccess = testMetrics.values().stream().mapToLong(m -> m.successCount).sum();
-        long totalFailures = testMetrics.values().stream().mapToLong(m -> m.failureCount).sum();
-        long totalSkips = testMetrics.values().stream().mapToLong(m -> m.skipCount).sum();
-
-        html.append("<h2>Overall Statistics</h2>");
-        html.append("<ul>");
-        html.append("<li><strong>Success Rate:</strong> ").append(String.format("%.2f%%", (double) totalSuccess / totalExecutions * 100)).append("</li>");
-        html.append("<li><strong>Total Success:</strong> ").append(totalSuccess).append("</li>");
-        html.append("<li><strong>Total Failures:</strong> ").append(totalFailures).append("</li>");
-        html.append("<li><strong>Total Skips:</strong> ").append(totalSkips).append("</li>");
-        html.append("</ul>");
+        StringWriter html = new StringWriter();
+        try (StreamingReportWriter report = new StreamingReportWriter(html, config.getReportSectionMaxRows())) {
+            writeExecutionSummary(report);
+        } catch (IOException e) {
+            // A StringWriter never fails
+            throw new UncheckedIOException(e);
+        }
+        return html.toString();
+    }
 
-        // Test stability breakdown
-        Map<TestStability, Long> stabilityCount = testMetrics.values().stream()
-            .collect(Collectors.groupingBy(m -> m.stability, Collectors.counting()));
+    /**
+     * Stream the execution summary into paginated files in a directory; returns the first page
+     */
+    public Path writeExecutionSummary(Path directory) throws IOException {
+        try (StreamingReportWriter report = new StreamingReportWriter(directory, "execution-summary",
+                config.getReportPageRows(), config.getReportSectionMaxRows())) {
+            writeExecutionSummary(report);
+        }
+        return StreamingReportWriter.firstPage(directory, "execution-summary");
+    }
+
+    private void writeExecutionSummary(StreamingReportWriter report) throws IOException {
+        mergeThreadBuffers();
+        Collection<TestMetrics> testMetrics = new ArrayList<>(publishedMetrics.values());
+
+        report.begin("Test Execution Analytics Summary",
+            ".stable{background-color:#d4edda;}.unstable{background-color:#f8d7da;}.flaky{background-color:#fff3cd;}");
+        report.paragraph("Generated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+        report.paragraph("Total Tests", testMetrics.size());
+        report.paragraph("Total Executions", runExecutions.get());
 
-        html.append("<h2>Test Stability Breakdown</h2>");
-        html.append("<ul>");
+        // Summary statistics in a single pass
+        long totalExecutions = 0;
+        long totalSuccess = 0;
+        long totalFailures = 0;
+        long totalSkips = 0;
+        long totalBlockedRequests = 0;
+        long totalBlockedBytes = 0;
+        Map<TestStability, Long> stabilityCount = new EnumMap<>(TestStability.class);
+        for (TestMetrics metrics : testMetrics) {
+            totalExecutions += metrics.totalExecutions;
+            totalSuccess += metrics.successCount;
+            totalFailures += metrics.failureCount;
+            totalSkips += metrics.skipCount;
+            totalBlockedRequests += metrics.blockedRequests;
+            totalBlockedBytes += metrics.blockedBytes;
+            stabilityCount.merge(metrics.stability, 1L, Long::sum);
+        }
+
+        report.heading("Overall Statistics");
+        report.beginList();
+        report.listItem("Success Rate", String.format("%.2f%%", (double) totalSuccess / totalExecutions * 100));
+        report.listItem("Total Success", totalSuccess);
+        report.listItem("Total Failures", totalFailures);
+        report.listItem("Total Skips", totalSkips);
+        report.endList();
+
+        // Test stability breakdown
+        report.heading("Test Stability Breakdown");
+        report.beginList();
         for (TestStability stability : TestStability.values()) {
-            long count = stabilityCount.getOrDefault(stability, 0L);
-            html.append("<li><strong>").append(stability).append(":</strong> ").append(count).append(" tests</li>");
-        }
-        html.append("</ul>");
-
-        // Detailed test metrics table
-        html.append("<h2>Detailed Test Metrics</h2>");
-        html.append("<table>");
-        html.append("<tr><th>Test Name</th><th>Total Runs</th><th>Success Rate</th><th>Avg Execution Time</th><th>Stability</th><th>Last Run</th></tr>");
-
-        testMetrics.values().stream()
-            .sorted((a, b) -> Double.compare(b.successRate, a.successRate))
-            .forEach(metrics -> {
-                String cssClass = getStabilityCssClass(metrics.stability);
-                html.append("<tr class='").append(cssClass).append("'>");
-                html.append("<td>").append(metrics.testName).append("</td>");
-                html.append("<td>").append(metrics.totalExecutions).append("</td>");
-                html.append("<td>").append(String.format("%.1f%%", metrics.successRate)).append("</td>");
-                html.append("<td>").append(String.format("%.2f ms", metrics.averageExecutionTime)).append("</td>");
-                html.append("<td>").append(metrics.stability).append("</td>");
-                html.append("<td>").append(new Date(metrics.lastExecutionTime)).append("</td>");
-                html.append("</tr>");
-            });
+            report.listItem(stability.toString(), stabilityCount.getOrDefault(stability, 0L) + " tests");
+        }
+        report.endList();
 
-        html.append("</table></body></html>");
+        // Duration regressions found by changepoint detection, largest slowdown first
+        Map<String, DurationChangeDetector.Regression> testRegressions = getTestRegressions();
+        if (!testRegressions.isEmpty() || !stepRegressions.isEmpty()) {
+            report.heading("Performance Regressions");
+            report.beginTable("Test / Step", "Type", "Started", "Detected", "Baseline Mean", "Current Mean",
+                "Slowdown", "t");
+            List<RegressionRow> regressions = new ArrayList<>();
+            testRegressions.forEach((name, regression) -> regressions.add(new RegressionRow(name, "Test", regression)));
+            stepRegressions.forEach((name, regression) -> regressions.add(new RegressionRow(name, "Step", regression)));
+            for (RegressionRow row : StreamingReportWriter.top(regressions,
+                    (a, b) -> Double.compare(b.regression.getSlowdown(), a.regression.getSlowdown()),
+                    report.getSectionMaxRows())) {
+                DurationChangeDetector.Regression regression = row.regression;
+                report.row("unstable",
+                    row.name,
+                    row.type,
+                    formatExecution(regression.startRun, regression.startTime),
+                    formatExecution(regression.detectedRun, regression.detectedAt),
+                    String.format("%.0f ms", regression.baselineMean),
+                    String.format("%.0f ms", regression.regressedMean),
+                    String.format("+%.0f%%", regression.getSlowdown() * 100),
+                    String.format("%.1f", regression.tStatistic));
+            }
+            report.endTable(regressions.size());
+        }
 
-        return html.toString();
+        // Network savings from request blocking
+        if (totalBlockedRequests > 0) {
+            report.heading("Network Savings");
+            report.beginList();
+            report.listItem("Blocked Requests", totalBlockedRequests);
+            report.listItem("Estimated Bytes Saved", totalBlockedBytes);
+            report.endList();
+        }
+
+        // Tail latency per category and per step
+        if (!categorySketches.isEmpty()) {
+            report.heading("Latency by Category");
+            report.beginTable("Category", "Executions", "p50", "p95", "p99", "Max");
+            for (Map.Entry<String, LatencySketch> category : new TreeMap<>(categorySketches).entrySet()) {
+                writeLatencyRow(report, category.getKey(), category.getValue());
+            }
+            report.endTable();
+        }
+
+        if (!stepSketches.isEmpty()) {
+            report.heading("Slowest Steps (p95)");
+            report.beginTable("Step", "Executions", "p50", "p95", "p99", "Max");
+            for (String step : getSlowestSteps(15, 95.0)) {
+                writeLatencyRow(report, step, stepSketches.get(step));
+            }
+            report.endTable();
+        }
+
+        // Detailed test metrics table, lowest success rate first so the cap drops passing tests before failing ones;
+        // only the capped top rows are ordered
+        report.heading("Detailed Test Metrics");
+        report.beginTable("Test Name", "Total Runs", "Success Rate", "Avg Execution Time", "p50", "p95", "p99",
+            "Stability", "Blocked Requests", "Bytes Saved", "Last Run");
+        List<TestMetrics> rows = StreamingReportWriter.top(testMetrics,
+            Comparator.comparingDouble((TestMetrics metrics) -> metrics.successRate)
+                .thenComparing(metrics -> metrics.testName), report.getSectionMaxRows());
+        for (TestMetrics metrics : rows) {
+            report.row(getStabilityCssClass(metrics.stability),
+                metrics.testName,
+                metrics.totalExecutions,
+                String.format("%.1f%%", metrics.successRate),
+                String.format("%.2f ms", metrics.averageExecutionTime),
+                metrics.getPercentile(50) + " ms",
+                metrics.getPercentile(95) + " ms",
+                metrics.getPercentile(99) + " ms",
+                metrics.stability,
+                metrics.blockedRequests,
+                metrics.blockedBytes,
+                new Date(metrics.lastExecutionTime));
+        }
+        report.endTable(testMetrics.size());
+    }
+
+    private void writeLatencyRow(StreamingReportWriter report, String name, LatencySketch sketch) throws IOException {
+        report.row(null,
+            name,
+            sketch.getCount(),
+            sketch.getValueAtPercentile(50) + " ms",
+            sketch.getValueAtPercentile(95) + " ms",
+            sketch.getValueAtPercentile(99) + " ms",
+            sketch.getMax() + " ms");
     }
 
     /**
@@ -276,55 +781,118 @@ public class TestExecutionAnalytics {
         }
     }
 
+    /**
+     * Execution number of the test or step (counting every result) and when it ran, if known
+     */
+    private static String formatExecution(long execution, long time) {
+        return "execution #" + execution + (time > 0 ? " (" + new Date(time) + ")" : "");
+    }
+
+    /**
+     * Latest duration regression per test whose execution time shifted up significantly
+     */
+    public Map<String, DurationChangeDetector.Regression> getTestRegressions() {
+        Map<String, DurationChangeDetector.Regression> regressions = new HashMap<>();
+        publishedMetrics.forEach((testName, metrics) -> {
+            if (metrics.durationTrend.lastRegression != null) {
+                regressions.put(testName, metrics.durationTrend.lastRegression);
+            }
+        });
+        return regressions;
+    }
+
+    /**
+     * Latest duration regression per @Step whose duration shifted up significantly
+     */
+    public Map<String, DurationChangeDetector.Regression> getStepRegressions() {
+        return new HashMap<>(stepRegressions);
+    }
+
     /**
      * Get tests by stability classification
      */
     public List<String> getTestsByStability(TestStability stability) {
-        return testMetrics.entrySet().stream()
-            .filter(entry -> entry.getValue().stability == stability)
-            .map(Map.Entry::getKey)
-            .collect(Collectors.toList());
+        return new ArrayList<>(stabilityBuckets.get(stability));
     }
 
     /**
-     * Get slowest tests
+     * Get slowest tests (by average execution time)
      */
     public List<String> getSlowestTests(int limit) {
-        return testMetrics.entrySet().stream()
-            .sorted((a, b) -> Double.compare(b.getValue().averageExecutionTime, a.getValue().averageExecutionTime))
+        return slowestIndex.top(limit);
+    }
+
+    /**
+     * Get slowest tests ranked by an execution time percentile (e.g. 95 for p95)
+     * p50, p95 and p99 are read from maintained rankings, other percentiles are ranked on demand
+     */
+    public List<String> getSlowestTestsByPercentile(int limit, double percentile) {
+        RankingIndex index = percentileIndexes.get(percentile);
+        if (index != null) {
+            return index.top(limit);
+        }
+        return publishedMetrics.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue().getPercentile(percentile), a.getValue().getPercentile(percentile)))
             .limit(limit)
             .map(Map.Entry::getKey)
             .collect(Collectors.toList());
     }
 
     /**
-     * Get most failing tests
+     * Get slowest @Step names ranked by a duration percentile
      */
-    public List<String> getMostFailingTests(int limit) {
-        return testMetrics.entrySet().stream()
-            .filter(entry -> entry.getValue().totalExecutions >= 3) // Only consider tests with sufficient runs
-            .sorted((a, b) -> Double.compare(
-                (double) a.getValue().failureCount / a.getValue().totalExecutions,
-                (double) b.getValue().failureCount / b.getValue().totalExecutions))
+    public List<String> getSlowestSteps(int limit, double percentile) {
+        return stepSketches.entrySet().stream()
+            .sorted((a, b) -> Long.compare(b.getValue().getValueAtPercentile(percentile), a.getValue().getValueAtPercentile(percentile)))
             .limit(limit)
             .map(Map.Entry::getKey)
             .collect(Collectors.toList());
     }
 
     /**
-     * Extract test name from ITestResult
+     * Get a test execution time percentile (0 when the test has no history)
      */
-    private String getTestName(ITestResult result) {
-        return result.getMethod().getMethodName();
+    public long getTestPercentile(String testName, double percentile) {
+        TestMetrics metrics = publishedMetrics.get(testName);
+        return metrics != null ? metrics.getPercentile(percentile) : 0;
     }
 
     /**
-     * Extract test category from annotations or method name
+     * Get a category execution time percentile
      */
-    private String getTestCategory(ITestResult result) {
-        // Check for Allure annotations or other categorization
-        // For now, categorize based on method name patterns
-        String methodName = result.getMethod().getMethodName().toLowerCase();
+    public long getCategoryPercentile(String category, double percentile) {
+        LatencySketch sketch = categorySketches.get(category);
+        return sketch != null ? sketch.getValueAtPercentile(percentile) : 0;
+    }
+
+    /**
+     * Get a @Step duration percentile
+     */
+    public long getStepPercentile(String stepName, double percentile) {
+        LatencySketch sketch = stepSketches.get(stepName);
+        return sketch != null ? sketch.getValueAtPercentile(percentile) : 0;
+    }
+
+    /**
+     * Get the number of recorded durations of a @Step
+     */
+    public long getStepSampleCount(String stepName) {
+        LatencySketch sketch = stepSketches.get(stepName);
+        return sketch != null ? sketch.getCount() : 0;
+    }
+
+    /**
+     * Get most failing tests, highest failure rate first (only tests with sufficient runs)
+     */
+    public List<String> getMostFailingTests(int limit) {
+        return mostFailingIndex.top(limit);
+    }
+
+    /**
+     * Categorize a test from its method name
+     */
+    public static String categorize(String testMethodName) {
+        String methodName = testMethodName.toLowerCase();
 
         if (methodName.contains("login")) return "Authentication";
         if (methodName.contains("product")) return "Product Management";
@@ -336,73 +904,324 @@ public class TestExecutionAnalytics {
         return "General";
     }
 
+    // Event log append, may fail with an IOException
+    private interface LogAppend {
+        void run() throws IOException;
+    }
+
+    private void appendToLog(LogAppend append) {
+        if (!eventLogOpen) {
+            return;
+        }
+        try {
+            append.run();
+        } catch (IOException e) {
+            System.out.println("Warning: Could not append to analytics event log: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Load the merged snapshot and replay the event log written since
+     * Segments of forks that have exited are merged first, so every fork starts from the combined history
+     */
+    private void loadHistoricalData() {
+        int snapshotGeneration = 0;
+        try {
+            AnalyticsSnapshot snapshot = merger.withMergeLock(() -> {
+                AnalyticsSnapshot merged = merger.mergeFinishedSegments(forkNumber != null);
+                if (forkNumber != null) {
+                    merger.createSegment(segmentPath, segmentId);
+                }
+                return merged;
+            });
+            testMetrics.putAll(snapshot.testMetrics);
+            categorySketches.putAll(snapshot.categories);
+            stepSketches.putAll(snapshot.steps);
+            loadStepTrends(snapshot.stepTrends);
+            mergedSegments.putAll(snapshot.mergedSegments);
+            // A fork starts a fresh segment; a single JVM replays its own logs after the snapshot
+            snapshotGeneration = forkNumber == null ? snapshot.generation : 0;
+        } catch (IOException e) {
+            System.out.println("Warning: Could not load historical analytics data: " + e.getMessage());
+        }
+
+        try {
+            long replayed = eventLog.open(snapshotGeneration, replayHandler());
+            eventLogOpen = true;
+            if (replayed > 0) {
+                System.out.println("Analytics: replayed " + replayed + " events on top of snapshot generation " + snapshotGeneration);
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: Could not open analytics event log: " + e.getMessage());
+        }
+        testMetrics.values().forEach(this::publish);
+    }
+
+    /**
+     * Applies replayed events to the in-memory state
+     */
+    ExecutionEventLog.EventHandler replayHandler() {
+        return new ExecutionEventLog.EventHandler() {
+            @Override
+            public void onTestResult(TestExecutionRecord record) {
+                executionHistory.add(record);
+                updateTestMetrics(record.testName, record);
+            }
+
+            @Override
+            public void onNetworkSavings(String testName, long blockedRequests, long blockedBytes) {
+                updateNetworkSavings(testName, blockedRequests, blockedBytes);
+            }
+
+            @Override
+            public void onStepDuration(String stepName, long duration, long time) {
+                updateStepDuration(stepName, duration, time);
+            }
+        };
+    }
+
     /**
-     * Extract test priority from annotations
+     * Snapshot of the in-memory state, sharing its objects (used on the single-threaded merge instances)
      */
-    private String getTestPriority(ITestResult result) {
-        // Check for TestNG priority or custom annotations
-        // Default to medium priority
-        return "Medium";
+    AnalyticsSnapshot toSnapshot() {
+        AnalyticsSnapshot snapshot = new AnalyticsSnapshot();
+        synchronized (stateLock) {
+            snapshot.createdAt = System.currentTimeMillis();
+            snapshot.testMetrics.putAll(testMetrics);
+            snapshot.categories.putAll(categorySketches);
+            snapshot.steps.putAll(stepSketches);
+            snapshot.stepTrends.putAll(stepTrends);
+            snapshot.mergedSegments.putAll(mergedSegments);
+        }
+        return snapshot;
     }
 
     /**
-     * Load historical data from file
+     * Snapshot built from the published metrics and copies of the sketches and trends, so it can be serialized
+     * after stateLock is released while recording goes on; call while holding stateLock
      */
-    private void loadHistoricalData() {
+    private AnalyticsSnapshot copySnapshot() {
+        AnalyticsSnapshot snapshot = new AnalyticsSnapshot();
+        snapshot.createdAt = System.currentTimeMillis();
+        snapshot.testMetrics.putAll(publishedMetrics);
+        categorySketches.forEach((category, sketch) -> snapshot.categories.put(category, copyOf(sketch)));
+        stepSketches.forEach((stepName, sketch) -> snapshot.steps.put(stepName, copyOf(sketch)));
+        stepTrends.forEach((stepName, trend) -> snapshot.stepTrends.put(stepName, trend.copy()));
+        snapshot.mergedSegments.putAll(mergedSegments);
+        return snapshot;
+    }
+
+    private static LatencySketch copyOf(LatencySketch sketch) {
+        LatencySketch copy = new LatencySketch();
+        copy.merge(sketch);
+        return copy;
+    }
+
+    /**
+     * Flush the event log; snapshot and compact it once it has grown past analytics.snapshot.bytes
+     * A fork merges its segment into the shared snapshot instead, once it has grown past that size
+     */
+    public void saveHistoricalData() {
+        saveHistoricalData(false);
+    }
+
+    /**
+     * Same as saveHistoricalData(); at suite end a fork merges its segment whatever its size
+     */
+    public void saveHistoricalData(boolean suiteFinished) {
+        mergeThreadBuffers();
         try {
-            Path analyticsPath = Paths.get("target", "test-analytics");
-            if (!Files.exists(analyticsPath)) {
-                Files.createDirectories(analyticsPath);
+            if (forkNumber != null && eventLogOpen) {
+                if (suiteFinished || eventLog.size() >= config.getAnalyticsSnapshotBytes()) {
+                    mergeSegment(false);
+                } else {
+                    eventLog.flush();
+                }
+            } else if (!eventLogOpen || eventLog.size() >= config.getAnalyticsSnapshotBytes()) {
+                writeSnapshot();
+            } else {
+                eventLog.flush();
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: Could not save analytics data: " + e.getMessage());
+        }
+        saveLongTermHistory();
+    }
+
+    /**
+     * Write the executions of this run to the long-term history, drop partitions past the retention period
+     * and compact days that collected many small part files
+     */
+    private void saveLongTermHistory() {
+        // Holding the store lock, queryHistory sees the records either on disk or still in memory
+        synchronized (longTermHistory) {
+            List<TestExecutionRecord> records;
+            synchronized (stateLock) {
+                records = unpersistedHistory;
+                unpersistedHistory = new ArrayList<>();
+            }
+            try {
+                longTermHistory.append(records);
+            } catch (IOException e) {
+                System.out.println("Warning: Could not save long-term history: " + e.getMessage());
+                synchronized (stateLock) {
+                    records.addAll(unpersistedHistory);
+                    unpersistedHistory = records;
+                }
                 return;
             }
+        }
 
-            File metricsFile = analyticsPath.resolve("test-metrics.json").toFile();
-            if (metricsFile.exists()) {
-                Map<String, TestMetrics> loadedMetrics = objectMapper.readValue(metricsFile,
-                    objectMapper.getTypeFactory().constructMapType(HashMap.class, String.class, TestMetrics.class));
-                testMetrics.putAll(loadedMetrics);
+        // The records are saved; a failure from here on is retried on the next save
+        try {
+            int expired = longTermHistory.applyRetention(config.getAnalyticsHistoryRetentionDays());
+            if (expired > 0) {
+                System.out.println("Analytics: deleted " + expired + " history partitions past the retention period");
             }
+            longTermHistory.compact();
         } catch (IOException e) {
-            System.out.println("Warning: Could not load historical analytics data: " + e.getMessage());
+            System.out.println("Warning: Could not clean up long-term history: " + e.getMessage());
         }
     }
 
     /**
-     * Save historical data to file
+     * Merge the events this fork recorded since the last merge into the shared snapshot (or reset it)
+     * The merge starts from the snapshot on disk, which may contain the results of other forks by now
      */
-    private void saveHistoricalData() {
-        try {
-            Path analyticsPath = Paths.get("target", "test-analytics");
-            Files.createDirectories(analyticsPath);
+    private void mergeSegment(boolean reset) throws IOException {
+        // Events recorded from here on go to the new generation, which is left for the next merge
+        int mergedGeneration = eventLog.rollover();
+        merger.withMergeLock(() -> {
+            AnalyticsSnapshot snapshot = merger.readSnapshot();
+            if (reset) {
+                AnalyticsSnapshot empty = new AnalyticsSnapshot();
+                empty.generation = snapshot.generation;
+                empty.mergedSegments.putAll(snapshot.mergedSegments);
+                snapshot = empty;
+            } else {
+                int fromGeneration = snapshot.mergedSegments.getOrDefault(segmentId, 0);
+                snapshot = merger.fold(snapshot, segmentPath, fromGeneration, mergedGeneration);
+            }
+            snapshot.mergedSegments.put(segmentId, mergedGeneration);
+            snapshot.createdAt = System.currentTimeMillis();
+            merger.writeSnapshot(snapshot);
+            return null;
+        });
+        eventLog.deleteBefore(mergedGeneration);
+    }
 
-            File metricsFile = analyticsPath.resolve("test-metrics.json").toFile();
-            objectMapper.writeValue(metricsFile, testMetrics);
+    /**
+     * Write a snapshot of the current state and delete the event logs it replaces
+     */
+    private void writeSnapshot() throws IOException {
+        AnalyticsSnapshot snapshot;
+        synchronized (stateLock) {
+            snapshot = copySnapshot();
+            // Events recorded from here on go to the new generation, which the snapshot does not contain
+            snapshot.generation = eventLogOpen ? eventLog.rollover() : 0;
+        }
+        // Serialized outside the lock, the snapshot only holds published copies
+        byte[] content = objectMapper.writeValueAsBytes(snapshot);
 
-        } catch (IOException e) {
-            System.out.println("Warning: Could not save analytics data: " + e.getMessage());
+        merger.withMergeLock(() -> {
+            merger.writeSnapshot(content);
+            return null;
+        });
+        if (eventLogOpen) {
+            eventLog.deleteBefore(snapshot.generation);
         }
     }
 
     /**
-     * Get all test metrics
+     * Get all test metrics (immutable snapshots)
      */
     public Map<String, TestMetrics> getAllTestMetrics() {
-        return new HashMap<>(testMetrics);
+        return new HashMap<>(publishedMetrics);
     }
 
     /**
-     * Get metrics for specific test
+     * Get metrics for specific test (immutable snapshot)
      */
     public TestMetrics getTestMetrics(String testName) {
-        return testMetrics.get(testName);
+        return publishedMetrics.get(testName);
+    }
+
+    /**
+     * Executions of every retained run matching a query, e.g. failures of checkout tests on staging in the last 7 days
+     * Reads the long-term history, skipping the part files that cannot match, plus the executions of this run not
+     * saved to it yet; records from the long-term history carry no error message or priority
+     */
+    public List<TestExecutionRecord> queryHistory(HistoryQuery query) {
+        List<TestExecutionRecord> records = new ArrayList<>();
+        synchronized (longTermHistory) {
+            try {
+                longTermHistory.query(query, row -> records.add(new TestExecutionRecord(row.testName(), row.status(),
+                    row.startTime(), row.endTime(), null, row.category(), null, row.environment(), row.browser())));
+            } catch (IOException e) {
+                System.out.println("Warning: Could not read long-term history: " + e.getMessage());
+            }
+            synchronized (stateLock) {
+                for (TestExecutionRecord record : unpersistedHistory) {
+                    if (query.matches(record)) {
+                        records.add(record);
+                    }
+                }
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Executions of the current run matching a query, e.g. failures of checkout tests on staging in the last hour
+     * Only sees what this JVM holds in memory (this run plus events replayed since the last snapshot);
+     * earlier runs are queried through queryHistory
+     */
+    public List<TestExecutionRecord> queryRunHistory(HistoryQuery query) {
+        return executionHistory.query(query);
+    }
+
+    public int countRunHistory(HistoryQuery query) {
+        return executionHistory.count(query);
+    }
+
+    /**
+     * Long-term history of every saved run, kept for analytics.history.retention.days
+     */
+    public ColumnarHistoryStore getLongTermHistory() {
+        return longTermHistory;
     }
 
     /**
      * Clear all analytics data
      */
     public void clearAnalytics() {
-        executionHistory.clear();
-        testMetrics.clear();
-        saveHistoricalData();
+        synchronized (stateLock) {
+            for (StepBuffer buffer : stepBuffers) {
+                synchronized (buffer) {
+                    Arrays.fill(buffer.names, null);
+                    buffer.size = 0;
+                }
+            }
+            executionHistory.clear();
+            unpersistedHistory.clear();
+            runExecutions.set(0);
+            testMetrics.clear();
+            publishedMetrics.clear();
+            clearIndexes();
+            categorySketches.clear();
+            stepSketches.clear();
+            stepTrends.clear();
+            stepRegressions.clear();
+        }
+        try {
+            if (forkNumber != null && eventLogOpen) {
+                mergeSegment(true);
+            } else {
+                writeSnapshot();
+            }
+            longTermHistory.clear();
+        } catch (IOException e) {
+            System.out.println("Warning: Could not save analytics data: " + e.getMessage());
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import com.isaac.ecommerce_test_framework.flakiness.FlakinessAnalyzer;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency stress tests for TestExecutionAnalytics and FlakinessAnalyzer
+ * 64 threads record and analyze results, step durations and network savings while also reading reports,
+ * then every count must be exact and survive a replay of the event log
+ * Everything is written to a throwaway directory, never to the suite's target/test-analytics
+ */
+public class TestExecutionAnalyticsTests {
+
+    private static final int THREADS = 64;
+    private static final int RESULTS_PER_THREAD = 250;
+    private static final int STEPS_PER_THREAD = 300;
+    private static final int TEST_NAMES = 16;
+
+    private Path analyticsPath;
+    private TestExecutionAnalytics analytics;
+    private FlakinessAnalyzer flakinessAnalyzer;
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        Path target = Files.createDirectories(Paths.get("target"));
+        analyticsPath = Files.createTempDirectory(target, "analytics-stress");
+        // No fork segments, even when surefire sets analytics.fork.number
+        analytics = new TestExecutionAnalytics(analyticsPath, null);
+        flakinessAnalyzer = new FlakinessAnalyzer(analytics, analyticsPath);
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(analyticsPath)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test(threadPoolSize = THREADS, invocationCount = THREADS, description = "Record from 64 threads while reading reports")
+    public void recordFromManyThreads() {
+        int thread = threadIndex.getAndIncrement();
+        for (int i = 0; i < RESULTS_PER_THREAD; i++) {
+            int status = i % 5 == 0 ? ITestResult.FAILURE : ITestResult.SUCCESS;
+            String testName = "com.example.StressTests.cartTest" + (i % TEST_NAMES);
+            TestResultEvent event = new TestResultEvent(testName, "cartTest" + (i % TEST_NAMES), status,
+                1_000L, 1_000L + 10 + (i + thread) % 90, status == ITestResult.FAILURE ? "boom" : null,
+                "Shopping Cart", "Medium", "local", "chrome");
+            analytics.recordTestResult(event);
+            flakinessAnalyzer.analyzeTestResult(event);
+            analytics.recordNetworkSavings(testName, 1, 100);
+
+            // Readers run concurrently with the writers and must never see a ConcurrentModificationException
+            if (i % 50 == 0) {
+                Assert.assertNotNull(analytics.generateExecutionSummary());
+                analytics.getSlowestTestsByPercentile(5, 95.0);
+                analytics.getMostFailingTests(5);
+                flakinessAnalyzer.getTestsForQuarantine();
+                flakinessAnalyzer.getTestsNeedingInvestigation();
+                flakinessAnalyzer.getFlakinessRecommendations();
+                flakinessAnalyzer.predictFailureProbability(testName);
+            }
+        }
+        for (int i = 0; i < STEPS_PER_THREAD; i++) {
+            analytics.recordStepDuration("Add item " + (i % 8), 5 + i % 20);
+        }
+    }
+
+    @Test(dependsOnMethods = "recordFromManyThreads", description = "No update is lost under contention")
+    public void countsAreExact() {
+        analytics.saveHistoricalData();
+        assertExactCounts(analytics);
+    }
+
+    @Test(dependsOnMethods = "countsAreExact", description = "Replaying the event log rebuilds the same counts")
+    public void replayRebuildsCounts() {
+        assertExactCounts(new TestExecutionAnalytics(analyticsPath, null));
+    }
+
+    @Test(dependsOnMethods = "recordFromManyThreads", description = "No flakiness analysis is lost under contention")
+    public void flakinessCountsAreExact() {
+        assertExactFlakinessCounts(flakinessAnalyzer);
+    }
+
+    @Test(dependsOnMethods = "flakinessCountsAreExact", description = "Saved flakiness patterns load with the same counts")
+    public void flakinessPatternsSurviveReload() {
+        flakinessAnalyzer.saveFlakinessData();
+        assertExactFlakinessCounts(new FlakinessAnalyzer(analytics, analyticsPath));
+    }
+
+    @Test(dependsOnMethods = "flakinessPatternsSurviveReload", description = "Saving keeps the patterns saved by another fork")
+    public void flakinessSavesMergeAcrossForks() {
+        FlakinessAnalyzer otherFork = new FlakinessAnalyzer(analytics, analyticsPath);
+        String otherTest = "com.example.OtherForkTests.checkout";
+        otherFork.analyzeTestResult(new TestResultEvent(otherTest, "checkout", ITestResult.FAILURE, 1_000L, 1_200L,
+            "boom", "Checkout", "High", "staging", "firefox"));
+        otherFork.saveFlakinessData();
+        // Saved again by a fork that never saw the other fork's test
+        flakinessAnalyzer.saveFlakinessData();
+
+        Map<String, FlakinessAnalyzer.FlakinessPattern> patterns =
+            new FlakinessAnalyzer(analytics, analyticsPath).getAllFlakinessPatterns();
+        Assert.assertEquals(patterns.size(), TEST_NAMES + 1, "The other fork's pattern should be kept");
+        Assert.assertEquals(patterns.get(otherTest).totalAnalyzed, 1);
+        long analyzed = patterns.values().stream().mapToLong(pattern -> pattern.totalAnalyzed).sum();
+        Assert.assertEquals(analyzed, (long) THREADS * RESULTS_PER_THREAD + 1, "No fork's analysis should be lost");
+        Assert.assertFalse(Files.exists(analyticsPath.resolve("flakiness-patterns.json.tmp")));
+    }
+
+    private void assertExactFlakinessCounts(FlakinessAnalyzer flakinessAnalyzer) {
+        Map<String, FlakinessAnalyzer.FlakinessPattern> patterns = flakinessAnalyzer.getAllFlakinessPatterns();
+        Assert.assertEquals(patterns.size(), TEST_NAMES, "Every test name should have a flakiness pattern");
+
+        long analyzed = 0;
+        long failures = 0;
+        for (FlakinessAnalyzer.FlakinessPattern pattern : patterns.values()) {
+            Assert.assertEquals(pattern.totalAnalyzed, analytics.getTestMetrics(pattern.testName).totalExecutions,
+                "Every result should be analyzed once for " + pattern.testName);
+            Assert.assertTrue(pattern.flakinessScore >= 0 && pattern.flakinessScore <= 100,
+                "Flakiness score out of range for " + pattern.testName);
+            analyzed += pattern.totalAnalyzed;
+            failures += pattern.environmentFailures.getOrDefault("local_chrome", 0);
+        }
+        Assert.assertEquals(analyzed, (long) THREADS * RESULTS_PER_THREAD, "No analysis should be lost");
+        Assert.assertEquals(failures, (long) THREADS * (RESULTS_PER_THREAD / 5), "No environment failure should be lost");
+    }
+
+    private void assertExactCounts(TestExecutionAnalytics analytics) {
+        Map<String, TestExecutionAnalytics.TestMetrics> metrics = analytics.getAllTestMetrics();
+        Assert.assertEquals(metrics.size(), TEST_NAMES, "Every test name should have metrics");
+
+        long total = 0;
+        long failures = 0;
+        long blocked = 0;
+        for (TestExecutionAnalytics.TestMetrics testMetrics : metrics.values()) {
+            Assert.assertEquals(testMetrics.successCount + testMetrics.failureCount, testMetrics.totalExecutions,
+                "Status counts should add up for " + testMetrics.testName);
+            Assert.assertEquals(testMetrics.executionStats.count, testMetrics.totalExecutions,
+                "Every execution time should be in the statistics of " + testMetrics.testName);
+            Assert.assertEquals(testMetrics.latencySketch.getCount(), testMetrics.totalExecutions,
+                "Every execution time should be in the sketch of " + testMetrics.testName);
+            total += testMetrics.totalExecutions;
+            failures += testMetrics.failureCount;
+            blocked += testMetrics.blockedRequests;
+        }
+        Assert.assertEquals(total, (long) THREADS * RESULTS_PER_THREAD, "No result should be lost");
+        Assert.assertEquals(failures, (long) THREADS * (RESULTS_PER_THREAD / 5), "No failure should be lost");
+        Assert.assertEquals(blocked, (long) THREADS * RESULTS_PER_THREAD, "No network saving should be lost");
+
+        long steps = 0;
+        for (String step : analytics.getSlowestSteps(Integer.MAX_VALUE, 50.0)) {
+            steps += analytics.getStepSampleCount(step);
+        }
+        Assert.assertEquals(steps, (long) THREADS * STEPS_PER_THREAD, "Buffered step durations should all be merged");
+    }
+}
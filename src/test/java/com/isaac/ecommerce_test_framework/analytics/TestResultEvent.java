@@ -0,0 +1,57 @@
+package com.isaac.ecommerce_test_framework.analytics;
+
+import org.testng.ITestResult;
+
+/**
+ * Immutable copy of a test result, taken on the test thread so it can be processed asynchronously
+ * (TestNG may still change the ITestResult afterwards, e.g. when a retry turns a failure into a skip)
+ */
+public final class TestResultEvent {
+
+    public final String testName;
+    public final String methodName;
+    public final int status;
+    public final long startMillis;
+    public final long endMillis;
+    public final String errorMessage;
+    public final String category;
+    public final String priority;
+    public final String environment;
+    public final String browser;
+
+    public TestResultEvent(String testName, String methodName, int status, long startMillis, long endMillis,
+                           String errorMessage, String category, String priority, String environment, String browser) {
+        this.testName = testName;
+        this.methodName = methodName;
+        this.status = status;
+        this.startMillis = startMillis;
+        this.endMillis = endMillis;
+        this.errorMessage = errorMessage;
+        this.category = category;
+        this.priority = priority;
+        this.environment = environment;
+        this.browser = browser;
+    }
+
+    /**
+     * Capture a TestNG result
+     * A retried attempt is reported by TestNG as SKIP but recorded as the FAILURE it was
+     */
+    public static TestResultEvent from(ITestResult result) {
+        String methodName = result.getMethod().getMethodName();
+        return new TestResultEvent(
+            result.getTestClass().getName() + "." + methodName,
+            methodName,
+            result.wasRetried() ? ITestResult.FAILURE : result.getStatus(),
+            result.getStartMillis(),
+            result.getEndMillis(),
+            result.getThrowable() != null ? result.getThrowable().getMessage() : null,
+            // Categorize based on method name patterns
+            TestExecutionAnalytics.categorize(methodName),
+            // Default to medium priority
+            "Medium",
+            System.getProperty("environment", "local"),
+            System.getProperty("browser", "chrome")
+        );
+    }
+}
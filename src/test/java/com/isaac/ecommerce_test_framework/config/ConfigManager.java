@@ -69,11 +69,211 @@ public class ConfigManager {
         return Integer.parseInt(properties.getProperty("timeout", "10000"));
     }
 
+    // Browser Session Pool Configuration
+    public boolean isBrowserPoolEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("browser.pool.enabled", "true"));
+    }
+
+    public int getBrowserPoolMaxUses() {
+        return Integer.parseInt(properties.getProperty("browser.pool.max.uses", "20"));
+    }
+
+    public boolean isBrowserPoolRecycleOnFailure() {
+        return Boolean.parseBoolean(properties.getProperty("browser.pool.recycle.on.failure", "true"));
+    }
+
+    // Session Fixture Configuration
+    public boolean isSessionFixtureEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("session.fixtures.enabled", "true"));
+    }
+
+    // Page Readiness Configuration
+    public boolean isReadinessProbeEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("readiness.probe.enabled", "true"));
+    }
+
+    public int getReadinessDomQuietMs() {
+        return Integer.parseInt(properties.getProperty("readiness.dom.quiet.ms", "100"));
+    }
+
+    public int getReadinessNetworkQuietMs() {
+        return Integer.parseInt(properties.getProperty("readiness.network.quiet.ms", "100"));
+    }
+
+    // Network Blocking Configuration
+    public boolean isNetworkBlockingEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("network.block.enabled", "true"));
+    }
+
+    public String getNetworkBlockingProfile(String testGroup) {
+        return properties.getProperty("network.block.profile." + testGroup);
+    }
+
     // Application Configuration
     public String getBaseUrl() {
+        if (isStubServerEnabled()) {
+            return "http://localhost:" + getStubServerPort();
+        }
+        if (!"off".equals(getTrafficMode())) {
+            return "http://localhost:" + getTrafficProxyPort();
+        }
         return properties.getProperty("app.base.url", "https://www.saucedemo.com");
     }
 
+    // Analytics Configuration
+    public int getAnalyticsRecentSamples() {
+        return Integer.parseInt(properties.getProperty("analytics.recent.samples", "50"));
+    }
+
+    public long getAnalyticsSnapshotBytes() {
+        return Long.parseLong(properties.getProperty("analytics.snapshot.bytes", "262144"));
+    }
+
+    public int getAnalyticsHistoryRetentionDays() {
+        return Integer.parseInt(properties.getProperty("analytics.history.retention.days", "90"));
+    }
+
+    public double getRegressionTolerance() {
+        return Double.parseDouble(properties.getProperty("analytics.regression.tolerance", "0.05"));
+    }
+
+    public double getRegressionThreshold() {
+        return Double.parseDouble(properties.getProperty("analytics.regression.threshold", "3.0"));
+    }
+
+    public double getRegressionMinSlowdown() {
+        return Double.parseDouble(properties.getProperty("analytics.regression.min.slowdown", "0.2"));
+    }
+
+    /**
+     * Surefire fork number (set through analytics.fork.number), null unless surefire runs more than one fork
+     */
+    public String getAnalyticsForkNumber() {
+        String forkNumber = properties.getProperty("analytics.fork.number", "").trim();
+        return forkNumber.matches("\\d+") && getAnalyticsForkCount() > 1 ? forkNumber : null;
+    }
+
+    /**
+     * Surefire forkCount (set through analytics.fork.count); "2C" means two forks per CPU core
+     */
+    public int getAnalyticsForkCount() {
+        String forkCount = properties.getProperty("analytics.fork.count", "1").trim().toUpperCase();
+        if (forkCount.matches("\\d+(\\.\\d+)?C")) {
+            return (int) (Double.parseDouble(forkCount.substring(0, forkCount.length() - 1))
+                * Runtime.getRuntime().availableProcessors());
+        }
+        return forkCount.matches("\\d+") ? Integer.parseInt(forkCount) : 1;
+    }
+
+    public int getAnalyticsQueueCapacity() {
+        return Integer.parseInt(properties.getProperty("analytics.queue.capacity", "10000"));
+    }
+
+    public String getAnalyticsQueueBackpressure() {
+        return properties.getProperty("analytics.queue.backpressure", "block").toLowerCase();
+    }
+
+    public long getAnalyticsQueueDrainTimeoutMs() {
+        return Long.parseLong(properties.getProperty("analytics.queue.drain.timeout.ms", "60000"));
+    }
+
+    // Scheduling Configuration
+    public String getSchedulingStrategy() {
+        return properties.getProperty("scheduling.strategy", "lpt").toLowerCase();
+    }
+
+    public double getSchedulingDefaultEstimateMs() {
+        return Double.parseDouble(properties.getProperty("scheduling.default.estimate.ms", "5000"));
+    }
+
+    public int getFailFastMaxFailures() {
+        return Integer.parseInt(properties.getProperty("failfast.max.failures", "0"));
+    }
+
+    public String getFailFastChangeBase() {
+        return properties.getProperty("failfast.change.base", "HEAD");
+    }
+
+    public double getFailFastChangeWeight() {
+        return Double.parseDouble(properties.getProperty("failfast.change.weight", "0.5"));
+    }
+
+    public String getShardSelector() {
+        return properties.getProperty("shard");
+    }
+
+    public String getShardPlanFile() {
+        return properties.getProperty("shard.plan");
+    }
+
+    // Quarantine Lane Configuration
+    public boolean isQuarantineEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("quarantine.enabled", "true"));
+    }
+
+    public String getQuarantineMode() {
+        return properties.getProperty("quarantine.mode", "after").toLowerCase();
+    }
+
+    public int getQuarantineThreadCount() {
+        return Integer.parseInt(properties.getProperty("quarantine.thread.count", "1"));
+    }
+
+    // Traffic Record/Replay Configuration
+    /**
+     * Traffic mode: off, record or replay (anything else fails fast instead of routing through a broken proxy)
+     */
+    public String getTrafficMode() {
+        String mode = properties.getProperty("traffic.mode", "off").trim().toLowerCase();
+        switch (mode) {
+            case "off":
+            case "record":
+            case "replay":
+                return mode;
+            default:
+                throw new IllegalStateException("Unknown traffic.mode '" + mode + "', expected off, record or replay");
+        }
+    }
+
+    public int getTrafficProxyPort() {
+        return Integer.parseInt(properties.getProperty("traffic.proxy.port", "8091"));
+    }
+
+    public String getTrafficCacheDir() {
+        return properties.getProperty("traffic.cache.dir", "traffic-cache");
+    }
+
+    public boolean isTrafficReplayFallthrough() {
+        return Boolean.parseBoolean(properties.getProperty("traffic.replay.fallthrough", "false"));
+    }
+
+    // Stub Server Configuration
+    public boolean isStubServerEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("stub.server.enabled", "false"));
+    }
+
+    public int getStubServerPort() {
+        return Integer.parseInt(properties.getProperty("stub.server.port", "8090"));
+    }
+
+    public int getStubRouteLatency(String path) {
+        String routeLatency = properties.getProperty("stub.latency.route." + path);
+        return Integer.parseInt(routeLatency != null ? routeLatency : properties.getProperty("stub.latency.ms", "0"));
+    }
+
+    // Metrics Configuration
+    public boolean isMetricsEnabled() {
+        return Boolean.parseBoolean(properties.getProperty("metrics.enabled", "false"));
+    }
+
+    public String getMetricsHost() {
+        return properties.getProperty("metrics.host", "localhost");
+    }
+
+    public int getMetricsPort() {
+        return Integer.parseInt(properties.getProperty("metrics.port", "9464"));
+    }
+
     // Test Execution Configuration
     public boolean isParallelExecution() {
         return Boolean.parseBoolean(properties.getProperty("execution.parallel", "true"));
@@ -100,6 +300,14 @@ public class ConfigManager {
         return Boolean.parseBoolean(properties.getProperty("reporting.video.enabled", "false"));
     }
 
+    public int getReportPageRows() {
+        return Integer.parseInt(properties.getProperty("reporting.page.rows", "500"));
+    }
+
+    public int getReportSectionMaxRows() {
+        return Integer.parseInt(properties.getProperty("reporting.section.max.rows", "5000"));
+    }
+
     // Remote Execution Configuration
     public boolean isRemoteExecution() {
         return Boolean.parseBoolean(properties.getProperty("remote.enabled", "false"));
@@ -118,6 +326,18 @@ public class ConfigManager {
         return Integer.parseInt(properties.getProperty("retry.count", "2"));
     }
 
+    public long getRetryBudgetMs() {
+        return Long.parseLong(properties.getProperty("retry.budget.ms", "300000"));
+    }
+
+    public int getRetryFlakyExtra() {
+        return Integer.parseInt(properties.getProperty("retry.flaky.extra", "1"));
+    }
+
+    public boolean isRetryStableSkip() {
+        return Boolean.parseBoolean(properties.getProperty("retry.stable.skip", "true"));
+    }
+
     // Test Data Configuration
     public String getTestDataSource() {
         return properties.getProperty("testdata.source", "json");
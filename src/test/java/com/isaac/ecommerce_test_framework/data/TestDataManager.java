@@ -56,6 +56,11 @@ public class TestDataManager {
             System.out.println("Warning: Could not load test data from " + dataPath + ". Using defaults.");
             loadDefaultData();
         }
+
+        // Fall back to defaults when the data directory is missing or empty
+        if (testDataCache.isEmpty()) {
+            loadDefaultData();
+        }
     }
 
     private void loadJsonData(String dataPath) throws IOException {
@@ -0,0 +1,189 @@
+package com.isaac.ecommerce_test_framework.driver;
+
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.WebDriverRunner;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-worker-thread browser session pool
+ * Keeps the Selenide browser of each TestNG worker thread alive between test methods,
+ * resets its state before reuse and recycles it after a configurable number of uses or on error
+ */
+public class BrowserSessionPool {
+
+    // Inner class holding the pooled session state of one worker thread
+    private static class PooledSession {
+        private int uses;
+        private final long createdAt;
+
+        private PooledSession() {
+            this.uses = 0;
+            this.createdAt = System.currentTimeMillis();
+        }
+    }
+
+    private static BrowserSessionPool instance;
+    private final ConfigManager config;
+    private final ThreadLocal<PooledSession> currentSession;
+
+    // Pool metrics
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong recycledOnMaxUses = new AtomicLong();
+    private final AtomicLong recycledOnError = new AtomicLong();
+    private final AtomicLong resetCount = new AtomicLong();
+    private final AtomicLong totalResetTime = new AtomicLong();
+    private final AtomicLong maxResetTime = new AtomicLong();
+    private final AtomicLong activeSessions = new AtomicLong();
+
+    private BrowserSessionPool() {
+        this.config = ConfigManager.getInstance();
+        this.currentSession = new ThreadLocal<>();
+    }
+
+    public static synchronized BrowserSessionPool getInstance() {
+        if (instance == null) {
+            instance = new BrowserSessionPool();
+        }
+        return instance;
+    }
+
+    /**
+     * Acquire a browser session for the current thread, reusing and resetting the pooled one when possible
+     */
+    public void acquire() {
+        PooledSession session = currentSession.get();
+
+        if (config.isBrowserPoolEnabled() && session != null && WebDriverRunner.hasWebDriverStarted()) {
+            if (resetSession()) {
+                hits.incrementAndGet();
+                session.uses++;
+                return;
+            }
+            // Reset failed, the browser is most likely dead - start over with a fresh one
+            recycle(session);
+        } else if (session != null) {
+            recycle(session);
+        }
+
+        misses.incrementAndGet();
+        activeSessions.incrementAndGet();
+        session = new PooledSession();
+        session.uses++;
+        currentSession.set(session);
+    }
+
+    /**
+     * Release the session of the current thread after a test, recycling it when needed
+     */
+    public void release(boolean testFailed) {
+        PooledSession session = currentSession.get();
+        if (session == null) {
+            ResourceBlocker.getInstance().closeSession();
+            Selenide.closeWebDriver();
+            return;
+        }
+
+        if (!config.isBrowserPoolEnabled()) {
+            recycle(session);
+        } else if (testFailed && config.isBrowserPoolRecycleOnFailure()) {
+            recycledOnError.incrementAndGet();
+            recycle(session);
+        } else if (session.uses >= config.getBrowserPoolMaxUses()) {
+            recycledOnMaxUses.incrementAndGet();
+            recycle(session);
+        }
+    }
+
+    /**
+     * Close the browser of the current thread and forget its pooled session
+     */
+    private void recycle(PooledSession session) {
+        currentSession.remove();
+        activeSessions.decrementAndGet();
+        // CDP connections attached to the browser would otherwise outlive it
+        ResourceBlocker.getInstance().closeSession();
+        try {
+            Selenide.closeWebDriver();
+        } catch (Exception e) {
+            System.err.println("Warning: Failed to close pooled browser session (age " +
+                (System.currentTimeMillis() - session.createdAt) + "ms): " + e.getMessage());
+        }
+    }
+
+    /**
+     * Reset browser state (open tabs, cookies, localStorage, sessionStorage) so the next test starts clean
+     */
+    private boolean resetSession() {
+        long start = System.currentTimeMillis();
+        try {
+            WebDriver driver = WebDriverRunner.getWebDriver();
+
+            // Close every tab except the first one
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            if (handles.size() > 1) {
+                for (String handle : handles.subList(1, handles.size())) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+                driver.switchTo().window(handles.get(0));
+            }
+
+            // Storage is scoped to the current origin, which is still the application from the previous test
+            ((JavascriptExecutor) driver).executeScript(
+                "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+            return true;
+        } catch (Exception e) {
+            System.err.println("Warning: Failed to reset pooled browser session: " + e.getMessage());
+            return false;
+        } finally {
+            long resetTime = System.currentTimeMillis() - start;
+            resetCount.incrementAndGet();
+            totalResetTime.addAndGet(resetTime);
+            maxResetTime.accumulateAndGet(resetTime, Math::max);
+        }
+    }
+
+    // Pool metrics accessors
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total * 100.0;
+    }
+
+    public long getActiveSessions() {
+        return Math.max(activeSessions.get(), 0);
+    }
+
+    public double getAverageResetTime() {
+        long count = resetCount.get();
+        return count == 0 ? 0.0 : (double) totalResetTime.get() / count;
+    }
+
+    /**
+     * Get a printable summary of the pool metrics
+     */
+    public String getMetricsSummary() {
+        return "Browser session pool - hits: " + hits.get() +
+            ", misses: " + misses.get() +
+            ", hit rate: " + String.format("%.1f%%", getHitRate()) +
+            ", recycled (max uses): " + recycledOnMaxUses.get() +
+            ", recycled (error): " + recycledOnError.get() +
+            ", avg reset time: " + String.format("%.1f ms", getAverageResetTime()) +
+            ", max reset time: " + maxResetTime.get() + " ms";
+    }
+}
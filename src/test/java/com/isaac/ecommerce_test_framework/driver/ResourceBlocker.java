@@ -0,0 +1,315 @@
+package com.isaac.ecommerce_test_framework.driver;
+
+import com.codeborne.selenide.WebDriverRunner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.remote.Augmenter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Request filtering layer using the Chrome DevTools Protocol
+ * Blocks resource classes (images, fonts, media, third-party scripts...) per test class or group
+ * and tracks how many requests and bytes were saved
+ */
+public class ResourceBlocker {
+
+    // URL patterns (Network.setBlockedURLs wildcard syntax) for each resource class
+    private static final Map<String, List<String>> RESOURCE_CLASS_PATTERNS = Map.of(
+        "images", List.of("*.png", "*.jpg", "*.jpeg", "*.gif", "*.svg", "*.webp", "*.ico"),
+        "fonts", List.of("*.woff", "*.woff2", "*.ttf", "*.otf", "*.eot"),
+        "media", List.of("*.mp4", "*.webm", "*.ogg", "*.mp3", "*.wav"),
+        "stylesheets", List.of("*.css")
+    );
+
+    // Inner class holding the DevTools session and counters of one browser
+    private static class BlockingSession {
+        private final WebDriver driver;
+        private final DevTools devTools;
+        private final Map<String, String> requestUrls = new ConcurrentHashMap<>();
+        private final AtomicLong blockedRequests = new AtomicLong();
+        private final AtomicLong blockedBytes = new AtomicLong();
+        private final AtomicLong totalRequests = new AtomicLong();
+
+        private BlockingSession(WebDriver driver, DevTools devTools) {
+            this.driver = driver;
+            this.devTools = devTools;
+        }
+    }
+
+    private static ResourceBlocker instance;
+    private final ConfigManager config;
+    private final ThreadLocal<BlockingSession> currentSession;
+    private final Map<String, Long> resourceSizes;
+    private final Path resourceSizesFile;
+    private final ObjectMapper objectMapper;
+    private volatile boolean unsupportedLogged;
+
+    // Suite-wide savings
+    private final AtomicLong totalBlockedRequests = new AtomicLong();
+    private final AtomicLong totalBlockedBytes = new AtomicLong();
+
+    private ResourceBlocker() {
+        this.config = ConfigManager.getInstance();
+        this.currentSession = new ThreadLocal<>();
+        this.resourceSizes = new ConcurrentHashMap<>();
+        this.resourceSizesFile = Paths.get("target", "test-analytics", "resource-sizes.json");
+        this.objectMapper = new ObjectMapper();
+        loadResourceSizes();
+    }
+
+    public static synchronized ResourceBlocker getInstance() {
+        if (instance == null) {
+            instance = new ResourceBlocker();
+        }
+        return instance;
+    }
+
+    /**
+     * Apply the blocking profile for a test to the browser of the current thread
+     * Starts the browser if needed, so call it before the first navigation
+     */
+    public void applyProfile(String testClassName, String... groups) {
+        if (!config.isNetworkBlockingEnabled()) {
+            return;
+        }
+
+        List<String> patterns = resolvePatterns(testClassName, groups);
+        BlockingSession session = getOrCreateSession();
+        if (session == null) {
+            return;
+        }
+
+        session.requestUrls.clear();
+        session.blockedRequests.set(0);
+        session.blockedBytes.set(0);
+        session.totalRequests.set(0);
+
+        // Always send the list, so a pooled browser drops the previous test's profile
+        Map<String, Object> params = new HashMap<>();
+        params.put("urls", patterns);
+        session.devTools.send(new Command<Void>("Network.setBlockedURLs", params));
+    }
+
+    /**
+     * Collect the savings of the current test and attach them to the report
+     * Returns {blocked requests, estimated blocked bytes}
+     */
+    public long[] finishTest(String testName) {
+        BlockingSession session = currentSession.get();
+        if (session == null) {
+            return new long[]{0, 0};
+        }
+
+        long requests = session.blockedRequests.get();
+        long bytes = session.blockedBytes.get();
+        totalBlockedRequests.addAndGet(requests);
+        totalBlockedBytes.addAndGet(bytes);
+
+        if (requests > 0) {
+            try {
+                Allure.addAttachment("Network Savings", "text/plain",
+                    "Test: " + testName + "\nBlocked Requests: " + requests + " of " + session.totalRequests.get() +
+                    "\nEstimated Bytes Saved: " + bytes);
+            } catch (Exception e) {
+                System.err.println("Warning: Failed to add network savings attachment: " + e.getMessage());
+            }
+        }
+        return new long[]{requests, bytes};
+    }
+
+    /**
+     * Resolve the blocked URL patterns for a test from its groups and class name
+     */
+    private List<String> resolvePatterns(String testClassName, String... groups) {
+        Set<String> entries = new LinkedHashSet<>();
+        List<String> keys = new ArrayList<>(Arrays.asList(groups));
+        keys.add(testClassName);
+
+        for (String key : keys) {
+            String profile = config.getNetworkBlockingProfile(key);
+            if (profile != null) {
+                entries.addAll(splitList(profile));
+            }
+        }
+        if (entries.isEmpty()) {
+            entries.addAll(splitList(config.getNetworkBlockingProfile("default")));
+        }
+
+        List<String> patterns = new ArrayList<>();
+        for (String entry : entries) {
+            if (RESOURCE_CLASS_PATTERNS.containsKey(entry)) {
+                patterns.addAll(RESOURCE_CLASS_PATTERNS.get(entry));
+            } else if ("thirdparty".equals(entry)) {
+                patterns.addAll(splitList(config.getProperty("network.block.thirdparty.patterns", "")));
+            } else {
+                // Anything else is taken as a raw URL pattern
+                patterns.add(entry);
+            }
+        }
+        return patterns;
+    }
+
+    private List<String> splitList(String value) {
+        List<String> items = new ArrayList<>();
+        if (value != null) {
+            for (String item : value.split(",")) {
+                if (!item.trim().isEmpty()) {
+                    items.add(item.trim());
+                }
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Get the DevTools session of the current thread's browser, creating it for a new browser
+     */
+    private BlockingSession getOrCreateSession() {
+        WebDriver driver = WebDriverRunner.getAndCheckWebDriver();
+        BlockingSession session = currentSession.get();
+        if (session != null && session.driver == driver) {
+            return session;
+        }
+        // The browser was replaced without going through the pool
+        closeSession();
+
+        try {
+            WebDriver devToolsDriver = driver instanceof HasDevTools ? driver : new Augmenter().augment(driver);
+            if (!(devToolsDriver instanceof HasDevTools)) {
+                logUnsupported(config.getBrowser());
+                return null;
+            }
+
+            DevTools devTools = ((HasDevTools) devToolsDriver).getDevTools();
+            devTools.createSessionIfThereIsNotOne();
+            session = new BlockingSession(driver, devTools);
+            registerListeners(session);
+            devTools.send(new Command<Void>("Network.enable", new HashMap<>()));
+            currentSession.set(session);
+            return session;
+        } catch (Exception e) {
+            logUnsupported(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Close the DevTools session of the current thread's browser (called before the browser is quit or recycled)
+     */
+    public void closeSession() {
+        BlockingSession session = currentSession.get();
+        if (session == null) {
+            return;
+        }
+        currentSession.remove();
+        try {
+            session.devTools.clearListeners();
+            session.devTools.close();
+        } catch (Exception e) {
+            System.err.println("Warning: Failed to close DevTools session: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Track requests, learn resource sizes from completed loads and count blocked requests
+     */
+    private void registerListeners(BlockingSession session) {
+        session.devTools.addListener(networkEvent("Network.requestWillBeSent"), params -> {
+            Object request = params.get("request");
+            if (request instanceof Map) {
+                session.totalRequests.incrementAndGet();
+                session.requestUrls.put(String.valueOf(params.get("requestId")), String.valueOf(((Map<?, ?>) request).get("url")));
+            }
+        });
+
+        session.devTools.addListener(networkEvent("Network.loadingFinished"), params -> {
+            String url = session.requestUrls.remove(String.valueOf(params.get("requestId")));
+            Object length = params.get("encodedDataLength");
+            if (url != null && length instanceof Number) {
+                resourceSizes.put(stripQuery(url), ((Number) length).longValue());
+            }
+        });
+
+        session.devTools.addListener(networkEvent("Network.loadingFailed"), params -> {
+            String url = session.requestUrls.remove(String.valueOf(params.get("requestId")));
+            if (params.get("blockedReason") != null) {
+                session.blockedRequests.incrementAndGet();
+                if (url != null) {
+                    session.blockedBytes.addAndGet(resourceSizes.getOrDefault(stripQuery(url), 0L));
+                }
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private Event<Map<String, Object>> networkEvent(String method) {
+        return new Event<>(method, input -> (Map<String, Object>) input.read(Json.MAP_TYPE));
+    }
+
+    private String stripQuery(String url) {
+        int queryStart = url.indexOf('?');
+        return queryStart >= 0 ? url.substring(0, queryStart) : url;
+    }
+
+    private void logUnsupported(String reason) {
+        if (!unsupportedLogged) {
+            unsupportedLogged = true;
+            System.out.println("Warning: Network blocking not available (" + reason + "). Requests will not be filtered.");
+        }
+    }
+
+    /**
+     * Load resource sizes learned in previous runs (used to estimate bytes saved by blocked requests)
+     */
+    private void loadResourceSizes() {
+        File sizesFile = resourceSizesFile.toFile();
+        if (!sizesFile.exists()) {
+            return;
+        }
+        try {
+            Map<String, Long> loadedSizes = objectMapper.readValue(sizesFile,
+                objectMapper.getTypeFactory().constructMapType(HashMap.class, String.class, Long.class));
+            resourceSizes.putAll(loadedSizes);
+        } catch (IOException e) {
+            System.out.println("Warning: Could not load resource sizes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Persist learned resource sizes
+     */
+    public void saveResourceSizes() {
+        if (resourceSizes.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(resourceSizesFile.getParent());
+            objectMapper.writeValue(resourceSizesFile.toFile(), new TreeMap<>(resourceSizes));
+        } catch (IOException e) {
+            System.out.println("Warning: Could not save resource sizes: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get a printable summary of the suite-wide savings
+     */
+    public String getMetricsSummary() {
+        return "Network blocking - blocked requests: " + totalBlockedRequests.get() +
+            ", estimated bytes saved: " + totalBlockedBytes.get();
+    }
+}
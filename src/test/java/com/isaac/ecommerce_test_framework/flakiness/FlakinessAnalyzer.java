@@ -1,15 +1,33 @@
 package com.isaac.ecommerce_test_framework.flakiness;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonSetter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.isaac.ecommerce_test_framework.analytics.ForkSegmentMerger;
+import com.isaac.ecommerce_test_framework.analytics.StreamingReportWriter;
 import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics;
+import com.isaac.ecommerce_test_framework.analytics.TestResultEvent;
 import com.isaac.ecommerce_test_framework.config.ConfigManager;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import org.testng.ITestResult;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 
 /**
@@ -32,7 +50,8 @@ public class FlakinessAnalyzer {
         public final List<String> environmentPatterns;
         public final Map<String, Integer> environmentFailures;
 
-        public FlakinessPattern(String testName) {
+        @JsonCreator
+        public FlakinessPattern(@JsonProperty("testName") String testName) {
             this.testName = testName;
             this.flakinessScore = 0.0;
             this.flakinessLevel = FlakinessLevel.STABLE;
@@ -42,9 +61,25 @@ public class FlakinessAnalyzer {
             this.lastAnalyzed = System.currentTimeMillis();
             this.lastUpdated = System.currentTimeMillis();
             this.totalAnalyzed = 0;
-            this.timePatterns = new ArrayList<>();
-            this.environmentPatterns = new ArrayList<>();
-            this.environmentFailures = new HashMap<>();
+            // Concurrent collections: reports iterate them while results are being analyzed
+            this.timePatterns = new CopyOnWriteArrayList<>();
+            this.environmentPatterns = new CopyOnWriteArrayList<>();
+            this.environmentFailures = new ConcurrentHashMap<>();
+        }
+
+        @JsonSetter("timePatterns")
+        private void setTimePatterns(List<String> patterns) {
+            timePatterns.addAll(patterns);
+        }
+
+        @JsonSetter("environmentPatterns")
+        private void setEnvironmentPatterns(List<String> patterns) {
+            environmentPatterns.addAll(patterns);
+        }
+
+        @JsonSetter("environmentFailures")
+        private void setEnvironmentFailures(Map<String, Integer> failures) {
+            environmentFailures.putAll(failures);
         }
     }
 
@@ -67,21 +102,43 @@ public class FlakinessAnalyzer {
         }
     }
 
+    // Long-term history looked at for flip rates
+    private static final int HISTORY_DAYS = 30;
+    private static final int MIN_HISTORY_EXECUTIONS = 10;
+    private static final double FLIP_RATE_THRESHOLD = 0.3;
+
     private static FlakinessAnalyzer instance;
     private final TestExecutionAnalytics analytics;
     private final ConfigManager config;
     private final Map<String, FlakinessPattern> flakinessPatterns;
-    private final Map<String, List<Long>> failureTimestamps;
+    private final Map<String, Queue<Long>> failureTimestamps;
+    // Tests analyzed by this JVM; only their patterns are written over the ones saved by other forks
+    private final Set<String> analyzedTests;
+    private final ObjectMapper objectMapper;
+    private final ForkSegmentMerger merger;
+    private final Path flakinessFile;
 
     private FlakinessAnalyzer() {
-        this.analytics = TestExecutionAnalytics.getInstance();
+        this(TestExecutionAnalytics.getInstance(), Paths.get("target", "test-analytics"));
+    }
+
+    /**
+     * Isolated analyzer over the given analytics, persisted in analyticsPath (the framework uses getInstance())
+     */
+    public FlakinessAnalyzer(TestExecutionAnalytics analytics, Path analyticsPath) {
+        this.analytics = analytics;
         this.config = ConfigManager.getInstance();
         this.flakinessPatterns = new ConcurrentHashMap<>();
         this.failureTimestamps = new ConcurrentHashMap<>();
+        this.analyzedTests = ConcurrentHashMap.newKeySet();
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this.merger = new ForkSegmentMerger(analyticsPath);
+        this.flakinessFile = analyticsPath.resolve("flakiness-patterns.json");
         loadFlakinessData();
     }
 
-    public static FlakinessAnalyzer getInstance() {
+    public static synchronized FlakinessAnalyzer getInstance() {
         if (instance == null) {
             instance = new FlakinessAnalyzer();
         }
@@ -92,33 +149,44 @@ public class FlakinessAnalyzer {
      * Analyze test result for flakiness patterns
      */
     public void analyzeTestResult(ITestResult result) {
-        String testName = getTestName(result);
-        String className = result.getTestClass().getName();
-        String fullTestName = className + "." + testName;
+        analyzeTestResult(TestResultEvent.from(result));
+    }
 
-        // Record failure timestamp for pattern analysis
-        if (result.getStatus() == ITestResult.FAILURE) {
-            failureTimestamps.computeIfAbsent(fullTestName, k -> new ArrayList<>())
-                .add(result.getEndMillis());
+    /**
+     * Analyze a captured test result for flakiness patterns
+     */
+    public void analyzeTestResult(TestResultEvent result) {
+        String fullTestName = result.testName;
+
+        // Record failure timestamp for pattern analysis (only the last day is ever looked at)
+        if (result.status == ITestResult.FAILURE) {
+            Queue<Long> timestamps = failureTimestamps.computeIfAbsent(fullTestName, k -> new ConcurrentLinkedQueue<>());
+            timestamps.add(result.endMillis);
+            timestamps.removeIf(timestamp -> result.endMillis - timestamp >= 24 * 60 * 60 * 1000);
         }
 
-        // Analyze flakiness patterns
-        analyzeFlakinessPatterns(fullTestName, result);
+        // Results of the same test are analyzed one at a time
+        analyzedTests.add(fullTestName);
+        FlakinessPattern pattern = flakinessPatterns.computeIfAbsent(fullTestName, k -> new FlakinessPattern(fullTestName));
+        synchronized (pattern) {
+            // Analyze flakiness patterns
+            analyzeFlakinessPatterns(fullTestName, result);
 
-        // Update flakiness metrics
-        updateFlakinessMetrics(fullTestName, result);
+            // Update flakiness metrics
+            updateFlakinessMetrics(fullTestName, result);
+        }
     }
 
     /**
      * Analyze flakiness patterns for a test
      */
-    private void analyzeFlakinessPatterns(String testName, ITestResult result) {
+    private void analyzeFlakinessPatterns(String testName, TestResultEvent result) {
         FlakinessPattern pattern = flakinessPatterns.computeIfAbsent(testName, k -> new FlakinessPattern(testName));
 
         // Analyze failure patterns
-        if (result.getStatus() == ITestResult.FAILURE) {
+        if (result.status == ITestResult.FAILURE) {
             pattern.consecutiveFailures++;
-            pattern.lastFailureTime = result.getEndMillis();
+            pattern.lastFailureTime = result.endMillis;
 
             // Check for time-based patterns
             analyzeTimeBasedPatterns(pattern, result);
@@ -126,7 +194,7 @@ public class FlakinessAnalyzer {
             // Check for environment-specific failures
             analyzeEnvironmentPatterns(pattern, result);
 
-        } else if (result.getStatus() == ITestResult.SUCCESS) {
+        } else if (result.status == ITestResult.SUCCESS) {
             if (pattern.consecutiveFailures > 0) {
                 pattern.consecutiveSuccesses++;
                 // Reset consecutive failures after a success
@@ -144,9 +212,9 @@ public class FlakinessAnalyzer {
     /**
      * Analyze time-based failure patterns
      */
-    private void analyzeTimeBasedPatterns(FlakinessPattern pattern, ITestResult result) {
-        long currentTime = result.getEndMillis();
-        List<Long> timestamps = failureTimestamps.get(pattern.testName);
+    private void analyzeTimeBasedPatterns(FlakinessPattern pattern, TestResultEvent result) {
+        long currentTime = result.endMillis;
+        Queue<Long> timestamps = failureTimestamps.get(pattern.testName);
 
         if (timestamps != null && timestamps.size() >= 3) {
             // Check for daily patterns
@@ -155,7 +223,7 @@ public class FlakinessAnalyzer {
                 .filter(timestamp -> (currentTime - timestamp) < dayInMillis)
                 .count();
 
-            if (recentFailures >= 3) {
+            if (recentFailures >= 3 && !pattern.timePatterns.contains("Daily recurrence detected")) {
                 pattern.timePatterns.add("Daily recurrence detected");
             }
 
@@ -165,7 +233,7 @@ public class FlakinessAnalyzer {
                 .filter(timestamp -> (currentTime - timestamp) < hourInMillis)
                 .count();
 
-            if (hourlyFailures >= 2) {
+            if (hourlyFailures >= 2 && !pattern.timePatterns.contains("Hourly recurrence detected")) {
                 pattern.timePatterns.add("Hourly recurrence detected");
             }
         }
@@ -174,12 +242,9 @@ public class FlakinessAnalyzer {
     /**
      * Analyze environment-specific failure patterns
      */
-    private void analyzeEnvironmentPatterns(FlakinessPattern pattern, ITestResult result) {
-        String environment = System.getProperty("environment", "local");
-        String browser = System.getProperty("browser", "chrome");
-
+    private void analyzeEnvironmentPatterns(FlakinessPattern pattern, TestResultEvent result) {
         // Track failures by environment
-        String envKey = environment + "_" + browser;
+        String envKey = result.environment + "_" + result.browser;
         pattern.environmentFailures.merge(envKey, 1, Integer::sum);
 
         // Detect environment-specific issues
@@ -187,8 +252,9 @@ public class FlakinessAnalyzer {
         var metrics = analytics.getTestMetrics(pattern.testName);
         if (metrics != null && metrics.totalExecutions >= 5) {
             double envFailureRate = (double) envFailureCount / metrics.totalExecutions;
-            if (envFailureRate > 0.5) {
-                pattern.environmentPatterns.add("High failure rate in " + envKey + " environment");
+            String envPattern = "High failure rate in " + envKey + " environment";
+            if (envFailureRate > 0.5 && !pattern.environmentPatterns.contains(envPattern)) {
+                pattern.environmentPatterns.add(envPattern);
             }
         }
     }
@@ -220,14 +286,8 @@ public class FlakinessAnalyzer {
         baseScore += pattern.environmentPatterns.size() * 15.0;
 
         // Variance in execution time (higher variance = potentially more flakiness)
-        if (metrics.executionTimes.size() > 3) {
-            double avgTime = metrics.averageExecutionTime;
-            double variance = metrics.executionTimes.stream()
-                .mapToDouble(time -> Math.pow(time - avgTime, 2))
-                .average()
-                .orElse(0.0);
-
-            double coefficientOfVariation = Math.sqrt(variance) / avgTime;
+        if (metrics.executionStats.count > 3) {
+            double coefficientOfVariation = metrics.executionStats.getCoefficientOfVariation();
             baseScore += Math.min(coefficientOfVariation * 20.0, 20.0);
         }
 
@@ -237,7 +297,7 @@ public class FlakinessAnalyzer {
     /**
      * Update flakiness metrics
      */
-    private void updateFlakinessMetrics(String testName, ITestResult result) {
+    private void updateFlakinessMetrics(String testName, TestResultEvent result) {
         FlakinessPattern pattern = flakinessPatterns.get(testName);
         if (pattern != null) {
             pattern.totalAnalyzed++;
@@ -266,60 +326,71 @@ public class FlakinessAnalyzer {
     }
 
     /**
-     * Get flakiness report for all tests
+     * Get flakiness report for all tests (one page, every section capped at reporting.section.max.rows)
      */
     @Attachment(value = "Flakiness Analysis Report", type = "text/html")
     public String generateFlakinessReport() {
-        StringBuilder html = new StringBuilder();
-        html.append("<html><head><title>Flakiness Analysis Report</title>");
-        html.append("<style>body{font-family:Arial,sans-serif;margin:20px;}");
-        html.append("table{border-collapse:collapse;width:100%;margin:10px 0;}");
-        html.append("th,td{border:1px solid #ddd;padding:8px;text-align:left;}");
-        html.append("th{background-color:#f2f2f2;}");
-        html.append(".critical{background-color:#dc3545;color:white;}");
-        html.append(".high{background-color:#fd7e14;color:white;}");
-        html.append(".medium{background-color:#ffc107;}");
-        html.append(".low{background-color:#28a745;color:white;}");
-        html.append(".stable{background-color:#6c757d;color:white;}");
-        html.append("</style></head><body>");
-
-        html.append("<h1>Test Flakiness Analysis Report</h1>");
-        html.append("<p><strong>Generated:</strong> ").append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append("</p>");
+        StringWriter html = new StringWriter();
+        try (StreamingReportWriter report = new StreamingReportWriter(html, config.getReportSectionMaxRows())) {
+            writeFlakinessReport(report);
+        } catch (IOException e) {
+            // A StringWriter never fails
+            throw new UncheckedIOException(e);
+        }
+        return html.toString();
+    }
 
-        // Summary statistics
-        Map<FlakinessLevel, Long> levelCount = flakinessPatterns.values().stream()
-            .collect(Collectors.groupingBy(p -> p.flakinessLevel, Collectors.counting()));
+    /**
+     * Stream the flakiness report into paginated files in a directory; returns the first page
+     */
+    public Path writeFlakinessReport(Path directory) throws IOException {
+        try (StreamingReportWriter report = new StreamingReportWriter(directory, "flakiness-report",
+                config.getReportPageRows(), config.getReportSectionMaxRows())) {
+            writeFlakinessReport(report);
+        }
+        return StreamingReportWriter.firstPage(directory, "flakiness-report");
+    }
 
-        html.append("<h2>Flakiness Summary</h2>");
-        html.append("<ul>");
-        for (FlakinessLevel level : FlakinessLevel.values()) {
-            long count = levelCount.getOrDefault(level, 0L);
-            html.append("<li><strong>").append(level).append(":</strong> ").append(count).append(" tests</li>");
-        }
-        html.append("</ul>");
-
-        // Detailed flakiness table
-        html.append("<h2>Detailed Flakiness Analysis</h2>");
-        html.append("<table>");
-        html.append("<tr><th>Test Name</th><th>Flakiness Score</th><th>Level</th><th>Consecutive Failures</th><th>Patterns Detected</th><th>Last Analyzed</th></tr>");
-
-        flakinessPatterns.values().stream()
-            .sorted((a, b) -> Double.compare(b.flakinessScore, a.flakinessScore))
-            .forEach(pattern -> {
-                String cssClass = getFlakinessCssClass(pattern.flakinessLevel);
-                html.append("<tr class='").append(cssClass).append("'>");
-                html.append("<td>").append(pattern.testName).append("</td>");
-                html.append("<td>").append(String.format("%.1f", pattern.flakinessScore)).append("</td>");
-                html.append("<td>").append(pattern.flakinessLevel).append("</td>");
-                html.append("<td>").append(pattern.consecutiveFailures).append("</td>");
-                html.append("<td>").append(getPatternsSummary(pattern)).append("</td>");
-                html.append("<td>").append(new Date(pattern.lastAnalyzed)).append("</td>");
-                html.append("</tr>");
-            });
+    private void writeFlakinessReport(StreamingReportWriter report) throws IOException {
+        Collection<FlakinessPattern> patterns = new ArrayList<>(flakinessPatterns.values());
 
-        html.append("</table></body></html>");
+        report.begin("Test Flakiness Analysis Report",
+            ".critical{background-color:#dc3545;color:white;}"
+            + ".high{background-color:#fd7e14;color:white;}"
+            + ".medium{background-color:#ffc107;}"
+            + ".low{background-color:#28a745;color:white;}"
+            + ".stable{background-color:#6c757d;color:white;}");
+        report.paragraph("Generated", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
 
-        return html.toString();
+        // Summary statistics
+        Map<FlakinessLevel, Long> levelCount = new HashMap<>();
+        for (FlakinessPattern pattern : patterns) {
+            levelCount.merge(pattern.flakinessLevel, 1L, Long::sum);
+        }
+
+        report.heading("Flakiness Summary");
+        report.beginList();
+        for (FlakinessLevel level : FlakinessLevel.values()) {
+            report.listItem(level.toString(), levelCount.getOrDefault(level, 0L) + " tests");
+        }
+        report.endList();
+
+        // Detailed flakiness table, most flaky first; only the capped top rows are ordered
+        report.heading("Detailed Flakiness Analysis");
+        report.beginTable("Test Name", "Flakiness Score", "Level", "Consecutive Failures", "Patterns Detected",
+            "Last Analyzed");
+        List<FlakinessPattern> rows = StreamingReportWriter.top(patterns,
+            (a, b) -> Double.compare(b.flakinessScore, a.flakinessScore), report.getSectionMaxRows());
+        for (FlakinessPattern pattern : rows) {
+            report.row(getFlakinessCssClass(pattern.flakinessLevel),
+                pattern.testName,
+                String.format("%.1f", pattern.flakinessScore),
+                pattern.flakinessLevel,
+                pattern.consecutiveFailures,
+                getPatternsSummary(pattern),
+                new Date(pattern.lastAnalyzed));
+        }
+        report.endTable(patterns.size());
     }
 
     /**
@@ -446,30 +517,100 @@ public class FlakinessAnalyzer {
                               entry.getValue().size() + " tests: " + String.join(", ", entry.getValue()));
         }
 
+        // Tests alternating between pass and fail across saved runs
+        List<String> flippingTests = getHistoricalFlipRates(HISTORY_DAYS).entrySet().stream()
+            .filter(entry -> entry.getValue() >= FLIP_RATE_THRESHOLD)
+            .map(Map.Entry::getKey)
+            .sorted()
+            .collect(Collectors.toList());
+        if (!flippingTests.isEmpty()) {
+            recommendations.add("📈 HISTORY: These tests flip between pass and fail in the last " + HISTORY_DAYS +
+                              " days (" + flippingTests.size() + "): " + String.join(", ", flippingTests));
+        }
+
         return recommendations;
     }
 
     /**
-     * Extract test name from ITestResult
+     * Share of consecutive executions (0-1) whose outcome changed between pass and fail, per test,
+     * scanned from the long-term history of the last days; tests with too few executions are left out
      */
-    private String getTestName(ITestResult result) {
-        return result.getMethod().getMethodName();
+    public Map<String, Double> getHistoricalFlipRates(int days) {
+        // Per test: last outcome (0 none, 1 pass, 2 fail), outcome pairs, flips
+        Map<String, long[]> transitions = new HashMap<>();
+        try {
+            analytics.getLongTermHistory().scan(System.currentTimeMillis() - days * 24L * 60 * 60 * 1000,
+                Long.MAX_VALUE, row -> {
+                    int status = row.status();
+                    if (status != ITestResult.SUCCESS && status != ITestResult.FAILURE) {
+                        return;
+                    }
+                    long outcome = status == ITestResult.SUCCESS ? 1 : 2;
+                    long[] testTransitions = transitions.computeIfAbsent(row.testName(), k -> new long[3]);
+                    if (testTransitions[0] != 0) {
+                        testTransitions[1]++;
+                        if (testTransitions[0] != outcome) {
+                            testTransitions[2]++;
+                        }
+                    }
+                    testTransitions[0] = outcome;
+                });
+        } catch (IOException e) {
+            System.out.println("Warning: Could not read long-term history: " + e.getMessage());
+        }
+
+        Map<String, Double> flipRates = new HashMap<>();
+        transitions.forEach((testName, testTransitions) -> {
+            if (testTransitions[1] + 1 >= MIN_HISTORY_EXECUTIONS) {
+                flipRates.put(testName, (double) testTransitions[2] / testTransitions[1]);
+            }
+        });
+        return flipRates;
     }
 
     /**
      * Load flakiness data from file
      */
     private void loadFlakinessData() {
-        // Implementation for loading historical flakiness data
-        // This would typically load from a JSON file similar to analytics
+        try {
+            flakinessPatterns.putAll(readFlakinessData());
+        } catch (IOException e) {
+            System.out.println("Warning: Could not load flakiness data: " + e.getMessage());
+        }
+    }
+
+    private Map<String, FlakinessPattern> readFlakinessData() throws IOException {
+        File patternsFile = flakinessFile.toFile();
+        if (!patternsFile.exists()) {
+            return new HashMap<>();
+        }
+        return objectMapper.readValue(patternsFile,
+            objectMapper.getTypeFactory().constructMapType(HashMap.class, String.class, FlakinessPattern.class));
     }
 
     /**
      * Save flakiness data to file
+     * Forks share the file: under the cross-JVM merge lock the saved patterns are re-read, the patterns of the
+     * tests this JVM analyzed replace theirs, and the result is written to a temporary file and renamed
      */
-    private void saveFlakinessData() {
-        // Implementation for saving flakiness data
-        // This would typically save to a JSON file
+    public void saveFlakinessData() {
+        try {
+            merger.withMergeLock(() -> {
+                Map<String, FlakinessPattern> patterns = new TreeMap<>(readFlakinessData());
+                for (String testName : analyzedTests) {
+                    FlakinessPattern pattern = flakinessPatterns.get(testName);
+                    if (pattern != null) {
+                        patterns.put(testName, pattern);
+                    }
+                }
+                Path temporaryFile = flakinessFile.resolveSibling(flakinessFile.getFileName() + ".tmp");
+                objectMapper.writeValue(temporaryFile.toFile(), patterns);
+                Files.move(temporaryFile, flakinessFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                return null;
+            });
+        } catch (IOException e) {
+            System.out.println("Warning: Could not save flakiness data: " + e.getMessage());
+        }
     }
 
     /**
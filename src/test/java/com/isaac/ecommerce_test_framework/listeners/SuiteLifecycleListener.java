@@ -0,0 +1,92 @@
+package com.isaac.ecommerce_test_framework.listeners;
+
+import com.isaac.ecommerce_test_framework.analytics.AnalyticsIngestionPipeline;
+import com.isaac.ecommerce_test_framework.analytics.ReportRenderer;
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.flakiness.FlakinessAnalyzer;
+import com.isaac.ecommerce_test_framework.scheduling.DurationAwareScheduler;
+import com.isaac.ecommerce_test_framework.scheduling.QuarantineLane;
+import com.isaac.ecommerce_test_framework.server.MetricsEndpoint;
+import com.isaac.ecommerce_test_framework.server.SauceDemoStubServer;
+import com.isaac.ecommerce_test_framework.server.TrafficReplayProxy;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite lifecycle listener for infrastructure that must live for the whole run
+ */
+public class SuiteLifecycleListener implements ISuiteListener {
+
+    private ConfigManager config = ConfigManager.getInstance();
+
+    @Override
+    public void onStart(ISuite suite) {
+        // The nested quarantine run shares the infrastructure of the main suite
+        if (QuarantineLane.isLaneSuite(suite)) {
+            return;
+        }
+
+        // Live metrics for scrapers watching the run (a failure must not stop the suite)
+        if (config.isMetricsEnabled()) {
+            try {
+                MetricsEndpoint.getInstance().start();
+            } catch (Exception e) {
+                System.out.println("Warning: Could not start metrics endpoint on port " +
+                    config.getMetricsPort() + ": " + e.getMessage());
+            }
+        }
+
+        // Start the local SauceDemo stand-in before any browser navigates to it
+        if (config.isStubServerEnabled()) {
+            try {
+                SauceDemoStubServer.getInstance().start();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not start SauceDemo stub server on port " +
+                    config.getStubServerPort(), e);
+            }
+        } else if (!"off".equals(config.getTrafficMode())) {
+            // Record or replay application traffic through the local proxy
+            try {
+                TrafficReplayProxy.getInstance().start();
+            } catch (Exception e) {
+                throw new IllegalStateException("Could not start traffic proxy on port " +
+                    config.getTrafficProxyPort(), e);
+            }
+        }
+
+        // Quarantined tests run in their own low-concurrency lane
+        if ("alongside".equals(config.getQuarantineMode())) {
+            QuarantineLane.getInstance().startAlongside(DurationAwareScheduler.getQuarantineLaneTests(suite));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (QuarantineLane.isLaneSuite(suite)) {
+            return;
+        }
+
+        // The quarantine lane runs once the main lane is done (or is waited for when it ran alongside)
+        if ("alongside".equals(config.getQuarantineMode())) {
+            QuarantineLane.getInstance().awaitCompletion();
+        } else {
+            QuarantineLane.getInstance().run(DurationAwareScheduler.getQuarantineLaneTests(suite));
+        }
+
+        // A fork merges its analytics segment into the shared snapshot once, when all its tests are done
+        AnalyticsIngestionPipeline.getInstance().drain();
+        TestExecutionAnalytics analytics = TestExecutionAnalytics.getInstance();
+        FlakinessAnalyzer flakinessAnalyzer = FlakinessAnalyzer.getInstance();
+        analytics.saveHistoricalData(true);
+        flakinessAnalyzer.saveFlakinessData();
+
+        // HTML reports are rendered once per suite and streamed to files in the background (finished before the JVM exits)
+        ReportRenderer.getInstance().render("Test Execution Summary", analytics::writeExecutionSummary);
+        ReportRenderer.getInstance().render("Flakiness Analysis Report", flakinessAnalyzer::writeFlakinessReport);
+
+        SauceDemoStubServer.getInstance().stop();
+        TrafficReplayProxy.getInstance().stop();
+        MetricsEndpoint.getInstance().stop();
+    }
+}
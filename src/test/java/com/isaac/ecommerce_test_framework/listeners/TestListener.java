@@ -1,10 +1,20 @@
 package com.isaac.ecommerce_test_framework.listeners;
 
+import com.isaac.ecommerce_test_framework.BaseTest;
+import com.isaac.ecommerce_test_framework.analytics.AnalyticsIngestionPipeline;
 import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics;
+import com.isaac.ecommerce_test_framework.analytics.TestResultEvent;
 import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.driver.BrowserSessionPool;
+import com.isaac.ecommerce_test_framework.driver.ResourceBlocker;
 import com.isaac.ecommerce_test_framework.flakiness.FlakinessAnalyzer;
+import com.isaac.ecommerce_test_framework.metrics.FrameworkMetrics;
+import com.isaac.ecommerce_test_framework.retry.RetryPolicyEngine;
+import com.isaac.ecommerce_test_framework.scheduling.FailFastGuard;
+import com.isaac.ecommerce_test_framework.utils.PageReadinessEngine;
 import com.isaac.ecommerce_test_framework.utils.TestUtilities;
 import io.qameta.allure.Allure;
+import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
@@ -16,6 +26,7 @@ public class TestListener implements ITestListener {
     private ConfigManager config = ConfigManager.getInstance();
     private TestExecutionAnalytics analytics = TestExecutionAnalytics.getInstance();
     private FlakinessAnalyzer flakinessAnalyzer = FlakinessAnalyzer.getInstance();
+    private AnalyticsIngestionPipeline ingestionPipeline = AnalyticsIngestionPipeline.getInstance();
 
     @Override
     public void onTestStart(ITestResult result) {
@@ -23,6 +34,7 @@ public class TestListener implements ITestListener {
         String className = result.getTestClass().getName();
 
         TestUtilities.logInfo("Starting test: " + className + "." + testName);
+        FrameworkMetrics.TESTS_STARTED.inc();
 
         // Record test start in analytics and add metadata (with error handling)
         try {
@@ -45,12 +57,10 @@ public class TestListener implements ITestListener {
         long duration = result.getEndMillis() - result.getStartMillis();
 
         TestUtilities.logInfo("Test PASSED: " + testName + " (Duration: " + duration + "ms)");
+        FrameworkMetrics.recordTestFinished("passed", duration);
 
-        // Record in analytics
-        analytics.recordTestResult(result);
-
-        // Analyze for flakiness patterns
-        flakinessAnalyzer.analyzeTestResult(result);
+        // Record in analytics and analyze for flakiness patterns (asynchronously)
+        submitToAnalytics(result);
 
         // Add to Allure report (with error handling)
         try {
@@ -71,12 +81,10 @@ public class TestListener implements ITestListener {
         long duration = result.getEndMillis() - result.getStartMillis();
 
         TestUtilities.logError("Test FAILED: " + testName + " - " + errorMessage);
+        FrameworkMetrics.recordTestFinished("failed", duration);
 
-        // Record in analytics
-        analytics.recordTestResult(result);
-
-        // Analyze for flakiness patterns
-        flakinessAnalyzer.analyzeTestResult(result);
+        // Record in analytics and analyze for flakiness patterns (asynchronously)
+        submitToAnalytics(result);
 
         // Capture screenshot on failure
         TestUtilities.captureScreenshotOnFailure(testName);
@@ -112,13 +120,23 @@ public class TestListener implements ITestListener {
     @Override
     public void onTestSkipped(ITestResult result) {
         String testName = result.getMethod().getMethodName();
+
+        // A retried attempt arrives as a skip, but it failed; record it as the failure it was
+        if (result.wasRetried()) {
+            onRetriedAttempt(result);
+            return;
+        }
+
         TestUtilities.logInfo("Test SKIPPED: " + testName);
+        FrameworkMetrics.recordTestFinished("skipped", result.getEndMillis() - result.getStartMillis());
 
-        // Record in analytics
-        analytics.recordTestResult(result);
+        // Tests skipped by a fail-fast abort never ran, keep them out of the history
+        if (FailFastGuard.isAbortSkip(result)) {
+            return;
+        }
 
-        // Analyze for flakiness patterns (skips can indicate issues too)
-        flakinessAnalyzer.analyzeTestResult(result);
+        // Record in analytics and analyze for flakiness patterns (skips can indicate issues too)
+        submitToAnalytics(result);
 
         // Add to Allure report (with error handling)
         try {
@@ -130,6 +148,54 @@ public class TestListener implements ITestListener {
         }
     }
 
+    private void onRetriedAttempt(ITestResult result) {
+        String testName = result.getMethod().getMethodName();
+        String errorMessage = result.getThrowable() != null ? result.getThrowable().getMessage() : "Unknown error";
+        long duration = result.getEndMillis() - result.getStartMillis();
+
+        TestUtilities.logError("Test attempt FAILED, retrying: " + testName + " - " + errorMessage);
+        FrameworkMetrics.recordTestFinished("failed", duration);
+
+        // TestResultEvent records retried attempts as failures
+        submitToAnalytics(result);
+
+        try {
+            Allure.addAttachment("Test Result", "text/plain", "FAILED (retried)");
+            if (errorMessage != null) {
+                Allure.addAttachment("Error Message", "text/plain", errorMessage);
+            }
+            Allure.addAttachment("Execution Time", "text/plain", duration + " ms");
+        } catch (Exception e) {
+            System.err.println("Warning: Failed to add Allure attachments on retried attempt: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        // Report browser session pool efficiency for this test run
+        TestUtilities.logInfo(context.getName() + " - " + BrowserSessionPool.getInstance().getMetricsSummary());
+        TestUtilities.logInfo(context.getName() + " - " + PageReadinessEngine.getInstance().getMetricsSummary());
+        TestUtilities.logInfo(context.getName() + " - " + ResourceBlocker.getInstance().getMetricsSummary());
+        TestUtilities.logInfo(context.getName() + " - " + RetryPolicyEngine.getInstance().getMetricsSummary());
+        ResourceBlocker.getInstance().saveResourceSizes();
+
+        // Persist execution history so the next run can schedule from it
+        ingestionPipeline.drain();
+        TestUtilities.logInfo(context.getName() + " - " + ingestionPipeline.getMetricsSummary());
+        analytics.saveHistoricalData();
+        flakinessAnalyzer.saveFlakinessData();
+    }
+
+    /**
+     * Queue a result for analytics and flakiness analysis; only BaseTest tests have a history worth keeping,
+     * the framework's unit tests must not end up scheduled or quarantined from it
+     */
+    private void submitToAnalytics(ITestResult result) {
+        if (BaseTest.isBaseTest(result.getMethod())) {
+            ingestionPipeline.submit(TestResultEvent.from(result));
+        }
+    }
+
     private String getStackTrace(Throwable throwable) {
         StringBuilder sb = new StringBuilder();
         sb.append(throwable.toString()).append("\n");
@@ -0,0 +1,61 @@
+package com.isaac.ecommerce_test_framework.metrics;
+
+import com.isaac.ecommerce_test_framework.analytics.AnalyticsIngestionPipeline;
+import com.isaac.ecommerce_test_framework.driver.BrowserSessionPool;
+
+/**
+ * The metrics the framework publishes while a run is in progress
+ * Registered up front so every series is scraped (as 0) before its first event
+ */
+public final class FrameworkMetrics {
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+
+    public static final MetricsRegistry.Counter TESTS_STARTED = REGISTRY.counter(
+        "ecommerce_tests_started_total", "Test methods started");
+    public static final MetricsRegistry.Counter TESTS_PASSED = REGISTRY.counter(
+        "ecommerce_tests_passed_total", "Test methods passed");
+    public static final MetricsRegistry.Counter TESTS_FAILED = REGISTRY.counter(
+        "ecommerce_tests_failed_total", "Test methods failed");
+    public static final MetricsRegistry.Counter TESTS_SKIPPED = REGISTRY.counter(
+        "ecommerce_tests_skipped_total", "Test methods skipped");
+    public static final MetricsRegistry.Counter TESTS_RETRIED = REGISTRY.counter(
+        "ecommerce_tests_retried_total", "Retries granted by the retry policy");
+
+    public static final MetricsRegistry.Histogram TEST_DURATION = REGISTRY.histogram(
+        "ecommerce_test_duration_seconds", "Test method duration by result",
+        MetricsRegistry.DURATION_BUCKETS, "result");
+    public static final MetricsRegistry.Histogram PAGE_READY = REGISTRY.histogram(
+        "ecommerce_page_ready_seconds", "Time spent waiting for pages to become ready",
+        MetricsRegistry.DURATION_BUCKETS);
+    public static final MetricsRegistry.Counter PAGE_READY_TIMEOUTS = REGISTRY.counter(
+        "ecommerce_page_ready_timeouts_total", "Page readiness waits that timed out");
+
+    static {
+        REGISTRY.gauge("ecommerce_browsers_active", "Browser sessions currently in use",
+            () -> BrowserSessionPool.getInstance().getActiveSessions());
+        REGISTRY.gauge("ecommerce_analytics_queue_depth", "Test results waiting for the analytics pipeline",
+            () -> AnalyticsIngestionPipeline.getInstance().getQueueDepth());
+    }
+
+    private FrameworkMetrics() {
+    }
+
+    /**
+     * Record a finished test method; result is passed, failed or skipped
+     */
+    public static void recordTestFinished(String result, long durationMillis) {
+        switch (result) {
+            case "passed":
+                TESTS_PASSED.inc();
+                break;
+            case "failed":
+                TESTS_FAILED.inc();
+                break;
+            default:
+                TESTS_SKIPPED.inc();
+                break;
+        }
+        TEST_DURATION.observe(Math.max(durationMillis, 0) / 1000.0, result);
+    }
+}
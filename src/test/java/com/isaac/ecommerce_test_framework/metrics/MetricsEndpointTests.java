@@ -0,0 +1,164 @@
+package com.isaac.ecommerce_test_framework.metrics;
+
+import com.isaac.ecommerce_test_framework.server.MetricsEndpoint;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scrapes the metrics endpoint the way a local Prometheus would, against an isolated registry on a free port
+ */
+public class MetricsEndpointTests {
+
+    private MetricsRegistry registry;
+    private MetricsEndpoint endpoint;
+    private HttpClient client;
+    private final AtomicInteger activeBrowsers = new AtomicInteger();
+
+    @BeforeClass
+    public void setUp() throws Exception {
+        registry = new MetricsRegistry();
+        registry.gauge("test_browsers_active", "Browser sessions in use", activeBrowsers::get);
+        endpoint = new MetricsEndpoint(registry, "localhost", 0);
+        endpoint.start();
+        client = HttpClient.newHttpClient();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void tearDown() {
+        endpoint.stop();
+    }
+
+    @Test(description = "Counters are exposed with HELP, TYPE and their current value")
+    public void countersAreScraped() throws Exception {
+        MetricsRegistry.Counter started = registry.counter("test_started_total", "Tests started");
+        started.inc();
+        started.inc(2);
+
+        HttpResponse<String> response = get("/metrics");
+        Assert.assertEquals(response.statusCode(), 200);
+        Assert.assertEquals(response.headers().firstValue("Content-Type").orElse(""), MetricsEndpoint.CONTENT_TYPE);
+        Assert.assertTrue(response.body().contains("# HELP test_started_total Tests started\n"));
+        Assert.assertTrue(response.body().contains("# TYPE test_started_total counter\n"));
+        Assert.assertEquals(parse(response.body()).get("test_started_total"), 3.0);
+
+        // Registering again returns the same counter, so values keep accumulating
+        registry.counter("test_started_total", "Tests started").inc();
+        Assert.assertEquals(scrape().get("test_started_total"), 4.0);
+    }
+
+    @Test(description = "Histograms expose cumulative buckets, sum and count")
+    public void histogramsAreCumulative() throws Exception {
+        MetricsRegistry.Histogram duration = registry.histogram("test_duration_seconds", "Test duration",
+            new double[]{1, 5, 10}, "result");
+        duration.observe(0.5, "passed");
+        duration.observe(1, "passed");
+        duration.observe(7, "passed");
+        duration.observe(60, "passed");
+        duration.observe(3, "failed");
+
+        Map<String, Double> samples = scrape();
+        Assert.assertEquals(samples.get("test_duration_seconds_bucket{result=\"passed\",le=\"1\"}"), 2.0);
+        Assert.assertEquals(samples.get("test_duration_seconds_bucket{result=\"passed\",le=\"5\"}"), 2.0);
+        Assert.assertEquals(samples.get("test_duration_seconds_bucket{result=\"passed\",le=\"10\"}"), 3.0);
+        Assert.assertEquals(samples.get("test_duration_seconds_bucket{result=\"passed\",le=\"+Inf\"}"), 4.0);
+        Assert.assertEquals(samples.get("test_duration_seconds_sum{result=\"passed\"}"), 68.5);
+        Assert.assertEquals(samples.get("test_duration_seconds_count{result=\"passed\"}"), 4.0);
+        Assert.assertEquals(samples.get("test_duration_seconds_bucket{result=\"failed\",le=\"5\"}"), 1.0);
+        Assert.assertEquals(samples.get("test_duration_seconds_count{result=\"failed\"}"), 1.0);
+    }
+
+    @Test(description = "Gauges are read from their source on every scrape")
+    public void gaugesAreLive() throws Exception {
+        activeBrowsers.set(3);
+        Assert.assertEquals(scrape().get("test_browsers_active"), 3.0);
+        activeBrowsers.set(1);
+        Assert.assertEquals(scrape().get("test_browsers_active"), 1.0);
+    }
+
+    @Test(description = "Label values are escaped")
+    public void labelValuesAreEscaped() throws Exception {
+        registry.counter("test_escaped_total", "Escaping", "name").inc("a \"quoted\" \\ value\nwith newline");
+
+        String body = get("/metrics").body();
+        Assert.assertTrue(body.contains("test_escaped_total{name=\"a \\\"quoted\\\" \\\\ value\\nwith newline\"} 1\n"),
+            body);
+    }
+
+    @Test(description = "Only /metrics is served")
+    public void otherPathsAreNotFound() throws Exception {
+        Assert.assertEquals(get("/").statusCode(), 404);
+        Assert.assertEquals(get("/metrics/extra").statusCode(), 404);
+    }
+
+    @Test(description = "Values scraped during concurrent updates are never lost")
+    public void concurrentUpdatesAreCounted() throws Exception {
+        MetricsRegistry.Counter counter = registry.counter("test_concurrent_total", "Concurrent increments");
+        int threads = 8;
+        int increments = 10_000;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                for (int i = 0; i < increments; i++) {
+                    counter.inc();
+                }
+            });
+        }
+        // Scrape while the counter is being updated
+        scrape();
+        pool.shutdown();
+        Assert.assertTrue(pool.awaitTermination(30, TimeUnit.SECONDS));
+
+        Assert.assertEquals(scrape().get("test_concurrent_total"), (double) threads * increments);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + endpoint.getPort() + path)).GET()
+            .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private Map<String, Double> scrape() throws Exception {
+        HttpResponse<String> response = get("/metrics");
+        Assert.assertEquals(response.statusCode(), 200);
+        return parse(response.body());
+    }
+
+    /**
+     * Minimal text format parser: series (name and labels) to value, comments skipped
+     */
+    private static Map<String, Double> parse(String body) {
+        Map<String, Double> samples = new LinkedHashMap<>();
+        for (String line : body.split("\n")) {
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.lastIndexOf(' ');
+            String value = line.substring(separator + 1);
+            samples.put(line.substring(0, separator), parseValue(value));
+        }
+        return samples;
+    }
+
+    private static double parseValue(String value) {
+        if (value.equals("+Inf")) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (value.equals("-Inf")) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return Double.parseDouble(value);
+    }
+}
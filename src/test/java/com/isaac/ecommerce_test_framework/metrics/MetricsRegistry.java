@@ -0,0 +1,295 @@
+package com.isaac.ecommerce_test_framework.metrics;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Live framework metrics: counters, histograms and gauges exposed in the Prometheus text format (0.0.4)
+ * Updates are lock-free (striped adders), so instrumenting test threads costs a few nanoseconds;
+ * gauges are read from their source only when scraped
+ */
+public class MetricsRegistry {
+
+    // Histogram buckets for durations in seconds
+    public static final double[] DURATION_BUCKETS = {0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120, 300};
+
+    // Series are written sorted by their label values, so scrapes are stable
+    private static final Comparator<List<String>> LABEL_ORDER = (a, b) -> {
+        for (int i = 0; i < Math.min(a.size(), b.size()); i++) {
+            int order = a.get(i).compareTo(b.get(i));
+            if (order != 0) {
+                return order;
+            }
+        }
+        return Integer.compare(a.size(), b.size());
+    };
+
+    // A metric with its help text
+    private abstract static class Metric {
+        final String name;
+        final String help;
+        final String type;
+
+        private Metric(String name, String help, String type) {
+            this.name = name;
+            this.help = help;
+            this.type = type;
+        }
+
+        protected abstract void writeSamples(Writer out) throws IOException;
+
+        private void write(Writer out) throws IOException {
+            out.write("# HELP " + name + " " + escapeHelp(help) + "\n");
+            out.write("# TYPE " + name + " " + type + "\n");
+            writeSamples(out);
+        }
+    }
+
+    // A metric updated by the framework, with one child per combination of label values
+    private abstract static class LabelledMetric<T> extends Metric {
+        private final String[] labelNames;
+        private final Map<List<String>, T> children = new ConcurrentHashMap<>();
+
+        private LabelledMetric(String name, String help, String type, String[] labelNames) {
+            super(name, help, type);
+            this.labelNames = labelNames;
+        }
+
+        protected T child(String[] labelValues) {
+            if (labelValues.length != labelNames.length) {
+                throw new IllegalArgumentException(name + " expects labels " + Arrays.toString(labelNames));
+            }
+            return children.computeIfAbsent(List.of(labelValues), k -> newChild());
+        }
+
+        protected abstract T newChild();
+
+        protected abstract void writeSamples(Writer out, String labels, T child) throws IOException;
+
+        @Override
+        protected void writeSamples(Writer out) throws IOException {
+            Map<List<String>, T> sorted = new TreeMap<>(LABEL_ORDER);
+            sorted.putAll(children);
+            for (Map.Entry<List<String>, T> child : sorted.entrySet()) {
+                writeSamples(out, formatLabels(labelNames, child.getKey()), child.getValue());
+            }
+        }
+    }
+
+    public static class Counter extends LabelledMetric<LongAdder> {
+        private Counter(String name, String help, String[] labelNames) {
+            super(name, help, "counter", labelNames);
+            if (labelNames.length == 0) {
+                child(labelNames);
+            }
+        }
+
+        public void inc(String... labelValues) {
+            child(labelValues).increment();
+        }
+
+        public void inc(long amount, String... labelValues) {
+            child(labelValues).add(amount);
+        }
+
+        public long get(String... labelValues) {
+            return child(labelValues).sum();
+        }
+
+        @Override
+        protected LongAdder newChild() {
+            return new LongAdder();
+        }
+
+        @Override
+        protected void writeSamples(Writer out, String labels, LongAdder child) throws IOException {
+            out.write(name + labels + " " + child.sum() + "\n");
+        }
+    }
+
+    public static class Histogram extends LabelledMetric<Histogram.Buckets> {
+        private final double[] bounds;
+
+        // Per-bucket (non-cumulative) counts; the last one is +Inf
+        private static class Buckets {
+            private final LongAdder[] counts;
+            private final DoubleAdder sum = new DoubleAdder();
+
+            private Buckets(int size) {
+                counts = new LongAdder[size + 1];
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = new LongAdder();
+                }
+            }
+        }
+
+        private Histogram(String name, String help, double[] bounds, String[] labelNames) {
+            super(name, help, "histogram", labelNames);
+            this.bounds = bounds.clone();
+            Arrays.sort(this.bounds);
+            if (labelNames.length == 0) {
+                child(labelNames);
+            }
+        }
+
+        public void observe(double value, String... labelValues) {
+            Buckets buckets = child(labelValues);
+            int index = Arrays.binarySearch(bounds, value);
+            // Bucket upper bounds are inclusive (le)
+            buckets.counts[index >= 0 ? index : -index - 1].increment();
+            buckets.sum.add(value);
+        }
+
+        public long getCount(String... labelValues) {
+            long count = 0;
+            for (LongAdder bucket : child(labelValues).counts) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        @Override
+        protected Buckets newChild() {
+            return new Buckets(bounds.length);
+        }
+
+        @Override
+        protected void writeSamples(Writer out, String labels, Buckets child) throws IOException {
+            long cumulative = 0;
+            for (int i = 0; i <= bounds.length; i++) {
+                cumulative += child.counts[i].sum();
+                String le = i < bounds.length ? formatValue(bounds[i]) : "+Inf";
+                out.write(name + "_bucket" + withLabel(labels, "le", le) + " " + cumulative + "\n");
+            }
+            out.write(name + "_sum" + labels + " " + formatValue(child.sum.sum()) + "\n");
+            out.write(name + "_count" + labels + " " + cumulative + "\n");
+        }
+    }
+
+    // A single unlabelled value read from its source at scrape time
+    private static class Gauge extends Metric {
+        private final DoubleSupplier supplier;
+
+        private Gauge(String name, String help, DoubleSupplier supplier) {
+            super(name, help, "gauge");
+            this.supplier = supplier;
+        }
+
+        @Override
+        protected void writeSamples(Writer out) throws IOException {
+            double value;
+            try {
+                value = supplier.getAsDouble();
+            } catch (RuntimeException e) {
+                value = Double.NaN;
+            }
+            out.write(name + " " + formatValue(value) + "\n");
+        }
+    }
+
+    private static MetricsRegistry instance;
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Isolated registry (the framework uses getInstance())
+     */
+    public MetricsRegistry() {
+    }
+
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Counter registered under a name; registering the same name again returns the existing counter
+     */
+    public Counter counter(String name, String help, String... labelNames) {
+        return register(name, Counter.class, () -> new Counter(name, help, labelNames));
+    }
+
+    public Histogram histogram(String name, String help, double[] buckets, String... labelNames) {
+        return register(name, Histogram.class, () -> new Histogram(name, help, buckets, labelNames));
+    }
+
+    /**
+     * Gauge read from its source at scrape time; registering the same name again replaces the source
+     */
+    public void gauge(String name, String help, DoubleSupplier supplier) {
+        metrics.put(name, new Gauge(name, help, supplier));
+    }
+
+    private <T extends Metric> T register(String name, Class<T> type, java.util.function.Supplier<T> factory) {
+        Metric metric = metrics.computeIfAbsent(name, k -> factory.get());
+        if (!type.isInstance(metric)) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as a " + metric.type);
+        }
+        return type.cast(metric);
+    }
+
+    /**
+     * Write every metric in the Prometheus text format
+     */
+    public void writeTo(Writer out) throws IOException {
+        for (Metric metric : new TreeMap<>(metrics).values()) {
+            metric.write(out);
+        }
+    }
+
+    public String scrape() {
+        StringWriter out = new StringWriter();
+        try {
+            writeTo(out);
+        } catch (IOException e) {
+            // A StringWriter never fails
+            throw new UncheckedIOException(e);
+        }
+        return out.toString();
+    }
+
+    private static String formatLabels(String[] names, List<String> values) {
+        if (names.length == 0) {
+            return "";
+        }
+        StringBuilder labels = new StringBuilder("{");
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                labels.append(',');
+            }
+            labels.append(names[i]).append("=\"").append(escapeLabelValue(values.get(i))).append('"');
+        }
+        return labels.append('}').toString();
+    }
+
+    private static String withLabel(String labels, String name, String value) {
+        String label = name + "=\"" + value + "\"";
+        return labels.isEmpty() ? "{" + label + "}" : labels.substring(0, labels.length() - 1) + "," + label + "}";
+    }
+
+    private static String formatValue(double value) {
+        if (Double.isNaN(value)) {
+            return "NaN";
+        }
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "+Inf" : "-Inf";
+        }
+        return value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
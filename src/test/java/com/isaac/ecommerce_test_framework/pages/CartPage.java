@@ -5,6 +5,8 @@ import com.codeborne.selenide.SelenideElement;
 import io.qameta.allure.Step;
 import org.testng.Assert;
 
+import java.util.List;
+
 import static com.codeborne.selenide.Condition.*;
 import static com.codeborne.selenide.Selenide.*;
 
@@ -39,6 +41,12 @@ public class CartPage {
         return cartItems.get(index).$(".inventory_item_price").getText();
     }
 
+    @Step("Get all cart items")
+    public List<ItemDetails> getAllCartItems() {
+        cartTitle.shouldBe(visible);
+        return ItemDetails.extractAll(".cart_item");
+    }
+
     @Step("Get cart item quantity by index: {index}")
     public String getCartItemQuantity(int index) {
         return cartItems.get(index).$(".cart_quantity").getText();
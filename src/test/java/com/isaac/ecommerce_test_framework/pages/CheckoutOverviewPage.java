@@ -4,6 +4,8 @@ import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
 import io.qameta.allure.Step;
 
+import java.util.List;
+
 import static com.codeborne.selenide.Condition.*;
 import static com.codeborne.selenide.Selenide.*;
 
@@ -43,6 +45,12 @@ public class CheckoutOverviewPage {
         return cartItems.get(index).$(".inventory_item_price").getText();
     }
 
+    @Step("Get all checkout items")
+    public List<ItemDetails> getAllCheckoutItems() {
+        overviewTitle.shouldBe(visible);
+        return ItemDetails.extractAll(".cart_item");
+    }
+
     @Step("Get payment information")
     public String getPaymentInfo() {
         return paymentInfo.getText();
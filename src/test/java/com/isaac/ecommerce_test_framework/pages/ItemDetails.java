@@ -0,0 +1,68 @@
+package com.isaac.ecommerce_test_framework.pages;
+
+import com.codeborne.selenide.WebDriverRunner;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed snapshot of an inventory/cart item row, read in bulk with a single script execution
+ */
+public class ItemDetails {
+
+    // Serializes every matching item row in one round-trip instead of several WebDriver calls per item
+    private static final String EXTRACT_ITEMS_SCRIPT =
+        "return Array.prototype.map.call(document.querySelectorAll(arguments[0]), function(item) {" +
+        "  function text(selector) { var e = item.querySelector(selector); return e ? e.innerText.trim() : null; }" +
+        "  return { name: text('.inventory_item_name'), description: text('.inventory_item_desc')," +
+        "           price: text('.inventory_item_price'), quantity: text('.cart_quantity') };" +
+        "});";
+
+    public final String name;
+    public final String description;
+    public final String price;
+    public final String quantity;
+
+    public ItemDetails(String name, String description, String price, String quantity) {
+        this.name = name;
+        this.description = description;
+        this.price = price;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Get price as a number (displayed price without the currency sign)
+     */
+    public double getPriceValue() {
+        return Double.parseDouble(price.replace("$", ""));
+    }
+
+    /**
+     * Extract all item rows matching the container selector
+     */
+    @SuppressWarnings("unchecked")
+    static List<ItemDetails> extractAll(String itemSelector) {
+        Object result = ((JavascriptExecutor) WebDriverRunner.getWebDriver())
+            .executeScript(EXTRACT_ITEMS_SCRIPT, itemSelector);
+        if (!(result instanceof List)) {
+            throw new IllegalStateException("Item extraction script returned " + result + " for " + itemSelector);
+        }
+
+        List<ItemDetails> items = new ArrayList<>();
+        for (Map<String, Object> row : (List<Map<String, Object>>) result) {
+            items.add(new ItemDetails(
+                (String) row.get("name"),
+                (String) row.get("description"),
+                (String) row.get("price"),
+                (String) row.get("quantity")));
+        }
+        return items;
+    }
+
+    @Override
+    public String toString() {
+        return name + " (" + price + ")";
+    }
+}
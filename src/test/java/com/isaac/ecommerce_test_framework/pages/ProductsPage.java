@@ -4,6 +4,8 @@ import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
 import io.qameta.allure.Step;
 
+import java.util.List;
+
 import static com.codeborne.selenide.Condition.*;
 import static com.codeborne.selenide.Selenide.*;
 
@@ -87,6 +89,12 @@ public class ProductsPage {
         return productItems.get(index).$(".inventory_item_price").getText();
     }
 
+    @Step("Get all products")
+    public List<ItemDetails> getAllProducts() {
+        productsTitle.shouldBe(visible);
+        return ItemDetails.extractAll(".inventory_item");
+    }
+
     @Step("Sort products by: {sortOption}")
     public void sortProducts(String sortOption) {
         SelenideElement sortDropdown = $(".product_sort_container");
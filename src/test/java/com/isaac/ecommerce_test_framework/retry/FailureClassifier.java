@@ -0,0 +1,109 @@
+package com.isaac.ecommerce_test_framework.retry;
+
+import java.util.Set;
+
+/**
+ * Failure signature classifier
+ * Walks the cause chain of a test failure and decides whether it looks transient (worth a retry)
+ * or deterministic (a retry would fail the same way)
+ */
+public class FailureClassifier {
+
+    public enum FailureType {
+        TIMEOUT("Timeout", true),
+        INFRASTRUCTURE("Infrastructure", true),
+        STALE_ELEMENT("Stale Element", true),
+        ASSERTION("Assertion", false),
+        TEST_CODE("Test Code", false),
+        UNKNOWN("Unknown", true);
+
+        private final String displayName;
+        private final boolean transientFailure;
+
+        FailureType(String displayName, boolean transientFailure) {
+            this.displayName = displayName;
+            this.transientFailure = transientFailure;
+        }
+
+        public boolean isTransient() {
+            return transientFailure;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    // Matched by simple class name so the classifier does not depend on Selenium/Selenide internals
+    private static final Set<String> TIMEOUT_EXCEPTIONS = Set.of(
+        "TimeoutException", "ScriptTimeoutException", "SocketTimeoutException", "HttpTimeoutException",
+        "ElementNotFound", "ElementShould", "ElementShouldNot", "ListSizeMismatch", "ElementWithTextNotFound"
+    );
+
+    private static final Set<String> INFRASTRUCTURE_EXCEPTIONS = Set.of(
+        "NoSuchSessionException", "SessionNotCreatedException", "UnreachableBrowserException",
+        "ConnectException", "UnknownHostException", "NoRouteToHostException", "ClosedChannelException"
+    );
+
+    private static final Set<String> TEST_CODE_EXCEPTIONS = Set.of(
+        "NullPointerException", "ClassCastException", "IllegalArgumentException", "IllegalStateException",
+        "IndexOutOfBoundsException", "ArrayIndexOutOfBoundsException", "NumberFormatException",
+        "NoSuchMethodException", "NoSuchFieldException", "UnsupportedOperationException"
+    );
+
+    private static final String[] INFRASTRUCTURE_MESSAGES = {
+        "chrome not reachable", "disconnected", "net::err_", "session deleted", "target window already closed",
+        "connection refused", "invalid session id"
+    };
+
+    /**
+     * Classify a test failure
+     */
+    public static FailureType classify(Throwable throwable) {
+        if (throwable == null) {
+            return FailureType.UNKNOWN;
+        }
+
+        FailureType rootType = null;
+        for (Throwable current = throwable; current != null; current = current.getCause() == current ? null : current.getCause()) {
+            FailureType type = classifySingle(current);
+            // Infrastructure anywhere in the chain wins; otherwise the outermost recognised type
+            if (type == FailureType.INFRASTRUCTURE) {
+                return type;
+            }
+            if (rootType == null && type != FailureType.UNKNOWN) {
+                rootType = type;
+            }
+        }
+        return rootType != null ? rootType : FailureType.UNKNOWN;
+    }
+
+    private static FailureType classifySingle(Throwable throwable) {
+        String name = throwable.getClass().getSimpleName();
+        String message = throwable.getMessage() != null ? throwable.getMessage().toLowerCase() : "";
+
+        if (INFRASTRUCTURE_EXCEPTIONS.contains(name)) {
+            return FailureType.INFRASTRUCTURE;
+        }
+        for (String infrastructureMessage : INFRASTRUCTURE_MESSAGES) {
+            if (message.contains(infrastructureMessage)) {
+                return FailureType.INFRASTRUCTURE;
+            }
+        }
+        if (TIMEOUT_EXCEPTIONS.contains(name)) {
+            return FailureType.TIMEOUT;
+        }
+        if ("StaleElementReferenceException".equals(name)) {
+            return FailureType.STALE_ELEMENT;
+        }
+        if (TEST_CODE_EXCEPTIONS.contains(name)) {
+            return FailureType.TEST_CODE;
+        }
+        // Selenide wait failures are AssertionErrors too, so this check comes after the timeout names
+        if (throwable instanceof AssertionError) {
+            return FailureType.ASSERTION;
+        }
+        return FailureType.UNKNOWN;
+    }
+}
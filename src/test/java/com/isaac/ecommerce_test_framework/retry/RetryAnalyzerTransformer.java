@@ -0,0 +1,42 @@
+package com.isaac.ecommerce_test_framework.retry;
+
+import com.isaac.ecommerce_test_framework.BaseTest;
+import com.isaac.ecommerce_test_framework.utils.RetryAnalyzer;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+
+/**
+ * Attaches RetryAnalyzer to every BaseTest test that does not declare its own retry analyzer
+ * Framework unit tests are left alone, a retry there would only hide a real failure
+ * Registered through META-INF/services, as annotation transformers cannot be added with @Listeners
+ */
+public class RetryAnalyzerTransformer implements IAnnotationTransformer {
+
+    // Declared default of @Test(retryAnalyzer), a no-op analyzer; in TestNG 7.10.2 the internal DisabledRetryAnalyzer
+    private static final Class<?> DEFAULT_RETRY_ANALYZER = defaultRetryAnalyzer();
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        Class<?> owner = testMethod != null ? testMethod.getDeclaringClass() : testClass;
+        if (owner == null || !BaseTest.class.isAssignableFrom(owner)) {
+            return;
+        }
+
+        Class<?> current = annotation.getRetryAnalyzerClass();
+        if (current == null || current == DEFAULT_RETRY_ANALYZER) {
+            annotation.setRetryAnalyzer(RetryAnalyzer.class);
+        }
+    }
+
+    private static Class<?> defaultRetryAnalyzer() {
+        try {
+            return (Class<?>) Test.class.getMethod("retryAnalyzer").getDefaultValue();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("@Test has no retryAnalyzer attribute", e);
+        }
+    }
+}
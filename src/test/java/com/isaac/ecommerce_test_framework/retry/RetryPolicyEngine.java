@@ -0,0 +1,183 @@
+package com.isaac.ecommerce_test_framework.retry;
+
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.flakiness.FlakinessAnalyzer;
+import com.isaac.ecommerce_test_framework.metrics.FrameworkMetrics;
+import com.isaac.ecommerce_test_framework.retry.FailureClassifier.FailureType;
+import org.testng.ITestResult;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adaptive retry policy engine
+ * Decides per failure whether a retry is worthwhile from the failure signature, the test's stability
+ * and flakiness history and a suite-wide retry time budget, and tracks the time saved by skipped retries
+ */
+public class RetryPolicyEngine {
+
+    // Inner class describing one retry decision
+    public static class RetryDecision {
+        public final boolean retry;
+        public final FailureType failureType;
+        public final int allowedRetries;
+        public final String reason;
+
+        public RetryDecision(boolean retry, FailureType failureType, int allowedRetries, String reason) {
+            this.retry = retry;
+            this.failureType = failureType;
+            this.allowedRetries = allowedRetries;
+            this.reason = reason;
+        }
+    }
+
+    // Executions before a test's flakiness score means anything (FlakinessAnalyzer scores from 3 executions)
+    private static final int MIN_KNOWN_EXECUTIONS = 3;
+
+    private static RetryPolicyEngine instance;
+    private final ConfigManager config;
+    private final Map<String, AtomicLong> skippedByReason;
+
+    // Retry metrics
+    private final AtomicLong retriesGranted = new AtomicLong();
+    private final AtomicLong retriesSkipped = new AtomicLong();
+    private final AtomicLong budgetSpent = new AtomicLong();
+    private final AtomicLong timeSaved = new AtomicLong();
+
+    private RetryPolicyEngine() {
+        this.config = ConfigManager.getInstance();
+        this.skippedByReason = new ConcurrentHashMap<>();
+    }
+
+    public static synchronized RetryPolicyEngine getInstance() {
+        if (instance == null) {
+            instance = new RetryPolicyEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Decide whether a failed attempt should be retried
+     * retriesSoFar is the number of retries this test already had
+     */
+    public RetryDecision decide(ITestResult result, int retriesSoFar) {
+        String testName = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+        FailureType failureType = FailureClassifier.classify(result.getThrowable());
+        long attemptDuration = Math.max(result.getEndMillis() - result.getStartMillis(), 0);
+
+        if (!config.isRetryEnabled()) {
+            return new RetryDecision(false, failureType, 0, "Retries disabled");
+        }
+
+        int allowedRetries = getAllowedRetries(testName, failureType);
+        String skipReason = null;
+
+        if (retriesSoFar >= allowedRetries) {
+            skipReason = allowedRetries < config.getRetryCount() ? getReducedRetryReason(testName, failureType)
+                : "Retry limit reached";
+        } else if (!reserveBudget(attemptDuration)) {
+            skipReason = "Suite retry budget exhausted";
+        }
+
+        if (skipReason != null) {
+            recordSkip(skipReason, attemptDuration, retriesSoFar);
+            return new RetryDecision(false, failureType, allowedRetries, skipReason);
+        }
+
+        retriesGranted.incrementAndGet();
+        FrameworkMetrics.TESTS_RETRIED.inc();
+        return new RetryDecision(true, failureType, allowedRetries, failureType + " failure");
+    }
+
+    /**
+     * Number of retries a test gets for a failure type
+     */
+    private int getAllowedRetries(String testName, FailureType failureType) {
+        int baseRetries = config.getRetryCount();
+
+        if (failureType == FailureType.TEST_CODE) {
+            return 0;
+        }
+        // Infrastructure failures are not the test's fault, whatever its history
+        if (failureType == FailureType.INFRASTRUCTURE) {
+            return baseRetries;
+        }
+
+        // History is recorded asynchronously; read what is published and accept that the newest results may lag
+        FlakinessAnalyzer.FlakinessPattern pattern = FlakinessAnalyzer.getInstance().getFlakinessPattern(testName);
+        TestExecutionAnalytics.TestMetrics metrics = TestExecutionAnalytics.getInstance().getTestMetrics(testName);
+        if (pattern == null || metrics == null || metrics.totalExecutions < MIN_KNOWN_EXECUTIONS) {
+            // Unknown history: nothing tells a deterministic assertion failure from a flaky one yet
+            return baseRetries;
+        }
+        FlakinessAnalyzer.FlakinessLevel level = pattern.flakinessLevel;
+        boolean knownFlaky = level == FlakinessAnalyzer.FlakinessLevel.HIGH || level == FlakinessAnalyzer.FlakinessLevel.CRITICAL;
+
+        if (knownFlaky) {
+            return baseRetries + config.getRetryFlakyExtra();
+        }
+        // A timeout or stale element can hit any test, so a clean history only rules out retrying deterministic failures
+        if (failureType.isTransient()) {
+            return baseRetries;
+        }
+        if (level == FlakinessAnalyzer.FlakinessLevel.STABLE) {
+            return 0;
+        }
+        if (config.isRetryStableSkip() && metrics.stability == TestExecutionAnalytics.TestStability.STABLE) {
+            return 0;
+        }
+        return baseRetries;
+    }
+
+    /**
+     * Reserve the expected cost of a retry (one more run of the same test) from the suite budget
+     * Check and reservation are one atomic step, so parallel failures cannot overspend the budget together
+     */
+    private boolean reserveBudget(long cost) {
+        long budget = config.getRetryBudgetMs();
+        while (true) {
+            long spent = budgetSpent.get();
+            if (spent + cost > budget) {
+                return false;
+            }
+            if (budgetSpent.compareAndSet(spent, spent + cost)) {
+                return true;
+            }
+        }
+    }
+
+    private String getReducedRetryReason(String testName, FailureType failureType) {
+        if (failureType == FailureType.TEST_CODE) {
+            return "Deterministic test code failure";
+        }
+        return failureType + " failure in non-flaky test";
+    }
+
+    /**
+     * Count a skipped retry and the time the fixed retry policy would have spent on it
+     */
+    private void recordSkip(String reason, long attemptDuration, int retriesSoFar) {
+        retriesSkipped.incrementAndGet();
+        skippedByReason.computeIfAbsent(reason, k -> new AtomicLong()).incrementAndGet();
+        int fixedPolicyRetriesLeft = config.getRetryCount() - retriesSoFar;
+        if (fixedPolicyRetriesLeft > 0) {
+            timeSaved.addAndGet(attemptDuration * fixedPolicyRetriesLeft);
+        }
+    }
+
+    public long getTimeSaved() {
+        return timeSaved.get();
+    }
+
+    /**
+     * Get a printable summary of the retry metrics
+     */
+    public String getMetricsSummary() {
+        return "Retry policy - granted: " + retriesGranted.get() +
+            ", skipped: " + retriesSkipped.get() + " " + skippedByReason +
+            ", budget used: " + budgetSpent.get() + "/" + config.getRetryBudgetMs() + " ms" +
+            ", time saved: " + timeSaved.get() + " ms";
+    }
+}
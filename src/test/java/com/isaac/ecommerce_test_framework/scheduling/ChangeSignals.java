@@ -0,0 +1,98 @@
+package com.isaac.ecommerce_test_framework.scheduling;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Code-change signals from git
+ * Scores how strongly a test class is touched by the files changed against a base revision:
+ * 1.0 when the test class itself changed, 0.5 when it references a changed class, 0 otherwise
+ */
+public class ChangeSignals {
+
+    private static final Path TEST_SOURCES = Paths.get("src", "test", "java");
+
+    private final Set<String> changedFiles;
+    private final Set<String> changedClassNames;
+    private final Map<String, Double> classScores;
+
+    private ChangeSignals(Set<String> changedFiles) {
+        this.changedFiles = changedFiles;
+        this.changedClassNames = new HashSet<>();
+        this.classScores = new ConcurrentHashMap<>();
+        for (String file : changedFiles) {
+            if (file.endsWith(".java")) {
+                changedClassNames.add(file.substring(file.lastIndexOf('/') + 1, file.length() - ".java".length()));
+            }
+        }
+    }
+
+    /**
+     * Detect the files changed in the working tree against a base revision (HEAD when blank)
+     */
+    public static ChangeSignals detect(String baseRevision) {
+        String base = baseRevision == null || baseRevision.isBlank() ? "HEAD" : baseRevision.trim();
+        Set<String> files = new LinkedHashSet<>();
+        try {
+            Process process = new ProcessBuilder("git", "diff", "--name-only", base)
+                .redirectErrorStream(true)
+                .start();
+            List<String> output = new String(process.getInputStream().readAllBytes()).lines().toList();
+            if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                System.out.println("Warning: Could not read changes against " + base + ": " + String.join(" ", output));
+            } else {
+                output.stream().map(String::trim).filter(line -> !line.isEmpty()).forEach(files::add);
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: Could not run git to detect changes: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return new ChangeSignals(files);
+    }
+
+    /**
+     * Change score of a test class (fully qualified name)
+     */
+    public double getChangeScore(String testClassName) {
+        if (changedClassNames.isEmpty()) {
+            return 0.0;
+        }
+        return classScores.computeIfAbsent(testClassName, this::computeChangeScore);
+    }
+
+    private double computeChangeScore(String testClassName) {
+        String relativePath = testClassName.replace('.', '/') + ".java";
+        for (String file : changedFiles) {
+            if (file.endsWith(relativePath)) {
+                return 1.0;
+            }
+        }
+
+        // Direct references only; shared base classes change the score of every test equally anyway
+        Path source = TEST_SOURCES.resolve(relativePath);
+        try {
+            String content = Files.readString(source);
+            String simpleName = testClassName.substring(testClassName.lastIndexOf('.') + 1);
+            for (String changedClass : changedClassNames) {
+                if (!changedClass.equals(simpleName) &&
+                    Pattern.compile("\\b" + Pattern.quote(changedClass) + "\\b").matcher(content).find()) {
+                    return 0.5;
+                }
+            }
+        } catch (IOException e) {
+            // Source not available (e.g. running from a packaged jar) - no signal
+        }
+        return 0.0;
+    }
+
+    public Set<String> getChangedFiles() {
+        return Collections.unmodifiableSet(changedFiles);
+    }
+}
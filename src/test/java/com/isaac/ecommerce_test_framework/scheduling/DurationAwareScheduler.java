@@ -0,0 +1,329 @@
+package com.isaac.ecommerce_test_framework.scheduling;
+
+import com.isaac.ecommerce_test_framework.BaseTest;
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.flakiness.FlakinessAnalyzer;
+import com.isaac.ecommerce_test_framework.utils.TestUtilities;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ISuiteResult;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Duration-aware method scheduler
+ * Orders the methods of each <test> longest-first (LPT) from historical execution times so long tests
+ * do not start last and drag out the tail of a parallel run, and reports predicted versus actual makespan
+ * With -Dshard=i/N only the methods ShardPlanner assigns to shard i are run
+ * The failfast strategy runs the tests most likely to fail first, combining the predicted failure
+ * probability with code-change signals
+ * Quarantined tests are taken out of the main lane and handed to the QuarantineLane
+ * Sharding and quarantine only apply to BaseTest tests; the framework's unit tests always run in the main lane
+ */
+public class DurationAwareScheduler implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    // Inner class holding the schedule prediction of one <test>
+    private static class SchedulePrediction {
+        private final String strategy;
+        private final int workers;
+        private final int methods;
+        private final int withHistory;
+        private final double predictedMakespan;
+        private final double declarationMakespan;
+
+        private SchedulePrediction(String strategy, int workers, int methods, int withHistory,
+                                   double predictedMakespan, double declarationMakespan) {
+            this.strategy = strategy;
+            this.workers = workers;
+            this.methods = methods;
+            this.withHistory = withHistory;
+            this.predictedMakespan = predictedMakespan;
+            this.declarationMakespan = declarationMakespan;
+        }
+    }
+
+    // Shared across listener instances, keyed by <test> name
+    private static final Map<String, SchedulePrediction> predictions = new ConcurrentHashMap<>();
+    private static ShardPlanner.ShardPlan shardPlan;
+    private static long suiteStartTime;
+    private static ChangeSignals changeSignals;
+
+    private final ConfigManager config = ConfigManager.getInstance();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        String strategy = config.getSchedulingStrategy();
+        DurationEstimator estimator = new DurationEstimator(TestExecutionAnalytics.getInstance(),
+            config.getSchedulingDefaultEstimateMs());
+
+        Map<IMethodInstance, Double> estimates = new IdentityHashMap<>();
+        int withHistory = 0;
+        for (IMethodInstance method : methods) {
+            String fullTestName = getFullTestName(method.getMethod());
+            estimates.put(method, estimator.estimate(fullTestName));
+            if (estimator.isHistorical(fullTestName)) {
+                withHistory++;
+            }
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>(methods);
+
+        // The quarantine lane already received exactly the tests it has to run
+        if (!QuarantineLane.isLaneSuite(context.getSuite())) {
+            // Keep only the methods of this shard when running one shard of a multi-JVM/multi-node run
+            int[] shard = ShardPlanner.parseShard(config.getShardSelector());
+            if (shard != null) {
+                ShardPlanner.ShardPlan plan = getShardPlan(context.getSuite(), shard[1], estimator);
+                ordered.removeIf(method -> BaseTest.isBaseTest(method.getMethod())
+                    && plan.getShardOf(getFullTestName(method.getMethod())) != shard[0]);
+                TestUtilities.logInfo(context.getName() + " - Shard " + shard[0] + "/" + shard[1] + ": running " +
+                    ordered.size() + " of " + methods.size() + " methods");
+            }
+
+            QuarantineLane quarantineLane = QuarantineLane.getInstance();
+            int beforeQuarantine = ordered.size();
+            ordered.removeIf(method -> BaseTest.isBaseTest(method.getMethod())
+                && quarantineLane.isQuarantined(getFullTestName(method.getMethod())));
+            if (ordered.size() < beforeQuarantine) {
+                TestUtilities.logInfo(context.getName() + " - " + (beforeQuarantine - ordered.size()) +
+                    " quarantined methods moved to the quarantine lane");
+            }
+        }
+
+        if ("lpt".equals(strategy)) {
+            // Stable sort keeps declaration order between tests with equal estimates
+            ordered.sort(Comparator.comparingDouble((IMethodInstance method) -> estimates.get(method)).reversed());
+        } else if ("failfast".equals(strategy)) {
+            // Highest failure likelihood per ms first (earliest expected first failure), then longest first
+            Map<IMethodInstance, Double> failureScores = getFailureScores(ordered);
+            ordered.sort(Comparator.comparingDouble((IMethodInstance method) ->
+                    failureScores.get(method) / Math.max(estimates.get(method), 1.0)).reversed()
+                .thenComparing(Comparator.comparingDouble((IMethodInstance method) -> estimates.get(method)).reversed()));
+        }
+
+        int workers = getWorkerCount(context);
+        predictions.put(context.getName(), new SchedulePrediction(strategy, workers, methods.size(), withHistory,
+            DurationEstimator.predictMakespan(durations(ordered, estimates), workers),
+            DurationEstimator.predictMakespan(durations(methods, estimates), workers)));
+
+        return ordered;
+    }
+
+    /**
+     * Combined failure likelihood of each method: predicted failure probability and code-change signal
+     */
+    private Map<IMethodInstance, Double> getFailureScores(List<IMethodInstance> methods) {
+        FlakinessAnalyzer flakinessAnalyzer = FlakinessAnalyzer.getInstance();
+        ChangeSignals changes = getChangeSignals();
+        double changeWeight = config.getFailFastChangeWeight();
+
+        Map<IMethodInstance, Double> scores = new IdentityHashMap<>();
+        for (IMethodInstance method : methods) {
+            double failureProbability = flakinessAnalyzer.predictFailureProbability(getFullTestName(method.getMethod()));
+            double changeProbability = changes.getChangeScore(method.getMethod().getTestClass().getName()) * changeWeight;
+            scores.put(method, 1 - (1 - failureProbability) * (1 - changeProbability));
+        }
+        return scores;
+    }
+
+    private synchronized ChangeSignals getChangeSignals() {
+        if (changeSignals == null) {
+            changeSignals = ChangeSignals.detect(config.getFailFastChangeBase());
+            TestUtilities.logInfo("Fail-fast: " + changeSignals.getChangedFiles().size() + " changed files");
+        }
+        return changeSignals;
+    }
+
+    /**
+     * Shard plan of this run, resolved once per JVM so all <test> tags use the same assignment
+     * A plan file given with -Dshard.plan is used as is (separate machines); otherwise the plan file in
+     * target/shards is shared by the JVMs of this machine, so shards started later do not replan from
+     * history that earlier shards already updated
+     */
+    private static synchronized ShardPlanner.ShardPlan getShardPlan(ISuite suite, int shardCount,
+                                                                    DurationEstimator estimator) {
+        if (shardPlan == null || shardPlan.shardCount != shardCount) {
+            Set<String> allTests = new TreeSet<>();
+            for (ITestNGMethod method : suite.getAllMethods()) {
+                if (BaseTest.isBaseTest(method)) {
+                    allTests.add(getFullTestName(method));
+                }
+            }
+
+            ShardPlanner planner = new ShardPlanner(estimator);
+            String planFile = ConfigManager.getInstance().getShardPlanFile();
+            try {
+                if (planFile != null) {
+                    shardPlan = planner.readPlan(Paths.get(planFile));
+                    if (shardPlan.shardCount != shardCount) {
+                        throw new IllegalStateException("Shard plan " + planFile + " is for " + shardPlan.shardCount +
+                            " shards, not " + shardCount);
+                    }
+                    if (!shardPlan.getTests().containsAll(allTests)) {
+                        System.out.println("Warning: Shard plan " + planFile +
+                            " does not list every test, the missing ones are spread by name");
+                    }
+                } else {
+                    shardPlan = planner.loadOrCreatePlan(ShardPlanner.getPlanFile(shardCount), allTests, shardCount);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read or publish the shard plan", e);
+            }
+            try {
+                planner.writeSuiteFiles(shardPlan, ShardPlanner.SHARDS_DIR, ConfigManager.getInstance().getThreadCount());
+            } catch (Exception e) {
+                System.out.println("Warning: Could not write shard suite files: " + e.getMessage());
+            }
+        }
+        return shardPlan;
+    }
+
+    /**
+     * Quarantined tests of this suite (and of this shard when sharding)
+     */
+    public static List<String> getQuarantineLaneTests(ISuite suite) {
+        ConfigManager config = ConfigManager.getInstance();
+        QuarantineLane quarantineLane = QuarantineLane.getInstance();
+        int[] shard = ShardPlanner.parseShard(config.getShardSelector());
+        ShardPlanner.ShardPlan plan = shard == null ? null : getShardPlan(suite, shard[1], new DurationEstimator(
+            TestExecutionAnalytics.getInstance(), config.getSchedulingDefaultEstimateMs()));
+
+        Set<String> tests = new TreeSet<>();
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            if (!BaseTest.isBaseTest(method)) {
+                continue;
+            }
+            String fullTestName = getFullTestName(method);
+            if (quarantineLane.isQuarantined(fullTestName) && (plan == null || plan.getShardOf(fullTestName) == shard[0])) {
+                tests.add(fullTestName);
+            }
+        }
+        return new ArrayList<>(tests);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        // Quarantined failures never abort the main lane
+        if (!QuarantineLane.isLaneSuite(result.getTestContext().getSuite())) {
+            FailFastGuard.getInstance().recordFailure(result);
+        }
+    }
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (QuarantineLane.isLaneSuite(suite)) {
+            return;
+        }
+        suiteStartTime = System.currentTimeMillis();
+        FailFastGuard.getInstance().start();
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (QuarantineLane.isLaneSuite(suite)) {
+            return;
+        }
+        long wallTime = System.currentTimeMillis() - suiteStartTime;
+
+        if ("failfast".equals(config.getSchedulingStrategy()) || config.getFailFastMaxFailures() > 0) {
+            TestUtilities.logInfo(FailFastGuard.getInstance().getMetricsSummary());
+        }
+        reportShardResult(suite, wallTime);
+    }
+
+    /**
+     * Record the realized load of this shard and report the imbalance across shards
+     */
+    private void reportShardResult(ISuite suite, long wallTime) {
+        int[] shard = ShardPlanner.parseShard(config.getShardSelector());
+        ShardPlanner.ShardPlan plan = shardPlan;
+        if (shard == null || plan == null) {
+            return;
+        }
+
+        // Realized shard load is measured the same way as the history the plan was built from
+        long realizedDuration = 0;
+        for (ISuiteResult suiteResult : suite.getResults().values()) {
+            ITestContext context = suiteResult.getTestContext();
+            for (ITestResult result : allResults(context)) {
+                if (!BaseTest.isBaseTest(result.getMethod())) {
+                    continue;
+                }
+                realizedDuration += result.getEndMillis() - result.getStartMillis();
+            }
+        }
+
+        try {
+            List<ShardPlanner.ShardResult> results = new ShardPlanner(new DurationEstimator(
+                TestExecutionAnalytics.getInstance(), config.getSchedulingDefaultEstimateMs()))
+                .recordResult(plan, shard[0], realizedDuration, wallTime);
+
+            TestUtilities.logInfo(String.format("Shard %d/%d: expected %.0f ms, realized %d ms (wall time %d ms)",
+                shard[0], shard[1], plan.shards.get(shard[0] - 1).expectedDuration, realizedDuration, wallTime));
+            if (results.size() == plan.shardCount) {
+                double realizedImbalance = ShardPlanner.imbalance(
+                    results.stream().mapToDouble(result -> result.realizedDuration).toArray());
+                TestUtilities.logInfo(String.format("Shard imbalance across %d shards: expected %.1f%%, realized %.1f%%",
+                    plan.shardCount, plan.getExpectedImbalance() * 100, realizedImbalance * 100));
+            }
+        } catch (Exception e) {
+            System.out.println("Warning: Could not record shard result: " + e.getMessage());
+        }
+    }
+
+    private List<ITestResult> allResults(ITestContext context) {
+        List<ITestResult> results = new ArrayList<>();
+        results.addAll(context.getPassedTests().getAllResults());
+        results.addAll(context.getFailedTests().getAllResults());
+        results.addAll(context.getSkippedTests().getAllResults());
+        return results;
+    }
+
+    @Override
+    public void onFinish(ITestContext context) {
+        SchedulePrediction prediction = predictions.remove(context.getName());
+        if (prediction == null) {
+            return;
+        }
+
+        long actualMakespan = context.getEndDate().getTime() - context.getStartDate().getTime();
+        TestUtilities.logInfo(String.format(
+            "%s - Scheduling (%s, %d workers): predicted makespan %.0f ms (declaration order %.0f ms), " +
+                "actual %d ms, %d/%d methods with history",
+            context.getName(), prediction.strategy, prediction.workers, prediction.predictedMakespan,
+            prediction.declarationMakespan, actualMakespan, prediction.withHistory, prediction.methods));
+    }
+
+    private List<Double> durations(List<IMethodInstance> methods, Map<IMethodInstance, Double> estimates) {
+        List<Double> durations = new ArrayList<>();
+        for (IMethodInstance method : methods) {
+            durations.add(estimates.get(method));
+        }
+        return durations;
+    }
+
+    private int getWorkerCount(ITestContext context) {
+        if (context.getCurrentXmlTest() == null || !context.getCurrentXmlTest().getParallel().isParallel()) {
+            return 1;
+        }
+        return context.getCurrentXmlTest().getThreadCount();
+    }
+
+    /**
+     * Fully qualified test name as used by TestExecutionAnalytics
+     */
+    public static String getFullTestName(ITestNGMethod method) {
+        return method.getTestClass().getName() + "." + method.getMethodName();
+    }
+}
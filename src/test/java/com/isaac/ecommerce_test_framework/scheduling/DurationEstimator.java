@@ -0,0 +1,78 @@
+package com.isaac.ecommerce_test_framework.scheduling;
+
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics;
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics.TestMetrics;
+
+import java.util.*;
+
+/**
+ * Test duration estimates from TestExecutionAnalytics history
+ * Tests without history get the average duration of their category, or a configured default
+ */
+public class DurationEstimator {
+
+    private final Map<String, TestMetrics> history;
+    private final Map<String, Double> categoryAverages;
+    private final double defaultEstimate;
+
+    public DurationEstimator(TestExecutionAnalytics analytics, double defaultEstimate) {
+        this(analytics.getAllTestMetrics(), defaultEstimate);
+    }
+
+    public DurationEstimator(Map<String, TestMetrics> history, double defaultEstimate) {
+        this.history = history;
+        this.defaultEstimate = defaultEstimate;
+        this.categoryAverages = new HashMap<>();
+
+        Map<String, double[]> categoryTotals = new HashMap<>();
+        history.forEach((testName, metrics) -> {
+            if (hasHistory(metrics)) {
+                double[] totals = categoryTotals.computeIfAbsent(categoryOf(testName), k -> new double[2]);
+                totals[0] += metrics.averageExecutionTime;
+                totals[1]++;
+            }
+        });
+        categoryTotals.forEach((category, totals) -> categoryAverages.put(category, totals[0] / totals[1]));
+    }
+
+    /**
+     * Estimated duration in ms of a test (fully qualified class name + "." + method name)
+     */
+    public double estimate(String fullTestName) {
+        TestMetrics metrics = history.get(fullTestName);
+        if (hasHistory(metrics)) {
+            return metrics.averageExecutionTime;
+        }
+        return categoryAverages.getOrDefault(categoryOf(fullTestName), defaultEstimate);
+    }
+
+    /**
+     * Whether the estimate of a test comes from its own history
+     */
+    public boolean isHistorical(String fullTestName) {
+        return hasHistory(history.get(fullTestName));
+    }
+
+    private boolean hasHistory(TestMetrics metrics) {
+        return metrics != null && metrics.totalExecutions > 0 && metrics.averageExecutionTime > 0;
+    }
+
+    private String categoryOf(String fullTestName) {
+        return TestExecutionAnalytics.categorize(fullTestName.substring(fullTestName.lastIndexOf('.') + 1));
+    }
+
+    /**
+     * Simulate greedy list scheduling of durations (in the given order) on a number of workers
+     * Returns the predicted makespan in ms
+     */
+    public static double predictMakespan(List<Double> durations, int workers) {
+        PriorityQueue<Double> workerLoads = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(workers, 1); i++) {
+            workerLoads.add(0.0);
+        }
+        for (double duration : durations) {
+            workerLoads.add(workerLoads.poll() + duration);
+        }
+        return workerLoads.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
+    }
+}
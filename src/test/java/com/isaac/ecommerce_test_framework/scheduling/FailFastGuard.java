@@ -0,0 +1,113 @@
+package com.isaac.ecommerce_test_framework.scheduling;
+
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fail-fast guard
+ * Counts hard failures (failures left after retries) and aborts the rest of the run after a configured number
+ */
+public class FailFastGuard {
+
+    // Skip raised for tests that never ran because the run was aborted
+    public static class FailFastSkipException extends SkipException {
+        public FailFastSkipException(String message) {
+            super(message);
+        }
+    }
+
+    private static FailFastGuard instance;
+    private final ConfigManager config;
+    private final AtomicInteger hardFailures = new AtomicInteger();
+    private final AtomicInteger abortedTests = new AtomicInteger();
+    private final AtomicLong runStartTime = new AtomicLong(System.currentTimeMillis());
+    private final AtomicLong firstFailureTime = new AtomicLong();
+    private volatile String firstFailure;
+
+    private FailFastGuard() {
+        this.config = ConfigManager.getInstance();
+    }
+
+    public static synchronized FailFastGuard getInstance() {
+        if (instance == null) {
+            instance = new FailFastGuard();
+        }
+        return instance;
+    }
+
+    /**
+     * Mark the start of the run (time to first failure is measured from here)
+     */
+    public void start() {
+        runStartTime.set(System.currentTimeMillis());
+        hardFailures.set(0);
+        abortedTests.set(0);
+        firstFailureTime.set(0);
+        firstFailure = null;
+    }
+
+    /**
+     * Record a hard failure
+     */
+    public void recordFailure(ITestResult result) {
+        if (hardFailures.incrementAndGet() == 1) {
+            firstFailureTime.set(System.currentTimeMillis());
+            firstFailure = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+        }
+    }
+
+    /**
+     * Whether the run has reached the configured number of hard failures
+     */
+    public boolean isTripped() {
+        int maxFailures = config.getFailFastMaxFailures();
+        return maxFailures > 0 && hardFailures.get() >= maxFailures;
+    }
+
+    /**
+     * Skip the calling test when the run has been aborted
+     */
+    public void checkNotAborted(String testName) {
+        if (isTripped()) {
+            abortedTests.incrementAndGet();
+            throw new FailFastSkipException("Fail-fast: run aborted after " + hardFailures.get() +
+                " hard failures, skipping " + testName);
+        }
+    }
+
+    /**
+     * Whether a skipped result was skipped by the fail-fast abort (not a dependency, data provider or test skip)
+     */
+    public static boolean isAbortSkip(ITestResult result) {
+        for (Throwable cause = result.getThrowable(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof FailFastSkipException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int getHardFailures() {
+        return hardFailures.get();
+    }
+
+    public int getAbortedTests() {
+        return abortedTests.get();
+    }
+
+    /**
+     * Get a printable summary of the fail-fast signal
+     */
+    public String getMetricsSummary() {
+        if (firstFailure == null) {
+            return "Fail-fast - no hard failures";
+        }
+        return "Fail-fast - first failure after " + (firstFailureTime.get() - runStartTime.get()) + " ms (" +
+            firstFailure + "), hard failures: " + hardFailures.get() +
+            ", aborted tests: " + abortedTests.get();
+    }
+}
@@ -0,0 +1,211 @@
+package com.isaac.ecommerce_test_framework.scheduling;
+
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.flakiness.FlakinessAnalyzer;
+import com.isaac.ecommerce_test_framework.utils.TestUtilities;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestNGListener;
+import org.testng.ITestNGListenerFactory;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Quarantine execution lane
+ * Runs quarantined tests in a separate, low-concurrency TestNG run, after or alongside the main lane,
+ * so they keep feeding analytics without tying up the main thread pool or failing the build
+ */
+public class QuarantineLane {
+
+    public static final String LANE_PARAMETER = "quarantine.lane";
+
+    // Counts the results of the quarantine run
+    private class LaneResultListener implements ITestListener {
+        @Override
+        public void onTestSuccess(ITestResult result) {
+            passed.incrementAndGet();
+        }
+
+        @Override
+        public void onTestFailure(ITestResult result) {
+            failed.incrementAndGet();
+        }
+
+        @Override
+        public void onTestSkipped(ITestResult result) {
+            skipped.incrementAndGet();
+        }
+    }
+
+    // Creates the @Listeners of the lane's tests; suite listeners already run for the main suite, which
+    // starts this lane from inside its own lifecycle, so they are replaced by a listener that does nothing
+    private static class LaneListenerFactory implements ITestNGListenerFactory {
+        @Override
+        public ITestNGListener createListener(Class<? extends ITestNGListener> listenerClass) {
+            if (ISuiteListener.class.isAssignableFrom(listenerClass)) {
+                return new ITestNGListener() { };
+            }
+            try {
+                return listenerClass.getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create listener " + listenerClass.getName(), e);
+            }
+        }
+    }
+
+    private static QuarantineLane instance;
+    private final ConfigManager config;
+    private volatile Set<String> quarantinedTests;
+    private Thread laneThread;
+
+    // Lane metrics
+    private final AtomicLong passed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong duration = new AtomicLong();
+    private volatile int laneSize;
+
+    private QuarantineLane() {
+        this.config = ConfigManager.getInstance();
+    }
+
+    public static synchronized QuarantineLane getInstance() {
+        if (instance == null) {
+            instance = new QuarantineLane();
+        }
+        return instance;
+    }
+
+    /**
+     * Whether the given suite is the quarantine lane itself
+     */
+    public static boolean isLaneSuite(ISuite suite) {
+        return suite != null && "true".equals(suite.getParameter(LANE_PARAMETER));
+    }
+
+    /**
+     * Tests routed to the quarantine lane: flakiness-based quarantine list plus quarantine.tests
+     */
+    public synchronized Set<String> getQuarantinedTests() {
+        if (quarantinedTests == null) {
+            Set<String> tests = new TreeSet<>(FlakinessAnalyzer.getInstance().getTestsForQuarantine());
+            for (String test : config.getProperty("quarantine.tests", "").split(",")) {
+                if (!test.trim().isEmpty()) {
+                    tests.add(test.trim());
+                }
+            }
+            quarantinedTests = config.isQuarantineEnabled() ? tests : Collections.emptySet();
+        }
+        return quarantinedTests;
+    }
+
+    public boolean isQuarantined(String fullTestName) {
+        return getQuarantinedTests().contains(fullTestName);
+    }
+
+    /**
+     * Start the lane on a background thread (alongside mode)
+     */
+    public synchronized void startAlongside(Collection<String> tests) {
+        if (tests.isEmpty() || laneThread != null) {
+            return;
+        }
+        laneThread = new Thread(() -> run(tests), "quarantine-lane");
+        laneThread.setDaemon(true);
+        laneThread.start();
+    }
+
+    /**
+     * Wait for an alongside lane to finish
+     */
+    public void awaitCompletion() {
+        Thread thread;
+        synchronized (this) {
+            thread = laneThread;
+        }
+        if (thread != null) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Run the given tests (fully qualified class name + "." + method name) in a nested TestNG run
+     */
+    public void run(Collection<String> tests) {
+        if (tests.isEmpty()) {
+            return;
+        }
+        laneSize = tests.size();
+        TestUtilities.logInfo("Quarantine lane: running " + tests.size() + " tests with " +
+            config.getQuarantineThreadCount() + " threads (" + config.getQuarantineMode() + " main lane)");
+
+        long start = System.currentTimeMillis();
+        try {
+            TestNG testng = new TestNG();
+            testng.setXmlSuites(List.of(buildSuite(tests)));
+            testng.setUseDefaultListeners(false);
+            testng.setVerbose(0);
+            testng.setListenerFactory(new LaneListenerFactory());
+            testng.addListener(new LaneResultListener());
+            testng.run();
+        } catch (Exception e) {
+            System.err.println("Warning: Quarantine lane failed: " + e.getMessage());
+        } finally {
+            duration.set(System.currentTimeMillis() - start);
+        }
+        TestUtilities.logInfo(getMetricsSummary());
+    }
+
+    private XmlSuite buildSuite(Collection<String> tests) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName("Quarantine Lane");
+        suite.setParallel(XmlSuite.ParallelMode.METHODS);
+        suite.setThreadCount(config.getQuarantineThreadCount());
+        suite.setParameters(Map.of(LANE_PARAMETER, "true"));
+
+        Map<String, List<String>> methodsByClass = new TreeMap<>();
+        for (String test : tests) {
+            int separator = test.lastIndexOf('.');
+            methodsByClass.computeIfAbsent(test.substring(0, separator), k -> new ArrayList<>())
+                .add(test.substring(separator + 1));
+        }
+
+        XmlTest xmlTest = new XmlTest(suite);
+        xmlTest.setName("Quarantined Tests");
+        List<XmlClass> classes = new ArrayList<>();
+        methodsByClass.forEach((className, methods) -> {
+            XmlClass xmlClass = new XmlClass(className, false);
+            List<XmlInclude> includes = new ArrayList<>();
+            for (String method : methods) {
+                includes.add(new XmlInclude(method));
+            }
+            xmlClass.setIncludedMethods(includes);
+            classes.add(xmlClass);
+        });
+        xmlTest.setXmlClasses(classes);
+        return suite;
+    }
+
+    /**
+     * Get a printable summary of the lane results
+     */
+    public String getMetricsSummary() {
+        return "Quarantine lane - tests: " + laneSize +
+            ", passed: " + passed.get() +
+            ", failed: " + failed.get() +
+            ", skipped: " + skipped.get() +
+            ", duration: " + duration.get() + " ms (not blocking the build)";
+    }
+}
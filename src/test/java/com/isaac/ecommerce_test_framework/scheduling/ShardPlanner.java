@@ -0,0 +1,316 @@
+package com.isaac.ecommerce_test_framework.scheduling;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.isaac.ecommerce_test_framework.analytics.TestExecutionAnalytics;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import org.testng.annotations.Test;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Historical-timing-based shard planner
+ * Bin-packs test methods into N shards of balanced expected duration (longest first onto the least loaded shard)
+ * and emits one TestNG suite per shard; the same plan backs the -Dshard=i/N selector of DurationAwareScheduler
+ * The plan is published as a plan file, so shards started later (after earlier shards updated the history)
+ * run the same assignment instead of planning again
+ */
+public class ShardPlanner {
+
+    public static final Path SHARDS_DIR = Paths.get("target", "shards");
+
+    // Inner class for one shard of a plan
+    public static class Shard {
+        public int index;
+        public double expectedDuration;
+        public List<String> tests = new ArrayList<>();
+    }
+
+    // Inner class for a complete plan
+    public static class ShardPlan {
+        public String planId;
+        public int shardCount;
+        public List<Shard> shards = new ArrayList<>();
+
+        /**
+         * 1-based index of the shard a test is assigned to
+         * Tests missing from a plan file written for an older test set are spread by name, so each runs exactly once
+         */
+        public int getShardOf(String testName) {
+            for (Shard shard : shards) {
+                if (shard.tests.contains(testName)) {
+                    return shard.index;
+                }
+            }
+            return Math.floorMod(testName.hashCode(), shardCount) + 1;
+        }
+
+        @JsonIgnore
+        public Set<String> getTests() {
+            Set<String> tests = new TreeSet<>();
+            shards.forEach(shard -> tests.addAll(shard.tests));
+            return tests;
+        }
+
+        @JsonIgnore
+        public double getExpectedImbalance() {
+            return imbalance(shards.stream().mapToDouble(shard -> shard.expectedDuration).toArray());
+        }
+    }
+
+    // Inner class for the realized result of one shard run
+    public static class ShardResult {
+        public String planId;
+        public int shard;
+        public int shardCount;
+        public double expectedDuration;
+        public long realizedDuration;
+        public long wallTime;
+        public long finishedAt;
+    }
+
+    private final DurationEstimator estimator;
+    private final ObjectMapper objectMapper;
+
+    public ShardPlanner(DurationEstimator estimator) {
+        this.estimator = estimator;
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+    }
+
+    /**
+     * Plan shards for the given tests (fully qualified class name + "." + method name)
+     * The plan only depends on the test names and the history, so every JVM computes the same one
+     */
+    public ShardPlan plan(Collection<String> testNames, int shardCount) {
+        ShardPlan plan = new ShardPlan();
+        plan.shardCount = shardCount;
+        for (int i = 1; i <= shardCount; i++) {
+            Shard shard = new Shard();
+            shard.index = i;
+            plan.shards.add(shard);
+        }
+
+        List<String> tests = new ArrayList<>(new TreeSet<>(testNames));
+        tests.sort(Comparator.comparingDouble((String test) -> estimator.estimate(test)).reversed());
+
+        for (String test : tests) {
+            // Least loaded shard, lowest index on ties
+            Shard target = plan.shards.get(0);
+            for (Shard shard : plan.shards) {
+                if (shard.expectedDuration < target.expectedDuration) {
+                    target = shard;
+                }
+            }
+            target.tests.add(test);
+            target.expectedDuration += estimator.estimate(test);
+        }
+
+        plan.planId = Integer.toHexString(plan.shards.stream().map(shard -> shard.tests).toList().hashCode());
+        return plan;
+    }
+
+    /**
+     * Default plan file for N shards
+     */
+    public static Path getPlanFile(int shardCount) {
+        return SHARDS_DIR.resolve("shard-plan-" + shardCount + ".json");
+    }
+
+    /**
+     * Shared plan for N shards: the plan file when it was made for exactly these tests, otherwise a new plan
+     * from the current history, published to the plan file. JVMs on the same machine take a file lock, so the
+     * first one plans and the others read its plan. Delete the file (mvn clean) to replan from newer history
+     */
+    public ShardPlan loadOrCreatePlan(Path planFile, Collection<String> testNames, int shardCount) throws IOException {
+        Set<String> tests = new TreeSet<>(testNames);
+        Path directory = planFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        synchronized (ShardPlanner.class) {
+            try (FileChannel channel = FileChannel.open(directory.resolve(".shard-plan.lock"),
+                     StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                if (Files.exists(planFile)) {
+                    ShardPlan existing = readPlan(planFile);
+                    if (existing.shardCount == shardCount && existing.getTests().equals(tests)) {
+                        return existing;
+                    }
+                }
+                ShardPlan plan = plan(tests, shardCount);
+                writePlan(plan, planFile);
+                return plan;
+            }
+        }
+    }
+
+    /**
+     * Read a plan file (written by a sharded run or by the ShardPlanner main)
+     */
+    public ShardPlan readPlan(Path planFile) throws IOException {
+        return objectMapper.readValue(planFile.toFile(), ShardPlan.class);
+    }
+
+    /**
+     * Replace a plan file atomically, so concurrent readers never see a partial plan
+     */
+    public void writePlan(ShardPlan plan, Path planFile) throws IOException {
+        Path temporaryFile = planFile.resolveSibling(planFile.getFileName() + ".tmp");
+        objectMapper.writeValue(temporaryFile.toFile(), plan);
+        Files.move(temporaryFile, planFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Write the plan and one TestNG suite file per shard (shard-i-of-N.xml)
+     */
+    public void writeSuiteFiles(ShardPlan plan, Path outputDir, int threadCount) throws IOException {
+        Files.createDirectories(outputDir);
+        writePlan(plan, outputDir.resolve("shard-plan-" + plan.shardCount + ".json"));
+
+        for (Shard shard : plan.shards) {
+            Map<String, List<String>> methodsByClass = new TreeMap<>();
+            for (String test : shard.tests) {
+                int separator = test.lastIndexOf('.');
+                methodsByClass.computeIfAbsent(test.substring(0, separator), k -> new ArrayList<>())
+                    .add(test.substring(separator + 1));
+            }
+
+            StringBuilder xml = new StringBuilder();
+            xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+            xml.append("<!-- Generated by ShardPlanner: expected duration ")
+                .append(String.format("%.0f", shard.expectedDuration)).append(" ms, plan ").append(plan.planId).append(" -->\n");
+            xml.append("<suite name=\"SauceDemo Test Suite (shard ").append(shard.index).append(" of ").append(plan.shardCount)
+                .append(")\" verbose=\"1\" parallel=\"methods\" thread-count=\"").append(threadCount).append("\">\n");
+            xml.append("    <test name=\"Shard ").append(shard.index).append("\">\n");
+            xml.append("        <classes>\n");
+            methodsByClass.forEach((className, methods) -> {
+                xml.append("            <class name=\"").append(className).append("\">\n");
+                xml.append("                <methods>\n");
+                methods.stream().sorted().forEach(method ->
+                    xml.append("                    <include name=\"").append(method).append("\"/>\n"));
+                xml.append("                </methods>\n");
+                xml.append("            </class>\n");
+            });
+            xml.append("        </classes>\n");
+            xml.append("    </test>\n");
+            xml.append("</suite>\n");
+
+            Files.writeString(outputDir.resolve("shard-" + shard.index + "-of-" + plan.shardCount + ".xml"), xml);
+        }
+    }
+
+    /**
+     * Record the realized duration of a shard run and return the results of every shard of the same plan found so far
+     */
+    public List<ShardResult> recordResult(ShardPlan plan, int shardIndex, long realizedDuration, long wallTime) throws IOException {
+        ShardResult result = new ShardResult();
+        result.planId = plan.planId;
+        result.shard = shardIndex;
+        result.shardCount = plan.shardCount;
+        result.expectedDuration = plan.shards.get(shardIndex - 1).expectedDuration;
+        result.realizedDuration = realizedDuration;
+        result.wallTime = wallTime;
+        result.finishedAt = System.currentTimeMillis();
+
+        Files.createDirectories(SHARDS_DIR);
+        objectMapper.writeValue(SHARDS_DIR.resolve("shard-" + shardIndex + "-of-" + plan.shardCount + "-result.json").toFile(), result);
+
+        List<ShardResult> results = new ArrayList<>();
+        for (int i = 1; i <= plan.shardCount; i++) {
+            File resultFile = SHARDS_DIR.resolve("shard-" + i + "-of-" + plan.shardCount + "-result.json").toFile();
+            if (resultFile.exists()) {
+                ShardResult shardResult = objectMapper.readValue(resultFile, ShardResult.class);
+                if (plan.planId.equals(shardResult.planId)) {
+                    results.add(shardResult);
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Relative imbalance of shard loads: max / mean - 1 (0 means perfectly balanced)
+     */
+    public static double imbalance(double[] loads) {
+        double max = Arrays.stream(loads).max().orElse(0.0);
+        double mean = Arrays.stream(loads).average().orElse(0.0);
+        return mean == 0 ? 0.0 : max / mean - 1;
+    }
+
+    /**
+     * Parse a shard selector "i/N" into {i, N}; returns null when the selector is not set
+     */
+    public static int[] parseShard(String selector) {
+        if (selector == null || selector.isBlank()) {
+            return null;
+        }
+        String[] parts = selector.trim().split("/");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid shard selector '" + selector + "', expected i/N");
+        }
+        int index = Integer.parseInt(parts[0].trim());
+        int count = Integer.parseInt(parts[1].trim());
+        if (count < 1 || index < 1 || index > count) {
+            throw new IllegalArgumentException("Invalid shard selector '" + selector + "', expected 1 <= i <= N");
+        }
+        return new int[]{index, count};
+    }
+
+    /**
+     * Collect the @Test methods of the classes listed in a TestNG suite file
+     */
+    public static List<String> discoverTests(Path suiteFile) throws Exception {
+        List<String> tests = new ArrayList<>();
+        NodeList classes = DocumentBuilderFactory.newInstance().newDocumentBuilder()
+            .parse(suiteFile.toFile()).getElementsByTagName("class");
+        for (int i = 0; i < classes.getLength(); i++) {
+            Class<?> testClass = Class.forName(((Element) classes.item(i)).getAttribute("name"));
+            boolean classLevelTest = testClass.isAnnotationPresent(Test.class);
+            for (Method method : testClass.getMethods()) {
+                if (method.isAnnotationPresent(Test.class) || (classLevelTest && method.getDeclaringClass() == testClass)) {
+                    tests.add(testClass.getName() + "." + method.getName());
+                }
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * Generate shard suite files from the command line
+     * Usage: ShardPlanner <shard count> [suite file, default testng.xml]
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.out.println("Usage: ShardPlanner <shard count> [suite file]");
+            return;
+        }
+        int shardCount = Integer.parseInt(args[0]);
+        Path suiteFile = Paths.get(args.length > 1 ? args[1] : "testng.xml");
+        ConfigManager config = ConfigManager.getInstance();
+
+        ShardPlanner planner = new ShardPlanner(new DurationEstimator(TestExecutionAnalytics.getInstance(),
+            config.getSchedulingDefaultEstimateMs()));
+        ShardPlan plan = planner.plan(discoverTests(suiteFile), shardCount);
+        planner.writeSuiteFiles(plan, SHARDS_DIR, config.getThreadCount());
+
+        for (Shard shard : plan.shards) {
+            System.out.println(String.format("Shard %d of %d: %d tests, expected %.0f ms",
+                shard.index, shardCount, shard.tests.size(), shard.expectedDuration));
+        }
+        System.out.println(String.format("Expected imbalance: %.1f%%", plan.getExpectedImbalance() * 100));
+    }
+}
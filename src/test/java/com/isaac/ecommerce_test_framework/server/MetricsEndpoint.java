@@ -0,0 +1,141 @@
+package com.isaac.ecommerce_test_framework.server;
+
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.metrics.MetricsRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded HTTP endpoint serving live framework metrics at /metrics in the Prometheus text format
+ * Lets a local scraper follow long soak runs while they are in progress
+ */
+public class MetricsEndpoint {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static MetricsEndpoint instance;
+    private final MetricsRegistry registry;
+    private final String host;
+    private final int configuredPort;
+    private final AtomicLong scrapeCount = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Endpoint for a registry on host:port (port 0 binds a free port, see getPort())
+     */
+    public MetricsEndpoint(MetricsRegistry registry, String host, int port) {
+        this.registry = registry;
+        this.host = host;
+        this.configuredPort = port;
+    }
+
+    public static synchronized MetricsEndpoint getInstance() {
+        if (instance == null) {
+            ConfigManager config = ConfigManager.getInstance();
+            instance = new MetricsEndpoint(MetricsRegistry.getInstance(), config.getMetricsHost(), config.getMetricsPort());
+        }
+        return instance;
+    }
+
+    /**
+     * Start the endpoint (no-op when already running)
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+
+        server = HttpServer.create(new InetSocketAddress(host, configuredPort), 0);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-endpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+
+        System.out.println("[INFO] Metrics endpoint started at " + getUrl());
+    }
+
+    /**
+     * Stop the endpoint
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        System.out.println("[INFO] Metrics endpoint stopped after " + scrapeCount.get() + " scrapes");
+    }
+
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Bound port (the configured one until started)
+     */
+    public synchronized int getPort() {
+        return server != null ? server.getAddress().getPort() : configuredPort;
+    }
+
+    public String getUrl() {
+        return "http://" + host + ":" + getPort() + "/metrics";
+    }
+
+    public long getScrapeCount() {
+        return scrapeCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            String method = exchange.getRequestMethod();
+            if (!exchange.getRequestURI().getPath().equals("/metrics")) {
+                sendText(exchange, 404, "Not found, metrics are served at /metrics\n");
+                return;
+            }
+            if (!method.equals("GET") && !method.equals("HEAD")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                sendText(exchange, 405, "Method not allowed\n");
+                return;
+            }
+
+            scrapeCount.incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            if (method.equals("HEAD")) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            // Chunked, so the exposition is written straight to the socket
+            exchange.sendResponseHeaders(200, 0);
+            try (Writer out = new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8)) {
+                registry.writeTo(out);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        byte[] body = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
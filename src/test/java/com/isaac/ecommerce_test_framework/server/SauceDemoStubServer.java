@@ -0,0 +1,161 @@
+package com.isaac.ecommerce_test_framework.server;
+
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Embedded in-JVM stand-in for the SauceDemo storefront
+ * Serves a static replica of the pages, assets and client-side behaviour the page objects use,
+ * with optional per-route latency injection for benchmarking the framework without the network
+ */
+public class SauceDemoStubServer {
+
+    private static final String RESOURCE_ROOT = "stub/saucedemo";
+
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+        "html", "text/html; charset=utf-8",
+        "js", "application/javascript; charset=utf-8",
+        "css", "text/css; charset=utf-8",
+        "svg", "image/svg+xml",
+        "png", "image/png",
+        "ico", "image/x-icon"
+    );
+
+    private static SauceDemoStubServer instance;
+    private final ConfigManager config;
+    private final Map<String, byte[]> resourceCache;
+    private final AtomicLong requestCount = new AtomicLong();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private SauceDemoStubServer() {
+        this.config = ConfigManager.getInstance();
+        this.resourceCache = new ConcurrentHashMap<>();
+    }
+
+    public static synchronized SauceDemoStubServer getInstance() {
+        if (instance == null) {
+            instance = new SauceDemoStubServer();
+        }
+        return instance;
+    }
+
+    /**
+     * Start the server on the configured port (no-op when already running)
+     */
+    public synchronized void start() throws IOException {
+        if (server != null) {
+            return;
+        }
+
+        int port = config.getStubServerPort();
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "saucedemo-stub");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+
+        System.out.println("[INFO] SauceDemo stub server started at " + getBaseUrl());
+    }
+
+    /**
+     * Stop the server
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+        System.out.println("[INFO] SauceDemo stub server stopped after " + requestCount.get() + " requests");
+    }
+
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + config.getStubServerPort();
+    }
+
+    public long getRequestCount() {
+        return requestCount.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/")) {
+                path = "/index.html";
+            }
+
+            injectLatency(path);
+
+            byte[] body = path.contains("..") ? null : loadResource(path);
+            if (body == null) {
+                sendResponse(exchange, 404, "text/plain; charset=utf-8", ("Not found: " + path).getBytes());
+                return;
+            }
+
+            String extension = path.substring(path.lastIndexOf('.') + 1);
+            exchange.getResponseHeaders().set("Cache-Control", extension.equals("html") ? "no-cache" : "max-age=3600");
+            sendResponse(exchange, 200, CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"), body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Delay the response by the configured latency for this route
+     */
+    private void injectLatency(String path) {
+        int latency = config.getStubRouteLatency(path);
+        if (latency > 0) {
+            try {
+                Thread.sleep(latency);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private byte[] loadResource(String path) throws IOException {
+        byte[] cached = resourceCache.get(path);
+        if (cached != null) {
+            return cached;
+        }
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(RESOURCE_ROOT + path)) {
+            if (inputStream == null) {
+                return null;
+            }
+            byte[] body = inputStream.readAllBytes();
+            resourceCache.put(path, body);
+            return body;
+        }
+    }
+
+    private void sendResponse(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+        }
+    }
+}
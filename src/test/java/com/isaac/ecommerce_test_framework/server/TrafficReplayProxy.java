@@ -0,0 +1,323 @@
+package com.isaac.ecommerce_test_framework.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Record-and-replay HTTP traffic cache placed in front of the application
+ * In record mode every response of the real application is forwarded to the browser and stored on disk
+ * (HAR-like index plus content-addressed bodies); in replay mode the recordings are served locally
+ */
+public class TrafficReplayProxy {
+
+    // Hop-by-hop and length headers are never copied between the two connections
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+        "connection", "keep-alive", "proxy-connection", "transfer-encoding", "te", "trailer", "upgrade",
+        "content-length", "host", "expect", "accept-encoding", "proxy-authorization", "proxy-authenticate"
+    );
+
+    // Inner class describing one recorded request/response pair (an entry of index.json)
+    public static class RecordedExchange {
+        public String method;
+        public String url;
+        public String requestBodyHash;
+        public int status;
+        public Map<String, List<String>> headers = new LinkedHashMap<>();
+        public String bodyHash;
+        public long bodySize;
+        public long upstreamTimeMs;
+        public long recordedAt;
+    }
+
+    // Inner class for the on-disk index
+    public static class TrafficIndex {
+        public String upstream;
+        public List<RecordedExchange> entries = new ArrayList<>();
+    }
+
+    private static TrafficReplayProxy instance;
+    private final ConfigManager config;
+    private final ObjectMapper objectMapper;
+    private final Map<String, RecordedExchange> recordings;
+    private HttpServer server;
+    private ExecutorService executor;
+    private HttpClient httpClient;
+    private String mode;
+    private Path cacheDir;
+    private Path bodiesDir;
+
+    // Traffic metrics
+    private final AtomicLong recorded = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    private TrafficReplayProxy() {
+        this.config = ConfigManager.getInstance();
+        this.objectMapper = new ObjectMapper();
+        this.objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        this.recordings = new ConcurrentHashMap<>();
+    }
+
+    public static synchronized TrafficReplayProxy getInstance() {
+        if (instance == null) {
+            instance = new TrafficReplayProxy();
+        }
+        return instance;
+    }
+
+    /**
+     * Start the proxy in the configured traffic mode (no-op when already running or when the mode is off)
+     */
+    public synchronized void start() throws IOException {
+        mode = config.getTrafficMode();
+        if (server != null || "off".equals(mode)) {
+            return;
+        }
+
+        cacheDir = Paths.get(config.getTrafficCacheDir());
+        bodiesDir = cacheDir.resolve("bodies");
+        Files.createDirectories(bodiesDir);
+        loadIndex();
+
+        if ("record".equals(mode) || config.isTrafficReplayFallthrough()) {
+            httpClient = HttpClient.newBuilder()
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        }
+
+        server = HttpServer.create(new InetSocketAddress("localhost", config.getTrafficProxyPort()), 0);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "traffic-" + mode);
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+
+        System.out.println("[INFO] Traffic proxy started in " + mode + " mode at " + getBaseUrl() +
+            " (upstream " + getUpstreamUrl() + ", " + recordings.size() + " recordings)");
+    }
+
+    /**
+     * Stop the proxy and persist the index of a recording run
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        server.stop(0);
+        executor.shutdownNow();
+        server = null;
+
+        if ("record".equals(mode)) {
+            saveIndex();
+        }
+        System.out.println("[INFO] Traffic proxy stopped - " + getMetricsSummary());
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + config.getTrafficProxyPort();
+    }
+
+    private String getUpstreamUrl() {
+        return config.getProperty("app.base.url", "https://www.saucedemo.com");
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            byte[] requestBody = exchange.getRequestBody().readAllBytes();
+            String key = requestKey(exchange.getRequestMethod(), exchange.getRequestURI().toString(), requestBody);
+
+            RecordedExchange recording = "replay".equals(mode) ? recordings.get(key) : null;
+            if (recording != null) {
+                byte[] body = Files.readAllBytes(bodiesDir.resolve(recording.bodyHash));
+                replayed.incrementAndGet();
+                sendResponse(exchange, recording.status, recording.headers, body);
+                return;
+            }
+
+            if ("replay".equals(mode) && !config.isTrafficReplayFallthrough()) {
+                misses.incrementAndGet();
+                System.out.println("WARNING: No recording for " + key);
+                sendResponse(exchange, 404, Map.of("Content-Type", List.of("text/plain; charset=utf-8")),
+                    ("No recording for " + key).getBytes());
+                return;
+            }
+
+            if ("replay".equals(mode)) {
+                misses.incrementAndGet();
+            }
+            forward(exchange, key, requestBody);
+        } catch (Exception e) {
+            System.err.println("Warning: Traffic proxy failed for " + exchange.getRequestURI() + ": " + e.getMessage());
+            sendResponse(exchange, 502, Map.of("Content-Type", List.of("text/plain; charset=utf-8")),
+                ("Traffic proxy error: " + e.getMessage()).getBytes());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Forward a request to the real application, returning its response and recording it in record mode
+     */
+    private void forward(HttpExchange exchange, String key, byte[] requestBody) throws IOException, InterruptedException {
+        String upstream = getUpstreamUrl();
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(upstream + exchange.getRequestURI()))
+            .timeout(Duration.ofSeconds(30))
+            .method(exchange.getRequestMethod(), requestBody.length == 0
+                ? HttpRequest.BodyPublishers.noBody()
+                : HttpRequest.BodyPublishers.ofByteArray(requestBody));
+        exchange.getRequestHeaders().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase()) && !name.equalsIgnoreCase("referer") && !name.equalsIgnoreCase("origin")) {
+                values.forEach(value -> request.header(name, value));
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        long upstreamTime = System.currentTimeMillis() - start;
+
+        // Keep redirects on the proxy origin
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        response.headers().map().forEach((name, values) -> {
+            if (!SKIPPED_HEADERS.contains(name.toLowerCase()) && !name.startsWith(":")) {
+                headers.put(name, name.equalsIgnoreCase("location")
+                    ? values.stream().map(value -> value.replace(upstream, getBaseUrl())).toList()
+                    : values);
+            }
+        });
+
+        if ("record".equals(mode)) {
+            record(key, exchange, requestBody, response.statusCode(), headers, response.body(), upstreamTime);
+        }
+        sendResponse(exchange, response.statusCode(), headers, response.body());
+    }
+
+    /**
+     * Store a response body under its content hash and add the exchange to the index
+     */
+    private void record(String key, HttpExchange exchange, byte[] requestBody, int status,
+                        Map<String, List<String>> headers, byte[] body, long upstreamTime) throws IOException {
+        String bodyHash = sha256(body);
+        Path bodyFile = bodiesDir.resolve(bodyHash);
+        if (!Files.exists(bodyFile)) {
+            Path tempFile = Files.createTempFile(bodiesDir, bodyHash, ".tmp");
+            Files.write(tempFile, body);
+            Files.move(tempFile, bodyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        RecordedExchange recording = new RecordedExchange();
+        recording.method = exchange.getRequestMethod();
+        recording.url = exchange.getRequestURI().toString();
+        recording.requestBodyHash = requestBody.length == 0 ? null : sha256(requestBody);
+        recording.status = status;
+        recording.headers = headers;
+        recording.bodyHash = bodyHash;
+        recording.bodySize = body.length;
+        recording.upstreamTimeMs = upstreamTime;
+        recording.recordedAt = System.currentTimeMillis();
+        recordings.put(key, recording);
+        recorded.incrementAndGet();
+    }
+
+    private void sendResponse(HttpExchange exchange, int status, Map<String, List<String>> headers, byte[] body) throws IOException {
+        headers.forEach((name, values) -> exchange.getResponseHeaders().put(name, new ArrayList<>(values)));
+        boolean noBody = status == 204 || status == 304 || "HEAD".equals(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream outputStream = exchange.getResponseBody()) {
+                outputStream.write(body);
+            }
+            bytesServed.addAndGet(body.length);
+        }
+    }
+
+    private String requestKey(String method, String url, byte[] requestBody) {
+        return method + " " + url + (requestBody.length == 0 ? "" : " " + sha256(requestBody));
+    }
+
+    private String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Load the recordings of previous runs
+     */
+    private void loadIndex() {
+        File indexFile = cacheDir.resolve("index.json").toFile();
+        if (!indexFile.exists()) {
+            if ("replay".equals(mode)) {
+                System.out.println("Warning: No traffic recordings found in " + cacheDir + ". Run once with traffic.mode=record.");
+            }
+            return;
+        }
+        try {
+            TrafficIndex index = objectMapper.readValue(indexFile, TrafficIndex.class);
+            for (RecordedExchange recording : index.entries) {
+                recordings.put(recording.method + " " + recording.url +
+                    (recording.requestBodyHash == null ? "" : " " + recording.requestBodyHash), recording);
+            }
+        } catch (IOException e) {
+            System.out.println("Warning: Could not load traffic recordings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Persist the index (bodies are already on disk)
+     */
+    private void saveIndex() {
+        TrafficIndex index = new TrafficIndex();
+        index.upstream = getUpstreamUrl();
+        index.entries = new ArrayList<>(recordings.values());
+        index.entries.sort(Comparator.comparing((RecordedExchange recording) -> recording.url)
+            .thenComparing(recording -> recording.method));
+        try {
+            Path tempFile = Files.createTempFile(cacheDir, "index", ".tmp");
+            objectMapper.writeValue(tempFile.toFile(), index);
+            Files.move(tempFile, cacheDir.resolve("index.json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("Warning: Could not save traffic recordings: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Get a printable summary of the traffic metrics
+     */
+    public String getMetricsSummary() {
+        return "Traffic proxy (" + mode + ") - recorded: " + recorded.get() +
+            ", replayed: " + replayed.get() +
+            ", misses: " + misses.get() +
+            ", bytes served: " + bytesServed.get();
+    }
+}
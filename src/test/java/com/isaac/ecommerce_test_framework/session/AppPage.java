@@ -0,0 +1,21 @@
+package com.isaac.ecommerce_test_framework.session;
+
+/**
+ * Application pages a state fixture can land on directly
+ */
+public enum AppPage {
+    PRODUCTS("/inventory.html"),
+    CART("/cart.html"),
+    CHECKOUT_STEP_ONE("/checkout-step-one.html"),
+    CHECKOUT_STEP_TWO("/checkout-step-two.html");
+
+    private final String path;
+
+    AppPage(String path) {
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
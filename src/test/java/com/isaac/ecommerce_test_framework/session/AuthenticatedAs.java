@@ -0,0 +1,20 @@
+package com.isaac.ecommerce_test_framework.session;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the user a test needs to be logged in as before it starts
+ * The session is restored from a cached snapshot instead of going through the login form
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface AuthenticatedAs {
+
+    /**
+     * User type as defined in the test data (e.g. "standard_user")
+     */
+    String value();
+}
@@ -0,0 +1,25 @@
+package com.isaac.ecommerce_test_framework.session;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the cart contents and landing page a test starts from
+ * Used together with {@link AuthenticatedAs}; the state is injected instead of built through the UI
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CartState {
+
+    /**
+     * Product indexes (in default product list order) to put in the cart
+     */
+    int[] items() default {};
+
+    /**
+     * Page to open once the state is in place
+     */
+    AppPage page() default AppPage.PRODUCTS;
+}
@@ -0,0 +1,176 @@
+package com.isaac.ecommerce_test_framework.session;
+
+import com.codeborne.selenide.WebDriverRunner;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.data.TestDataManager;
+import com.isaac.ecommerce_test_framework.pages.LoginPage;
+import com.isaac.ecommerce_test_framework.pages.ProductsPage;
+import com.isaac.ecommerce_test_framework.utils.TestUtilities;
+import io.qameta.allure.Step;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.codeborne.selenide.Selenide.open;
+
+/**
+ * Session fixture manager that logs in once per user type and injects the captured session into new browsers
+ * Saves the login form round-trips for every test that only needs an authenticated user
+ */
+public class SessionFixtureManager {
+
+    private static final String READ_STORAGE_SCRIPT =
+        "var storage = arguments[0] === 'local' ? window.localStorage : window.sessionStorage;" +
+        "var result = {};" +
+        "for (var i = 0; i < storage.length; i++) { var key = storage.key(i); result[key] = storage.getItem(key); }" +
+        "return result;";
+
+    private static final String WRITE_STORAGE_SCRIPT =
+        "var storage = arguments[0] === 'local' ? window.localStorage : window.sessionStorage;" +
+        "var entries = arguments[1];" +
+        "for (var key in entries) { storage.setItem(key, entries[key]); }";
+
+    private static SessionFixtureManager instance;
+    private final ConfigManager config;
+    private final TestDataManager testData;
+    // One login per user type: the first thread captures, concurrent first logins wait for its snapshot
+    private final Map<String, CompletableFuture<SessionSnapshot>> snapshots;
+
+    private SessionFixtureManager() {
+        this.config = ConfigManager.getInstance();
+        this.testData = TestDataManager.getInstance();
+        this.snapshots = new ConcurrentHashMap<>();
+    }
+
+    public static synchronized SessionFixtureManager getInstance() {
+        if (instance == null) {
+            instance = new SessionFixtureManager();
+        }
+        return instance;
+    }
+
+    /**
+     * Bring the current browser into an authenticated state for the given user type and open the products page
+     * Expects the browser to be on the application origin already
+     */
+    @Step("Restore authenticated session for: {userType}")
+    public ProductsPage restore(String userType) {
+        if (authenticate(userType)) {
+            open(config.getBaseUrl() + "/inventory.html");
+        }
+        return new ProductsPage();
+    }
+
+    /**
+     * Authenticate the current browser for the given user type without navigating anywhere else
+     * Returns true when a snapshot was injected, false when a UI login left the browser on the products page
+     */
+    public boolean authenticate(String userType) {
+        if (!config.isSessionFixtureEnabled()) {
+            capture(userType);
+            return false;
+        }
+
+        while (true) {
+            CompletableFuture<SessionSnapshot> entry = snapshots.get(userType);
+
+            if (entry == null || isExpired(entry)) {
+                // Claim the entry; only the claiming thread logs in through the UI
+                CompletableFuture<SessionSnapshot> login = new CompletableFuture<>();
+                boolean claimed = entry == null ? snapshots.putIfAbsent(userType, login) == null
+                    : snapshots.replace(userType, entry, login);
+                if (!claimed) {
+                    continue;
+                }
+                try {
+                    // This browser is then already authenticated
+                    login.complete(capture(userType));
+                } catch (RuntimeException | Error e) {
+                    // Let the next caller retry the login
+                    snapshots.remove(userType, login);
+                    login.completeExceptionally(e);
+                    throw e;
+                }
+                return false;
+            }
+
+            SessionSnapshot snapshot;
+            try {
+                snapshot = entry.join();
+            } catch (CompletionException e) {
+                // The login we waited for failed and was removed; claim a new one
+                continue;
+            }
+            inject(snapshot);
+            return true;
+        }
+    }
+
+    private boolean isExpired(CompletableFuture<SessionSnapshot> entry) {
+        return entry.isDone() && !entry.isCompletedExceptionally() && entry.join().isExpired();
+    }
+
+    /**
+     * Log in through the login form and capture the resulting cookies and storage
+     */
+    private SessionSnapshot capture(String userType) {
+        Map<String, String> credentials = testData.getUserCredentials(userType);
+        if (credentials == null) {
+            throw new IllegalStateException("No credentials configured for user type: " + userType);
+        }
+
+        TestUtilities.logStep("Capturing session snapshot for user: " + userType);
+        ProductsPage productsPage = new LoginPage().login(credentials.get("username"), credentials.get("password"));
+        productsPage.verifyProductsPageDisplayed();
+
+        WebDriver driver = WebDriverRunner.getWebDriver();
+        return new SessionSnapshot(userType,
+            new ArrayList<>(driver.manage().getCookies()),
+            readStorage(driver, "local"),
+            readStorage(driver, "session"));
+    }
+
+    /**
+     * Inject a captured session into the current browser
+     */
+    private void inject(SessionSnapshot snapshot) {
+        TestUtilities.logStep("Injecting session snapshot for user: " + snapshot.userType);
+        WebDriver driver = WebDriverRunner.getWebDriver();
+
+        for (Cookie cookie : snapshot.cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        writeStorage(driver, "local", snapshot.localStorage);
+        writeStorage(driver, "session", snapshot.sessionStorage);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, String> readStorage(WebDriver driver, String area) {
+        Object result = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT, area);
+        Map<String, String> storage = new HashMap<>();
+        if (result instanceof Map) {
+            ((Map<String, Object>) result).forEach((key, value) -> storage.put(key, String.valueOf(value)));
+        }
+        return storage;
+    }
+
+    private void writeStorage(WebDriver driver, String area, Map<String, String> entries) {
+        if (!entries.isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, area, entries);
+        }
+    }
+
+    /**
+     * Drop all cached snapshots (forces a fresh UI login on next use)
+     */
+    public void invalidateAll() {
+        snapshots.clear();
+    }
+}
@@ -0,0 +1,46 @@
+package com.isaac.ecommerce_test_framework.session;
+
+import org.openqa.selenium.Cookie;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of an authenticated browser session (cookies plus web storage)
+ */
+public class SessionSnapshot {
+
+    // Treat cookies that expire within this window as already expired
+    private static final long EXPIRY_MARGIN_MS = 30_000;
+
+    public final String userType;
+    public final List<Cookie> cookies;
+    public final Map<String, String> localStorage;
+    public final Map<String, String> sessionStorage;
+    public final long capturedAt;
+
+    public SessionSnapshot(String userType, List<Cookie> cookies,
+                           Map<String, String> localStorage, Map<String, String> sessionStorage) {
+        this.userType = userType;
+        this.cookies = Collections.unmodifiableList(cookies);
+        this.localStorage = Collections.unmodifiableMap(localStorage);
+        this.sessionStorage = Collections.unmodifiableMap(sessionStorage);
+        this.capturedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Check whether any captured cookie has expired (SauceDemo session cookies are short-lived)
+     */
+    public boolean isExpired() {
+        long threshold = System.currentTimeMillis() + EXPIRY_MARGIN_MS;
+        for (Cookie cookie : cookies) {
+            Date expiry = cookie.getExpiry();
+            if (expiry != null && expiry.getTime() < threshold) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,75 @@
+package com.isaac.ecommerce_test_framework.session;
+
+import com.codeborne.selenide.WebDriverRunner;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.utils.TestUtilities;
+import io.qameta.allure.Step;
+import org.openqa.selenium.JavascriptExecutor;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static com.codeborne.selenide.Selenide.open;
+
+/**
+ * Declarative application state fixture
+ * Builds the client-side state (session cookies plus cart contents in localStorage) directly and opens the target page,
+ * e.g. StateFixture.forUser("standard_user").withCartItems(0, 1, 2).at(AppPage.CHECKOUT_STEP_ONE).apply()
+ */
+public class StateFixture {
+
+    // SauceDemo keeps the cart as a JSON array of inventory item ids under this localStorage key
+    private static final String CART_STORAGE_KEY = "cart-contents";
+
+    // Inventory item ids in default product list order (Name A to Z), indexed like ProductsPage.addProductToCart(int)
+    private static final int[] INVENTORY_ITEM_IDS = {4, 0, 1, 5, 2, 3};
+
+    private final String userType;
+    private int[] cartItems = new int[0];
+    private AppPage page = AppPage.PRODUCTS;
+
+    private StateFixture(String userType) {
+        this.userType = userType;
+    }
+
+    public static StateFixture forUser(String userType) {
+        return new StateFixture(userType);
+    }
+
+    public StateFixture withCartItems(int... productIndexes) {
+        for (int index : productIndexes) {
+            if (index < 0 || index >= INVENTORY_ITEM_IDS.length) {
+                throw new IllegalArgumentException("Unknown product index: " + index);
+            }
+        }
+        this.cartItems = productIndexes.clone();
+        return this;
+    }
+
+    public StateFixture at(AppPage page) {
+        this.page = page;
+        return this;
+    }
+
+    /**
+     * Inject the state into the current browser and open the target page
+     * Expects the browser to be on the application origin already
+     */
+    @Step("Apply state fixture")
+    public void apply() {
+        TestUtilities.logStep("Applying state fixture - user: " + userType +
+            ", cart items: " + Arrays.toString(cartItems) + ", page: " + page);
+
+        SessionFixtureManager.getInstance().authenticate(userType);
+
+        if (cartItems.length > 0) {
+            String cartContents = Arrays.stream(cartItems)
+                .mapToObj(index -> String.valueOf(INVENTORY_ITEM_IDS[index]))
+                .collect(Collectors.joining(",", "[", "]"));
+            ((JavascriptExecutor) WebDriverRunner.getWebDriver()).executeScript(
+                "window.localStorage.setItem(arguments[0], arguments[1]);", CART_STORAGE_KEY, cartContents);
+        }
+
+        open(ConfigManager.getInstance().getBaseUrl() + page.getPath());
+    }
+}
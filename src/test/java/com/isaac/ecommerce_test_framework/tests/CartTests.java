@@ -2,8 +2,11 @@ package com.isaac.ecommerce_test_framework.tests;
 
 import com.isaac.ecommerce_test_framework.BaseTest;
 import com.isaac.ecommerce_test_framework.pages.CartPage;
-import com.isaac.ecommerce_test_framework.pages.LoginPage;
+import com.isaac.ecommerce_test_framework.pages.ItemDetails;
 import com.isaac.ecommerce_test_framework.pages.ProductsPage;
+import com.isaac.ecommerce_test_framework.session.AppPage;
+import com.isaac.ecommerce_test_framework.session.AuthenticatedAs;
+import com.isaac.ecommerce_test_framework.session.CartState;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -11,19 +14,21 @@ import io.qameta.allure.Story;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 /**
  * Test cases for SauceDemo shopping cart functionality
  */
 @Epic("E-commerce")
 @Feature("Shopping Cart")
+@AuthenticatedAs("standard_user")
 public class CartTests extends BaseTest {
 
     @Test
     @Description("Verify empty cart display")
     @Story("Cart Display")
     public void testEmptyCart() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         CartPage cartPage = productsPage.clickShoppingCart();
         cartPage.verifyCartPageDisplayed();
@@ -36,8 +41,7 @@ public class CartTests extends BaseTest {
     @Description("Verify single item in cart")
     @Story("Cart Items")
     public void testSingleItemInCart() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         productsPage.addProductToCart(0);
         CartPage cartPage = productsPage.clickShoppingCart();
@@ -47,54 +51,40 @@ public class CartTests extends BaseTest {
         Assert.assertEquals(cartPage.getCartItemCount(), 1, "Cart should contain 1 item");
 
         // Verify item details
-        String itemName = cartPage.getCartItemName(0);
-        String itemPrice = cartPage.getCartItemPrice(0);
-        String itemQuantity = cartPage.getCartItemQuantity(0);
+        ItemDetails item = cartPage.getAllCartItems().get(0);
 
-        Assert.assertFalse(itemName.isEmpty(), "Item name should not be empty");
-        Assert.assertFalse(itemPrice.isEmpty(), "Item price should not be empty");
-        Assert.assertEquals(itemQuantity, "1", "Item quantity should be 1");
+        Assert.assertFalse(item.name.isEmpty(), "Item name should not be empty");
+        Assert.assertFalse(item.price.isEmpty(), "Item price should not be empty");
+        Assert.assertEquals(item.quantity, "1", "Item quantity should be 1");
     }
 
     @Test
     @Description("Verify multiple items in cart")
     @Story("Cart Items")
+    @CartState(items = {0, 1, 2}, page = AppPage.CART)
     public void testMultipleItemsInCart() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
-
-        productsPage.addProductToCart(0);
-        productsPage.addProductToCart(1);
-        productsPage.addProductToCart(2);
-
-        CartPage cartPage = productsPage.clickShoppingCart();
+        CartPage cartPage = new CartPage();
         cartPage.verifyCartPageDisplayed();
 
         Assert.assertEquals(cartPage.getCartItemCount(), 3, "Cart should contain 3 items");
 
         // Verify all items have details
-        for (int i = 0; i < 3; i++) {
-            String itemName = cartPage.getCartItemName(i);
-            String itemPrice = cartPage.getCartItemPrice(i);
-            String itemQuantity = cartPage.getCartItemQuantity(i);
-
-            Assert.assertFalse(itemName.isEmpty(), "Item " + i + " name should not be empty");
-            Assert.assertFalse(itemPrice.isEmpty(), "Item " + i + " price should not be empty");
-            Assert.assertEquals(itemQuantity, "1", "Item " + i + " quantity should be 1");
+        List<ItemDetails> items = cartPage.getAllCartItems();
+        for (int i = 0; i < items.size(); i++) {
+            ItemDetails item = items.get(i);
+
+            Assert.assertFalse(item.name.isEmpty(), "Item " + i + " name should not be empty");
+            Assert.assertFalse(item.price.isEmpty(), "Item " + i + " price should not be empty");
+            Assert.assertEquals(item.quantity, "1", "Item " + i + " quantity should be 1");
         }
     }
 
     @Test
     @Description("Verify removing item from cart")
     @Story("Cart Modification")
+    @CartState(items = {0, 1}, page = AppPage.CART)
     public void testRemoveItemFromCart() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
-
-        productsPage.addProductToCart(0);
-        productsPage.addProductToCart(1);
-
-        CartPage cartPage = productsPage.clickShoppingCart();
+        CartPage cartPage = new CartPage();
         Assert.assertEquals(cartPage.getCartItemCount(), 2, "Cart should contain 2 items");
 
         cartPage.removeItemFromCart(0);
@@ -107,14 +97,11 @@ public class CartTests extends BaseTest {
     @Test
     @Description("Verify continue shopping functionality")
     @Story("Cart Navigation")
+    @CartState(items = {0}, page = AppPage.CART)
     public void testContinueShopping() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
-
-        productsPage.addProductToCart(0);
-        CartPage cartPage = productsPage.clickShoppingCart();
+        CartPage cartPage = new CartPage();
 
-        productsPage = cartPage.continueShopping();
+        ProductsPage productsPage = cartPage.continueShopping();
         productsPage.verifyProductsPageDisplayed();
         productsPage.verifyCartBadgeCount(1);
     }
@@ -123,21 +110,18 @@ public class CartTests extends BaseTest {
     @Description("Verify cart item details match product details")
     @Story("Cart Validation")
     public void testCartItemDetailsMatch() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         // Get product details from products page
-        String productName = productsPage.getProductName(0);
-        String productPrice = productsPage.getProductPrice(0);
+        ItemDetails product = productsPage.getAllProducts().get(0);
 
         productsPage.addProductToCart(0);
         CartPage cartPage = productsPage.clickShoppingCart();
 
         // Verify cart item details match
-        String cartItemName = cartPage.getCartItemName(0);
-        String cartItemPrice = cartPage.getCartItemPrice(0);
+        ItemDetails cartItem = cartPage.getAllCartItems().get(0);
 
-        Assert.assertEquals(cartItemName, productName, "Cart item name should match product name");
-        Assert.assertEquals(cartItemPrice, productPrice, "Cart item price should match product price");
+        Assert.assertEquals(cartItem.name, product.name, "Cart item name should match product name");
+        Assert.assertEquals(cartItem.price, product.price, "Cart item price should match product price");
     }
 }
@@ -2,6 +2,9 @@ package com.isaac.ecommerce_test_framework.tests;
 
 import com.isaac.ecommerce_test_framework.BaseTest;
 import com.isaac.ecommerce_test_framework.pages.*;
+import com.isaac.ecommerce_test_framework.session.AppPage;
+import com.isaac.ecommerce_test_framework.session.AuthenticatedAs;
+import com.isaac.ecommerce_test_framework.session.CartState;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -14,14 +17,14 @@ import org.testng.annotations.Test;
  */
 @Epic("E-commerce")
 @Feature("Checkout Process")
+@AuthenticatedAs("standard_user")
 public class CheckoutTests extends BaseTest {
 
     @Test
     @Description("Verify complete checkout process with single item")
     @Story("Complete Checkout")
     public void testCompleteCheckoutSingleItem() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         productsPage.addProductToCart(0);
         CartPage cartPage = productsPage.clickShoppingCart();
@@ -44,16 +47,9 @@ public class CheckoutTests extends BaseTest {
     @Test
     @Description("Verify complete checkout process with multiple items")
     @Story("Complete Checkout")
+    @CartState(items = {0, 1, 2}, page = AppPage.CHECKOUT_STEP_ONE)
     public void testCompleteCheckoutMultipleItems() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
-
-        productsPage.addProductToCart(0);
-        productsPage.addProductToCart(1);
-        productsPage.addProductToCart(2);
-
-        CartPage cartPage = productsPage.clickShoppingCart();
-        CheckoutPage checkoutPage = cartPage.clickCheckout();
+        CheckoutPage checkoutPage = new CheckoutPage();
 
         CheckoutOverviewPage overviewPage = checkoutPage.fillCheckoutInformation("Jane", "Smith", "67890");
         Assert.assertEquals(overviewPage.getCheckoutItemCount(), 3, "Should have 3 items in checkout");
@@ -65,13 +61,9 @@ public class CheckoutTests extends BaseTest {
     @Test
     @Description("Verify checkout validation - empty first name")
     @Story("Checkout Validation")
+    @CartState(items = {0}, page = AppPage.CHECKOUT_STEP_ONE)
     public void testCheckoutValidationEmptyFirstName() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
-
-        productsPage.addProductToCart(0);
-        CartPage cartPage = productsPage.clickShoppingCart();
-        CheckoutPage checkoutPage = cartPage.clickCheckout();
+        CheckoutPage checkoutPage = new CheckoutPage();
 
         checkoutPage.enterFirstName("");
         checkoutPage.enterLastName("Doe");
@@ -87,13 +79,9 @@ public class CheckoutTests extends BaseTest {
     @Test
     @Description("Verify checkout validation - empty last name")
     @Story("Checkout Validation")
+    @CartState(items = {0}, page = AppPage.CHECKOUT_STEP_ONE)
     public void testCheckoutValidationEmptyLastName() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
-
-        productsPage.addProductToCart(0);
-        CartPage cartPage = productsPage.clickShoppingCart();
-        CheckoutPage checkoutPage = cartPage.clickCheckout();
+        CheckoutPage checkoutPage = new CheckoutPage();
 
         checkoutPage.enterFirstName("John");
         checkoutPage.enterLastName("");
@@ -109,13 +97,9 @@ public class CheckoutTests extends BaseTest {
     @Test
     @Description("Verify checkout validation - empty postal code")
     @Story("Checkout Validation")
+    @CartState(items = {0}, page = AppPage.CHECKOUT_STEP_ONE)
     public void testCheckoutValidationEmptyPostalCode() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
-
-        productsPage.addProductToCart(0);
-        CartPage cartPage = productsPage.clickShoppingCart();
-        CheckoutPage checkoutPage = cartPage.clickCheckout();
+        CheckoutPage checkoutPage = new CheckoutPage();
 
         checkoutPage.enterFirstName("John");
         checkoutPage.enterLastName("Doe");
@@ -131,15 +115,11 @@ public class CheckoutTests extends BaseTest {
     @Test
     @Description("Verify checkout cancel functionality")
     @Story("Checkout Navigation")
+    @CartState(items = {0}, page = AppPage.CHECKOUT_STEP_ONE)
     public void testCheckoutCancel() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        CheckoutPage checkoutPage = new CheckoutPage();
 
-        productsPage.addProductToCart(0);
-        CartPage cartPage = productsPage.clickShoppingCart();
-        CheckoutPage checkoutPage = cartPage.clickCheckout();
-
-        cartPage = checkoutPage.clickCancel();
+        CartPage cartPage = checkoutPage.clickCancel();
         cartPage.verifyCartPageDisplayed();
         Assert.assertEquals(cartPage.getCartItemCount(), 1, "Should return to cart with item intact");
     }
@@ -147,16 +127,12 @@ public class CheckoutTests extends BaseTest {
     @Test
     @Description("Verify checkout overview cancel functionality")
     @Story("Checkout Navigation")
+    @CartState(items = {0}, page = AppPage.CHECKOUT_STEP_ONE)
     public void testCheckoutOverviewCancel() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
-
-        productsPage.addProductToCart(0);
-        CartPage cartPage = productsPage.clickShoppingCart();
-        CheckoutPage checkoutPage = cartPage.clickCheckout();
+        CheckoutPage checkoutPage = new CheckoutPage();
 
         CheckoutOverviewPage overviewPage = checkoutPage.fillCheckoutInformation("John", "Doe", "12345");
-        productsPage = overviewPage.clickCancel();
+        ProductsPage productsPage = overviewPage.clickCancel();
 
         productsPage.verifyProductsPageDisplayed();
         productsPage.verifyCartBadgeCount(1);
@@ -166,8 +142,7 @@ public class CheckoutTests extends BaseTest {
     @Description("Verify checkout with empty cart")
     @Story("Checkout Edge Cases")
     public void testCheckoutWithEmptyCart() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         CartPage cartPage = productsPage.clickShoppingCart();
         cartPage.verifyCartIsEmpty();
@@ -181,13 +156,9 @@ public class CheckoutTests extends BaseTest {
     @Test
     @Description("Verify order summary calculations")
     @Story("Order Summary")
+    @CartState(items = {0}, page = AppPage.CHECKOUT_STEP_ONE)
     public void testOrderSummary() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
-
-        productsPage.addProductToCart(0);
-        CartPage cartPage = productsPage.clickShoppingCart();
-        CheckoutPage checkoutPage = cartPage.clickCheckout();
+        CheckoutPage checkoutPage = new CheckoutPage();
         CheckoutOverviewPage overviewPage = checkoutPage.fillCheckoutInformation("Test", "User", "00000");
 
         // Verify order summary elements are present
@@ -2,8 +2,9 @@ package com.isaac.ecommerce_test_framework.tests;
 
 import com.isaac.ecommerce_test_framework.BaseTest;
 import com.isaac.ecommerce_test_framework.pages.CartPage;
-import com.isaac.ecommerce_test_framework.pages.LoginPage;
+import com.isaac.ecommerce_test_framework.pages.ItemDetails;
 import com.isaac.ecommerce_test_framework.pages.ProductsPage;
+import com.isaac.ecommerce_test_framework.session.AuthenticatedAs;
 import io.qameta.allure.Description;
 import io.qameta.allure.Epic;
 import io.qameta.allure.Feature;
@@ -11,38 +12,38 @@ import io.qameta.allure.Story;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.List;
+
 /**
  * Test cases for SauceDemo product browsing and cart functionality
  */
 @Epic("E-commerce")
 @Feature("Product Management")
+@AuthenticatedAs("standard_user")
 public class ProductTests extends BaseTest {
 
     @Test
     @Description("Verify products are displayed correctly on products page")
     @Story("Product Display")
     public void testProductsDisplay() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         productsPage.verifyProductsPageDisplayed();
         int productCount = productsPage.getProductCount();
         Assert.assertEquals(productCount, 6, "Should display 6 products");
 
         // Verify the first product has name and price
-        String firstProductName = productsPage.getProductName(0);
-        String firstProductPrice = productsPage.getProductPrice(0);
-        Assert.assertFalse(firstProductName.isEmpty(), "Product name should not be empty");
-        Assert.assertFalse(firstProductPrice.isEmpty(), "Product price should not be empty");
-        Assert.assertTrue(firstProductPrice.startsWith("$"), "Price should start with $");
+        ItemDetails firstProduct = productsPage.getAllProducts().get(0);
+        Assert.assertFalse(firstProduct.name.isEmpty(), "Product name should not be empty");
+        Assert.assertFalse(firstProduct.price.isEmpty(), "Product price should not be empty");
+        Assert.assertTrue(firstProduct.price.startsWith("$"), "Price should start with $");
     }
 
     @Test
     @Description("Verify adding single product to cart")
     @Story("Shopping Cart")
     public void testAddSingleProductToCart() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         productsPage.addProductToCart(0);
         productsPage.verifyCartBadgeCount(1);
@@ -54,8 +55,7 @@ public class ProductTests extends BaseTest {
     @Description("Verify adding multiple products to cart")
     @Story("Shopping Cart")
     public void testAddMultipleProductsToCart() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         productsPage.addProductToCart(0);
         productsPage.addProductToCart(1);
@@ -69,8 +69,7 @@ public class ProductTests extends BaseTest {
     @Description("Verify removing product from cart")
     @Story("Shopping Cart")
     public void testRemoveProductFromCart() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         productsPage.addProductToCart(0);
         productsPage.verifyCartBadgeCount(1);
@@ -85,8 +84,7 @@ public class ProductTests extends BaseTest {
     @Description("Verify cart persistence when navigating")
     @Story("Shopping Cart")
     public void testCartPersistence() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         productsPage.addProductToCart(0);
         productsPage.addProductToCart(1);
@@ -106,52 +104,54 @@ public class ProductTests extends BaseTest {
     @Description("Verify product sorting functionality")
     @Story("Product Sorting")
     public void testProductSorting() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         // Test sorting by name (A to Z)
         productsPage.sortProducts("Name (A to Z)");
-        String firstProductName = productsPage.getProductName(0);
-        String lastProductName = productsPage.getProductName(5);
+        List<ItemDetails> products = productsPage.getAllProducts();
 
-        // Verify alphabetical order (first should be before last alphabetically)
-        Assert.assertTrue(firstProductName.compareTo(lastProductName) < 0,
-                "Products should be sorted alphabetically A to Z");
+        Assert.assertEquals(products.size(), 6, "Should display 6 products");
+        // Verify alphabetical order (every product should come before the next one alphabetically)
+        for (int i = 1; i < products.size(); i++) {
+            Assert.assertTrue(products.get(i - 1).name.compareTo(products.get(i).name) < 0,
+                    "Products should be sorted alphabetically A to Z");
+        }
 
         // Test sorting by name (Z to A)
         productsPage.sortProducts("Name (Z to A)");
-        firstProductName = productsPage.getProductName(0);
-        lastProductName = productsPage.getProductName(5);
+        products = productsPage.getAllProducts();
 
-        Assert.assertTrue(firstProductName.compareTo(lastProductName) > 0,
-                "Products should be sorted alphabetically Z to A");
+        Assert.assertEquals(products.size(), 6, "Should display 6 products");
+        for (int i = 1; i < products.size(); i++) {
+            Assert.assertTrue(products.get(i - 1).name.compareTo(products.get(i).name) > 0,
+                    "Products should be sorted alphabetically Z to A");
+        }
     }
 
     @Test
     @Description("Verify product price sorting")
     @Story("Product Sorting")
     public void testPriceSorting() {
-        LoginPage loginPage = new LoginPage();
-        ProductsPage productsPage = loginPage.login("standard_user", "secret_sauce");
+        ProductsPage productsPage = new ProductsPage();
 
         // Test sorting by price (low to high)
         productsPage.sortProducts("Price (low to high)");
-        String firstProductPrice = productsPage.getProductPrice(0);
-        String lastProductPrice = productsPage.getProductPrice(5);
-
-        double firstPrice = Double.parseDouble(firstProductPrice.replace("$", ""));
-        double lastPrice = Double.parseDouble(lastProductPrice.replace("$", ""));
+        List<ItemDetails> products = productsPage.getAllProducts();
 
-        Assert.assertTrue(firstPrice <= lastPrice, "Products should be sorted by price low to high");
+        Assert.assertEquals(products.size(), 6, "Should display 6 products");
+        for (int i = 1; i < products.size(); i++) {
+            Assert.assertTrue(products.get(i - 1).getPriceValue() <= products.get(i).getPriceValue(),
+                    "Products should be sorted by price low to high");
+        }
 
         // Test sorting by price (high to low)
         productsPage.sortProducts("Price (high to low)");
-        firstProductPrice = productsPage.getProductPrice(0);
-        lastProductPrice = productsPage.getProductPrice(5);
-
-        firstPrice = Double.parseDouble(firstProductPrice.replace("$", ""));
-        lastPrice = Double.parseDouble(lastProductPrice.replace("$", ""));
+        products = productsPage.getAllProducts();
 
-        Assert.assertTrue(firstPrice >= lastPrice, "Products should be sorted by price high to low");
+        Assert.assertEquals(products.size(), 6, "Should display 6 products");
+        for (int i = 1; i < products.size(); i++) {
+            Assert.assertTrue(products.get(i - 1).getPriceValue() >= products.get(i).getPriceValue(),
+                    "Products should be sorted by price high to low");
+        }
     }
 }
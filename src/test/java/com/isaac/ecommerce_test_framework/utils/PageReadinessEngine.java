@@ -0,0 +1,211 @@
+package com.isaac.ecommerce_test_framework.utils;
+
+import com.codeborne.selenide.WebDriverRunner;
+import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.metrics.FrameworkMetrics;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.Augmenter;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Event-driven page readiness engine
+ * Installs a fetch/XHR/MutationObserver probe in the page and blocks in a single async script
+ * until the document is loaded, the network is idle and the DOM has been quiet for a configured window
+ */
+public class PageReadinessEngine {
+
+    // Probe counting in-flight fetch/XHR requests and DOM mutations; installed before any page script runs on
+    // every new document (CDP), so requests started while the page loads are counted. Without CDP the first
+    // wait on a document installs it, and only requests started after that wait are seen
+    private static final String PROBE_SCRIPT =
+        "(function(w) {" +
+        "  if (w.__readinessProbe) { return; }" +
+        "  var probe = w.__readinessProbe = { inflight: 0, lastNetwork: Date.now(), lastMutation: Date.now(), wakers: [] };" +
+        "  probe.wake = function() { var wakers = probe.wakers; probe.wakers = []; wakers.forEach(function(f) { f(); }); };" +
+        "  var network = function(delta) { probe.inflight = Math.max(0, probe.inflight + delta); probe.lastNetwork = Date.now(); probe.wake(); };" +
+        "  if (w.fetch) {" +
+        "    var originalFetch = w.fetch;" +
+        "    w.fetch = function() {" +
+        "      network(1);" +
+        "      return originalFetch.apply(this, arguments).then(" +
+        "        function(r) { network(-1); return r; }, function(e) { network(-1); throw e; });" +
+        "    };" +
+        "  }" +
+        "  var originalSend = XMLHttpRequest.prototype.send;" +
+        "  XMLHttpRequest.prototype.send = function() {" +
+        "    network(1);" +
+        "    this.addEventListener('loadend', function() { network(-1); });" +
+        "    return originalSend.apply(this, arguments);" +
+        "  };" +
+        "  new MutationObserver(function() { probe.lastMutation = Date.now(); })" +
+        "    .observe(document, { childList: true, subtree: true, attributes: true, characterData: true });" +
+        "  document.addEventListener('readystatechange', probe.wake);" +
+        "})(window);";
+
+    // Timers are only armed for the exact end of the quiet window and re-armed by network or DOM activity,
+    // so nothing is polled from the WebDriver side
+    private static final String WAIT_FOR_READY_SCRIPT =
+        "var domQuietMs = arguments[0], networkQuietMs = arguments[1], timeoutMs = arguments[2];" +
+        "var done = arguments[arguments.length - 1];" +
+        PROBE_SCRIPT +
+        "var p = window.__readinessProbe, start = Date.now();" +
+        "var check = function() {" +
+        "  var now = Date.now();" +
+        "  if (now - start >= timeoutMs) { return done({ ready: false, waited: now - start, inflight: p.inflight }); }" +
+        "  if (document.readyState !== 'complete' || p.inflight > 0) { p.wakers.push(check); return; }" +
+        "  var remaining = Math.max(p.lastNetwork + networkQuietMs, p.lastMutation + domQuietMs) - now;" +
+        "  if (remaining <= 0) { return done({ ready: true, waited: now - start, inflight: 0 }); }" +
+        "  setTimeout(check, remaining);" +
+        "};" +
+        "var finished = false, original = done;" +
+        "done = function(result) { if (!finished) { finished = true; original(result); } };" +
+        "setTimeout(check, timeoutMs);" +
+        "check();";
+
+    // Head room between the in-page timeout and the driver's script timeout
+    private static final int SCRIPT_TIMEOUT_MARGIN_MS = 1000;
+
+    private static PageReadinessEngine instance;
+    private final ConfigManager config;
+    // Browsers that evaluate the probe on every new document
+    private final Set<WebDriver> probedDrivers;
+    private final ThreadLocal<long[]> currentTestWaits;
+
+    // Readiness metrics
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong totalWaitTime = new AtomicLong();
+    private final AtomicLong maxWaitTime = new AtomicLong();
+
+    private PageReadinessEngine() {
+        this.config = ConfigManager.getInstance();
+        this.probedDrivers = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+        this.currentTestWaits = ThreadLocal.withInitial(() -> new long[2]);
+    }
+
+    public static synchronized PageReadinessEngine getInstance() {
+        if (instance == null) {
+            instance = new PageReadinessEngine();
+        }
+        return instance;
+    }
+
+    /**
+     * Wait until the page is loaded, the network is idle and the DOM is quiet
+     * Returns false when the page is not ready within the timeout; probe errors are thrown
+     */
+    public boolean waitForPageReady(int timeoutMs) {
+        return waitUntilReady(config.getReadinessDomQuietMs(), config.getReadinessNetworkQuietMs(), timeoutMs);
+    }
+
+    /**
+     * Wait until no fetch/XHR request is in flight (DOM activity is ignored)
+     */
+    public boolean waitForNetworkIdle(int timeoutMs) {
+        return waitUntilReady(0, config.getReadinessNetworkQuietMs(), timeoutMs);
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean waitUntilReady(int domQuietMs, int networkQuietMs, int timeoutMs) {
+        long start = System.currentTimeMillis();
+        boolean ready = false;
+        try {
+            WebDriver driver = WebDriverRunner.getWebDriver();
+            installProbe(driver);
+
+            // Only raise the driver's script timeout for this wait, other async scripts keep their own
+            WebDriver.Timeouts timeouts = driver.manage().timeouts();
+            Duration previousTimeout = timeouts.getScriptTimeout();
+            Duration requiredTimeout = Duration.ofMillis(timeoutMs + SCRIPT_TIMEOUT_MARGIN_MS);
+            boolean raised = previousTimeout.compareTo(requiredTimeout) < 0;
+            if (raised) {
+                timeouts.scriptTimeout(requiredTimeout);
+            }
+            try {
+                Object result = ((JavascriptExecutor) driver).executeAsyncScript(
+                    WAIT_FOR_READY_SCRIPT, domQuietMs, networkQuietMs, timeoutMs);
+                ready = result instanceof Map && Boolean.TRUE.equals(((Map<String, Object>) result).get("ready"));
+
+                if (!ready) {
+                    System.out.println("WARNING: Page not ready after " + timeoutMs + "ms: " + result);
+                }
+            } finally {
+                if (raised) {
+                    timeouts.scriptTimeout(previousTimeout);
+                }
+            }
+        } finally {
+            recordWait(System.currentTimeMillis() - start, ready);
+        }
+        return ready;
+    }
+
+    /**
+     * Have the browser evaluate the probe on every new document (once per browser, Chromium only)
+     */
+    private void installProbe(WebDriver driver) {
+        if (!probedDrivers.add(driver)) {
+            return;
+        }
+        try {
+            WebDriver cdpDriver = driver instanceof HasCdp ? driver : new Augmenter().augment(driver);
+            if (cdpDriver instanceof HasCdp) {
+                ((HasCdp) cdpDriver).executeCdpCommand("Page.addScriptToEvaluateOnNewDocument",
+                    Map.of("source", PROBE_SCRIPT));
+            }
+        } catch (Exception e) {
+            System.err.println("Warning: Readiness probe not installed on new documents: " + e.getMessage());
+        }
+    }
+
+    private void recordWait(long waitTime, boolean ready) {
+        waitCount.incrementAndGet();
+        totalWaitTime.addAndGet(waitTime);
+        maxWaitTime.accumulateAndGet(waitTime, Math::max);
+        if (!ready) {
+            timeoutCount.incrementAndGet();
+            FrameworkMetrics.PAGE_READY_TIMEOUTS.inc();
+        }
+        FrameworkMetrics.PAGE_READY.observe(waitTime / 1000.0);
+
+        long[] testWaits = currentTestWaits.get();
+        testWaits[0]++;
+        testWaits[1] += waitTime;
+    }
+
+    /**
+     * Reset the readiness wait counters of the current thread (called at test start)
+     */
+    public void resetCurrentTestWaits() {
+        long[] testWaits = currentTestWaits.get();
+        testWaits[0] = 0;
+        testWaits[1] = 0;
+    }
+
+    public long getCurrentTestWaitCount() {
+        return currentTestWaits.get()[0];
+    }
+
+    public long getCurrentTestWaitTime() {
+        return currentTestWaits.get()[1];
+    }
+
+    /**
+     * Get a printable summary of the readiness metrics
+     */
+    public String getMetricsSummary() {
+        long count = waitCount.get();
+        return "Page readiness - waits: " + count +
+            ", not ready: " + timeoutCount.get() +
+            ", avg wait: " + String.format("%.1f ms", count == 0 ? 0.0 : (double) totalWaitTime.get() / count) +
+            ", max wait: " + maxWaitTime.get() + " ms";
+    }
+}
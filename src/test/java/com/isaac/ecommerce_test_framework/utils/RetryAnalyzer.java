@@ -1,6 +1,8 @@
 package com.isaac.ecommerce_test_framework.utils;
 
 import com.isaac.ecommerce_test_framework.config.ConfigManager;
+import com.isaac.ecommerce_test_framework.retry.RetryPolicyEngine;
+import com.isaac.ecommerce_test_framework.retry.RetryPolicyEngine.RetryDecision;
 import io.qameta.allure.Allure;
 import io.qameta.allure.Attachment;
 import org.testng.IRetryAnalyzer;
@@ -10,7 +12,7 @@ import static com.codeborne.selenide.Selenide.screenshot;
 
 /**
  * Retry analyzer for handling flaky tests
- * Automatically retries failed tests based on configuration
+ * Retries failed tests when the RetryPolicyEngine considers a retry worthwhile
  */
 public class RetryAnalyzer implements IRetryAnalyzer {
 
@@ -24,17 +26,21 @@ public class RetryAnalyzer implements IRetryAnalyzer {
             return false;
         }
 
-        if (retryCount < maxRetryCount) {
+        String testName = result.getMethod().getMethodName();
+        String className = result.getTestClass().getName();
+        RetryDecision decision = RetryPolicyEngine.getInstance().decide(result, retryCount);
+
+        if (decision.retry) {
             retryCount++;
-            String testName = result.getMethod().getMethodName();
-            String className = result.getTestClass().getName();
 
             System.out.println("Retrying test: " + className + "." + testName +
-                             " (Attempt " + (retryCount + 1) + " of " + (maxRetryCount + 1) + ")");
+                             " (Attempt " + (retryCount + 1) + " of " + (decision.allowedRetries + 1) +
+                             ", " + decision.reason + ")");
 
             // Add retry information to Allure report
             Allure.addAttachment("Retry Attempt", "text/plain",
-                "Test: " + testName + "\nAttempt: " + (retryCount + 1) + "\nMax Attempts: " + (maxRetryCount + 1));
+                "Test: " + testName + "\nAttempt: " + (retryCount + 1) + "\nMax Attempts: " + (decision.allowedRetries + 1) +
+                "\nFailure Type: " + decision.failureType);
 
             // Capture screenshot on retry if enabled
             if (ConfigManager.getInstance().isScreenshotOnFailure()) {
@@ -44,6 +50,9 @@ public class RetryAnalyzer implements IRetryAnalyzer {
             return true;
         }
 
+        if (retryCount < maxRetryCount) {
+            System.out.println("Not retrying test: " + className + "." + testName + " (" + decision.reason + ")");
+        }
         return false;
     }
 
@@ -31,6 +31,13 @@ public class TestUtilities {
     }
 
     public static void waitForPageLoad(int timeoutMs) {
+        if (config.isReadinessProbeEnabled()) {
+            if (!PageReadinessEngine.getInstance().waitForPageReady(timeoutMs)) {
+                throw new TimeoutException("Page not ready after " + timeoutMs + " ms");
+            }
+            return;
+        }
+
         WebDriverWait wait = new WebDriverWait(WebDriverRunner.getWebDriver(), Duration.ofMillis(timeoutMs));
         wait.until(driver -> ((JavascriptExecutor) driver)
             .executeScript("return document.readyState").equals("complete"));
@@ -41,6 +48,13 @@ public class TestUtilities {
     }
 
     public static void waitForAjax(int timeoutMs) {
+        if (config.isReadinessProbeEnabled()) {
+            if (!PageReadinessEngine.getInstance().waitForNetworkIdle(timeoutMs)) {
+                throw new TimeoutException("Network not idle after " + timeoutMs + " ms");
+            }
+            return;
+        }
+
         WebDriverWait wait = new WebDriverWait(WebDriverRunner.getWebDriver(), Duration.ofMillis(timeoutMs));
         wait.until(driver -> (Boolean) ((JavascriptExecutor) driver)
             .executeScript("return jQuery.active === 0"));
@@ -281,8 +295,11 @@ public class TestUtilities {
     public static void logPerformanceMetrics(String testName) {
         try {
             long loadTime = getPageLoadTime();
+            PageReadinessEngine readiness = PageReadinessEngine.getInstance();
             Allure.addAttachment("Performance Metrics", "text/plain",
-                "Test: " + testName + "\nPage Load Time: " + loadTime + "ms");
+                "Test: " + testName + "\nPage Load Time: " + loadTime + "ms" +
+                "\nReadiness Wait Time: " + readiness.getCurrentTestWaitTime() + "ms (" +
+                readiness.getCurrentTestWaitCount() + " waits)");
 
             if (loadTime > Integer.parseInt(config.getProperty("performance.slow.test.threshold", "5000"))) {
                 System.out.println("WARNING: Slow test detected - " + testName + " took " + loadTime + "ms");
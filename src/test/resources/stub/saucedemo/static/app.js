@@ -0,0 +1,392 @@
+/*
+ * SauceDemo stand-in used by the embedded stub server.
+ * Mirrors the DOM (ids, classes, data-test attributes, messages) and the client-side state
+ * (session-username cookie, cart-contents localStorage) the page objects and state fixtures rely on.
+ */
+(function () {
+    'use strict';
+
+    var PRODUCTS = [
+        { id: 4, name: 'Sauce Labs Backpack', price: 29.99,
+          desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.' },
+        { id: 0, name: 'Sauce Labs Bike Light', price: 9.99,
+          desc: 'A red light isn\'t the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included.' },
+        { id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99,
+          desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.' },
+        { id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99,
+          desc: 'It\'s not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office.' },
+        { id: 2, name: 'Sauce Labs Onesie', price: 7.99,
+          desc: 'Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won\'t unravel.' },
+        { id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99,
+          desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.' }
+    ];
+
+    var VALID_USERS = ['standard_user', 'problem_user', 'performance_glitch_user', 'error_user', 'visual_user'];
+    var LOCKED_USERS = ['locked_out_user'];
+    var PASSWORD = 'secret_sauce';
+    var SESSION_COOKIE = 'session-username';
+    var CART_KEY = 'cart-contents';
+    var TAX_RATE = 0.08;
+
+    var root = document.getElementById('root');
+    var page = document.body.getAttribute('data-page');
+
+    // ---- State helpers ----
+
+    function getSessionUser() {
+        var match = document.cookie.match(new RegExp('(?:^|; )' + SESSION_COOKIE + '=([^;]*)'));
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function setSessionUser(username) {
+        var expires = new Date(Date.now() + 10 * 60 * 1000).toUTCString();
+        document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(username) + '; expires=' + expires + '; path=/';
+    }
+
+    function clearSessionUser() {
+        document.cookie = SESSION_COOKIE + '=; expires=Thu, 01 Jan 1970 00:00:00 GMT; path=/';
+    }
+
+    function getCart() {
+        try {
+            var cart = JSON.parse(window.localStorage.getItem(CART_KEY) || '[]');
+            return Array.isArray(cart) ? cart : [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function setCart(cart) {
+        if (cart.length === 0) {
+            window.localStorage.removeItem(CART_KEY);
+        } else {
+            window.localStorage.setItem(CART_KEY, JSON.stringify(cart));
+        }
+    }
+
+    function findProduct(id) {
+        for (var i = 0; i < PRODUCTS.length; i++) {
+            if (PRODUCTS[i].id === id) {
+                return PRODUCTS[i];
+            }
+        }
+        return null;
+    }
+
+    function slug(name) {
+        return name.toLowerCase().replace(/ /g, '-');
+    }
+
+    function money(value) {
+        return '$' + value.toFixed(2);
+    }
+
+    function navigate(path) {
+        window.location.href = path;
+    }
+
+    // ---- DOM helpers ----
+
+    function el(tag, attributes, children) {
+        var node = document.createElement(tag);
+        Object.keys(attributes || {}).forEach(function (key) {
+            if (key === 'text') {
+                node.textContent = attributes[key];
+            } else if (key === 'onclick') {
+                node.addEventListener('click', attributes[key]);
+            } else {
+                node.setAttribute(key, attributes[key]);
+            }
+        });
+        (children || []).forEach(function (child) {
+            if (child) {
+                node.appendChild(child);
+            }
+        });
+        return node;
+    }
+
+    function button(id, text, onclick) {
+        return el('button', { id: id, 'data-test': id, name: id, 'class': 'btn', text: text, onclick: onclick });
+    }
+
+    function errorContainer(message) {
+        var container = el('div', { 'class': 'error-message-container' });
+        if (message) {
+            container.appendChild(el('h3', { 'data-test': 'error', text: message }));
+        }
+        return container;
+    }
+
+    function header() {
+        var cartCount = getCart().length;
+        var cartLink = el('a', { 'class': 'shopping_cart_link', 'data-test': 'shopping-cart-link', href: '#' },
+            [cartCount > 0 ? el('span', { 'class': 'shopping_cart_badge', 'data-test': 'shopping-cart-badge', text: String(cartCount) }) : null]);
+        cartLink.addEventListener('click', function (event) {
+            event.preventDefault();
+            navigate('/cart.html');
+        });
+
+        var menu = el('div', { 'class': 'bm-menu-wrap' }, [
+            el('a', { id: 'inventory_sidebar_link', 'class': 'bm-item menu-item', href: '/inventory.html', text: 'All Items' }),
+            el('a', { id: 'logout_sidebar_link', 'class': 'bm-item menu-item', href: '#', text: 'Logout', onclick: function (event) {
+                event.preventDefault();
+                clearSessionUser();
+                navigate('/');
+            } }),
+            el('a', { id: 'reset_sidebar_link', 'class': 'bm-item menu-item', href: '#', text: 'Reset App State', onclick: function (event) {
+                event.preventDefault();
+                setCart([]);
+                render();
+            } })
+        ]);
+        var menuButton = el('button', { id: 'react-burger-menu-btn', text: 'Open Menu', onclick: function () {
+            menu.className = menu.className.indexOf('open') >= 0 ? 'bm-menu-wrap' : 'bm-menu-wrap open';
+        } });
+
+        return el('div', { 'class': 'header_container', 'data-test': 'header-container' }, [
+            menuButton, menu, el('div', { 'class': 'app_logo', text: 'Swag Labs' }), cartLink
+        ]);
+    }
+
+    function itemRow(product, rowClass, extras) {
+        return el('div', { 'class': rowClass, 'data-test': rowClass.replace('_', '-') }, [
+            extras.quantity ? el('div', { 'class': 'cart_quantity', 'data-test': 'item-quantity', text: '1' }) : null,
+            extras.image ? el('img', { 'class': 'inventory_item_img', alt: product.name, src: '/static/product.svg' }) : null,
+            el('div', { 'class': 'inventory_item_description' }, [
+                el('div', { 'class': 'inventory_item_name', 'data-test': 'inventory-item-name', text: product.name }),
+                el('div', { 'class': 'inventory_item_desc', 'data-test': 'inventory-item-desc', text: product.desc }),
+                el('div', { 'class': 'pricebar' }, [
+                    el('div', { 'class': 'inventory_item_price', 'data-test': 'inventory-item-price', text: money(product.price) }),
+                    extras.action || null
+                ])
+            ])
+        ]);
+    }
+
+    function requireLogin() {
+        if (!getSessionUser()) {
+            navigate('/?error=' + encodeURIComponent(window.location.pathname));
+            return false;
+        }
+        return true;
+    }
+
+    // ---- Pages ----
+
+    function renderLogin() {
+        var params = new URLSearchParams(window.location.search);
+        var protectedPath = params.get('error');
+        var error = protectedPath
+            ? 'Epic sadface: You can only access \'' + protectedPath + '\' when you are logged in.'
+            : null;
+
+        var username = el('input', { id: 'user-name', 'data-test': 'username', name: 'user-name', type: 'text', placeholder: 'Username' });
+        var password = el('input', { id: 'password', 'data-test': 'password', name: 'password', type: 'password', placeholder: 'Password' });
+        var errors = errorContainer(error);
+        var loginButton = el('input', { id: 'login-button', 'data-test': 'login-button', name: 'login-button', type: 'submit', value: 'Login' });
+
+        var form = el('form', {}, [username, password, errors, loginButton]);
+        form.addEventListener('submit', function (event) {
+            event.preventDefault();
+            var message = validateLogin(username.value, password.value);
+            if (message) {
+                var replacement = errorContainer(message);
+                form.replaceChild(replacement, errors);
+                errors = replacement;
+                return;
+            }
+            setSessionUser(username.value);
+            var delay = username.value === 'performance_glitch_user' ? 1000 : 0;
+            setTimeout(function () { navigate('/inventory.html'); }, delay);
+        });
+
+        root.appendChild(el('div', { 'class': 'login_logo', text: 'Swag Labs' }));
+        root.appendChild(el('div', { 'class': 'login_wrapper' }, [form]));
+    }
+
+    function validateLogin(username, password) {
+        if (!username) {
+            return 'Epic sadface: Username is required';
+        }
+        if (!password) {
+            return 'Epic sadface: Password is required';
+        }
+        if (password === PASSWORD && LOCKED_USERS.indexOf(username) >= 0) {
+            return 'Epic sadface: Sorry, this user has been locked out.';
+        }
+        if (password !== PASSWORD || VALID_USERS.indexOf(username) < 0) {
+            return 'Epic sadface: Username and password do not match any user in this service';
+        }
+        return null;
+    }
+
+    var sortOrder = 'az';
+
+    function sortedProducts() {
+        var products = PRODUCTS.slice();
+        var comparators = {
+            az: function (a, b) { return a.name.localeCompare(b.name); },
+            za: function (a, b) { return b.name.localeCompare(a.name); },
+            lohi: function (a, b) { return a.price - b.price; },
+            hilo: function (a, b) { return b.price - a.price; }
+        };
+        return products.sort(comparators[sortOrder]);
+    }
+
+    function renderInventory() {
+        var cart = getCart();
+        var sort = el('select', { 'class': 'product_sort_container', 'data-test': 'product-sort-container' }, [
+            el('option', { value: 'az', text: 'Name (A to Z)' }),
+            el('option', { value: 'za', text: 'Name (Z to A)' }),
+            el('option', { value: 'lohi', text: 'Price (low to high)' }),
+            el('option', { value: 'hilo', text: 'Price (high to low)' })
+        ]);
+        sort.value = sortOrder;
+        sort.addEventListener('change', function () {
+            sortOrder = sort.value;
+            render();
+        });
+
+        var list = el('div', { 'class': 'inventory_list', 'data-test': 'inventory-list' });
+        sortedProducts().forEach(function (product) {
+            var inCart = cart.indexOf(product.id) >= 0;
+            var action = inCart
+                ? button('remove-' + slug(product.name), 'Remove', function () {
+                    setCart(getCart().filter(function (id) { return id !== product.id; }));
+                    render();
+                })
+                : button('add-to-cart-' + slug(product.name), 'Add to cart', function () {
+                    var updated = getCart();
+                    updated.push(product.id);
+                    setCart(updated);
+                    render();
+                });
+            list.appendChild(itemRow(product, 'inventory_item', { image: true, action: action }));
+        });
+
+        root.appendChild(header());
+        root.appendChild(el('div', { 'class': 'header_secondary_container' }, [
+            el('span', { 'class': 'title', 'data-test': 'title', text: 'Products' }), sort
+        ]));
+        root.appendChild(list);
+    }
+
+    function renderCart() {
+        var list = el('div', { 'class': 'cart_list', 'data-test': 'cart-list' });
+        getCart().forEach(function (id) {
+            var product = findProduct(id);
+            if (!product) {
+                return;
+            }
+            var action = button('remove-' + slug(product.name), 'Remove', function () {
+                setCart(getCart().filter(function (cartId) { return cartId !== id; }));
+                render();
+            });
+            list.appendChild(itemRow(product, 'cart_item', { quantity: true, action: action }));
+        });
+
+        root.appendChild(header());
+        root.appendChild(el('span', { 'class': 'title', 'data-test': 'title', text: 'Your Cart' }));
+        root.appendChild(list);
+        root.appendChild(el('div', { 'class': 'cart_footer' }, [
+            button('continue-shopping', 'Continue Shopping', function () { navigate('/inventory.html'); }),
+            button('checkout', 'Checkout', function () { navigate('/checkout-step-one.html'); })
+        ]));
+    }
+
+    function renderCheckoutStepOne() {
+        var firstName = el('input', { id: 'first-name', 'data-test': 'firstName', type: 'text', placeholder: 'First Name' });
+        var lastName = el('input', { id: 'last-name', 'data-test': 'lastName', type: 'text', placeholder: 'Last Name' });
+        var postalCode = el('input', { id: 'postal-code', 'data-test': 'postalCode', type: 'text', placeholder: 'Zip/Postal Code' });
+        var errors = errorContainer(null);
+        var continueButton = el('input', { id: 'continue', 'data-test': 'continue', type: 'submit', value: 'Continue' });
+
+        var form = el('form', {}, [firstName, lastName, postalCode, errors, continueButton]);
+        form.addEventListener('submit', function (event) {
+            event.preventDefault();
+            var message = null;
+            if (!firstName.value) {
+                message = 'Error: First Name is required';
+            } else if (!lastName.value) {
+                message = 'Error: Last Name is required';
+            } else if (!postalCode.value) {
+                message = 'Error: Postal Code is required';
+            }
+            if (message) {
+                var replacement = errorContainer(message);
+                form.replaceChild(replacement, errors);
+                errors = replacement;
+                return;
+            }
+            navigate('/checkout-step-two.html');
+        });
+
+        root.appendChild(header());
+        root.appendChild(el('span', { 'class': 'title', 'data-test': 'title', text: 'Checkout: Your Information' }));
+        root.appendChild(el('div', { 'class': 'checkout_info' }, [form]));
+        root.appendChild(button('cancel', 'Cancel', function () { navigate('/cart.html'); }));
+    }
+
+    function renderCheckoutStepTwo() {
+        var list = el('div', { 'class': 'cart_list', 'data-test': 'cart-list' });
+        var itemTotal = 0;
+        getCart().forEach(function (id) {
+            var product = findProduct(id);
+            if (product) {
+                itemTotal += product.price;
+                list.appendChild(itemRow(product, 'cart_item', { quantity: true }));
+            }
+        });
+        var tax = Math.round(itemTotal * TAX_RATE * 100) / 100;
+
+        root.appendChild(header());
+        root.appendChild(el('span', { 'class': 'title', 'data-test': 'title', text: 'Checkout: Overview' }));
+        root.appendChild(list);
+        root.appendChild(el('div', { 'class': 'summary_info' }, [
+            el('div', { 'class': 'summary_info_label', text: 'Payment Information:' }),
+            el('div', { 'class': 'summary_value_label', 'data-test': 'payment-info-value', text: 'SauceCard #31337' }),
+            el('div', { 'class': 'summary_info_label', text: 'Shipping Information:' }),
+            el('div', { 'class': 'summary_value_label', 'data-test': 'shipping-info-value', text: 'Free Pony Express Delivery!' }),
+            el('div', { 'class': 'summary_subtotal_label', 'data-test': 'subtotal-label', text: 'Item total: ' + money(itemTotal) }),
+            el('div', { 'class': 'summary_tax_label', 'data-test': 'tax-label', text: 'Tax: ' + money(tax) }),
+            el('div', { 'class': 'summary_total_label', 'data-test': 'total-label', text: 'Total: ' + money(itemTotal + tax) }),
+            button('cancel', 'Cancel', function () { navigate('/inventory.html'); }),
+            button('finish', 'Finish', function () {
+                setCart([]);
+                navigate('/checkout-complete.html');
+            })
+        ]));
+    }
+
+    function renderCheckoutComplete() {
+        root.appendChild(header());
+        root.appendChild(el('span', { 'class': 'title', 'data-test': 'title', text: 'Checkout: Complete!' }));
+        root.appendChild(el('div', { 'class': 'checkout_complete_container' }, [
+            el('img', { 'class': 'pony_express', 'data-test': 'pony-express', alt: 'Pony Express', src: '/static/pony-express.svg' }),
+            el('h2', { 'class': 'complete-header', 'data-test': 'complete-header', text: 'Thank you for your order!' }),
+            el('div', { 'class': 'complete-text', 'data-test': 'complete-text',
+                text: 'Your order has been dispatched, and will arrive just as fast as the pony can get there!' }),
+            button('back-to-products', 'Back Home', function () { navigate('/inventory.html'); })
+        ]));
+    }
+
+    var PAGES = {
+        'login': renderLogin,
+        'inventory': renderInventory,
+        'cart': renderCart,
+        'checkout-step-one': renderCheckoutStepOne,
+        'checkout-step-two': renderCheckoutStepTwo,
+        'checkout-complete': renderCheckoutComplete
+    };
+
+    function render() {
+        root.innerHTML = '';
+        if (page !== 'login' && !requireLogin()) {
+            return;
+        }
+        PAGES[page]();
+    }
+
+    render();
+})();